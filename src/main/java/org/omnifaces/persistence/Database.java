@@ -13,11 +13,14 @@
 package org.omnifaces.persistence;
 
 import static java.util.Arrays.stream;
+import static java.util.Collections.synchronizedMap;
 import static java.util.logging.Level.WARNING;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.concat;
 import static org.omnifaces.utils.Lang.startsWithOneOf;
 
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -33,13 +36,24 @@ public enum Database {
 
 	H2,
 
-	MYSQL("MARIA"),
+	MYSQL("MARIA") {
+		@Override
+		public String getEstimatedRowCountQuery() {
+			return "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND LOWER(table_name) = LOWER(?1)";
+		}
+	},
 
-	POSTGRESQL("POSTGRES"),
+	POSTGRESQL("POSTGRES") {
+		@Override
+		public String getEstimatedRowCountQuery() {
+			return "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(CAST(?1 AS TEXT))";
+		}
+	},
 
 	UNKNOWN;
 
 	private static final Logger logger = Logger.getLogger(Database.class.getName());
+	private static final Map<EntityManagerFactory, Database> DATABASES = synchronizedMap(new WeakHashMap<>());
 
 	private String[] names;
 
@@ -47,9 +61,17 @@ public enum Database {
 		this.names = concat(Stream.of(name()), stream(aliases)).collect(toList()).toArray(new String[0]);
 	}
 
+	/**
+	 * Returns the database of given entity manager. The outcome is cached per {@link EntityManagerFactory}.
+	 * @param entityManager The entity manager to return the database for.
+	 * @return The database of given entity manager.
+	 */
 	public static Database of(EntityManager entityManager) {
+		return DATABASES.computeIfAbsent(entityManager.getEntityManagerFactory(), entityManagerFactory -> computeDatabase(entityManager, entityManagerFactory));
+	}
+
+	private static Database computeDatabase(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
 		Provider provider = Provider.of(entityManager);
-		EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
 
 		try {
 			String uppercasedDialectName = provider.getDialectName(entityManagerFactory).toUpperCase();
@@ -67,6 +89,22 @@ public enum Database {
 		return UNKNOWN;
 	}
 
+	/**
+	 * Returns the native SQL query which returns the estimated number of rows of the table whose name is given as first
+	 * parameter, based on the statistics of the database, or <code>null</code> when this database doesn't support it.
+	 * @return The native SQL query which returns the estimated number of rows of a table, or <code>null</code>.
+	 */
+	public String getEstimatedRowCountQuery() {
+		return null;
+	}
+
+	/**
+	 * Returns whether the database of the currently active {@link BaseEntityService} is the given one. This involves a JNDI
+	 * lookup of the EJB context, so it should not be used in a hot path. Prefer {@link #of(EntityManager)} or
+	 * {@link BaseEntityService#getDatabase()} instead.
+	 * @param database The database to check.
+	 * @return Whether the database of the currently active {@link BaseEntityService} is the given one.
+	 */
 	public static boolean is(Database database) {
 		return BaseEntityService.getCurrentInstance().getDatabase() == database;
 	}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence;
+
+import static java.util.logging.Level.FINE;
+import static javax.transaction.Status.STATUS_ACTIVE;
+
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.Typed;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * JNDI utilities. The looked up resources are cached once found. A failed lookup is not cached, because it may also happen
+ * when invoked too early, such as during deployment, or from a thread without a JNDI context.
+ */
+@Typed
+public final class JNDI {
+
+	private static final Logger logger = Logger.getLogger(JNDI.class.getName());
+
+	// Public constants -------------------------------------------------------------------------------------------------------------------
+
+	public static final String TRANSACTION_SYNCHRONIZATION_REGISTRY = "java:comp/TransactionSynchronizationRegistry";
+	public static final String DEFAULT_MANAGED_EXECUTOR_SERVICE = "java:comp/DefaultManagedExecutorService";
+
+	private static volatile TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+	private static volatile ExecutorService managedExecutorService;
+
+
+	// Constructors -----------------------------------------------------------------------------------------------------------------------
+
+	private JNDI() {
+		throw new AssertionError();
+	}
+
+
+	// Lookup utils -----------------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the {@value #TRANSACTION_SYNCHRONIZATION_REGISTRY} if there's an active JTA transaction, otherwise <code>null</code>.
+	 * @return The transaction synchronization registry of the active JTA transaction, or <code>null</code> if there is none.
+	 */
+	public static TransactionSynchronizationRegistry getActiveTransactionSynchronizationRegistry() {
+		if (transactionSynchronizationRegistry == null) {
+			transactionSynchronizationRegistry = lookup(TRANSACTION_SYNCHRONIZATION_REGISTRY);
+		}
+
+		TransactionSynchronizationRegistry registry = transactionSynchronizationRegistry;
+		return (registry != null && registry.getTransactionStatus() == STATUS_ACTIVE) ? registry : null;
+	}
+
+	/**
+	 * Returns the {@value #DEFAULT_MANAGED_EXECUTOR_SERVICE}, or <code>null</code> if it is not available.
+	 * @return The default managed executor service, or <code>null</code> if it is not available.
+	 */
+	public static ExecutorService getManagedExecutorService() {
+		if (managedExecutorService == null) {
+			managedExecutorService = lookup(DEFAULT_MANAGED_EXECUTOR_SERVICE);
+		}
+
+		return managedExecutorService;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T lookup(String name) {
+		try {
+			return (T) new InitialContext().lookup(name);
+		}
+		catch (NamingException e) {
+			logger.log(FINE, "Cannot look up " + name + ", callers will fall back to working without it.", e);
+			return null;
+		}
+	}
+
+}
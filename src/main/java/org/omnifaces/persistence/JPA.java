@@ -59,6 +59,8 @@ import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SetAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.omnifaces.persistence.service.BaseEntityService;
+
 /**
  * JPA utilities.
  */
@@ -326,20 +328,37 @@ public final class JPA {
 	/**
 	 * Returns a new expression wherein given expression is cast as String.
 	 * This covers known problems with certain providers and/or databases.
+	 * The provider and database are obtained from the currently active {@link BaseEntityService}, which involves a JNDI lookup.
+	 * In a hot path, such as in building criteria predicates, prefer
+	 * {@link #castAsString(CriteriaBuilder, Expression, Provider, Database)} instead.
 	 * @param builder The involved criteria builder.
 	 * @param expression Expression to be cast as String.
 	 * @return A new expression wherein given expression is cast as String.
 	 */
-	@SuppressWarnings("unchecked")
 	public static Expression<String> castAsString(CriteriaBuilder builder, Expression<?> expression) {
-		if (Provider.is(HIBERNATE)) {
+		BaseEntityService<?, ?> currentInstance = BaseEntityService.getCurrentInstance();
+		return castAsString(builder, expression, currentInstance.getProvider(), currentInstance.getDatabase());
+	}
+
+	/**
+	 * Returns a new expression wherein given expression is cast as String.
+	 * This covers known problems with certain providers and/or databases.
+	 * @param builder The involved criteria builder.
+	 * @param expression Expression to be cast as String.
+	 * @param provider The provider of the criteria builder.
+	 * @param database The database of the criteria builder.
+	 * @return A new expression wherein given expression is cast as String.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Expression<String> castAsString(CriteriaBuilder builder, Expression<?> expression, Provider provider, Database database) {
+		if (provider == HIBERNATE) {
 			return expression.as(String.class);
 		}
 
 		// EclipseLink and OpenJPA have a broken Expression#as() implementation, need to delegate to DB specific function.
 
 		// PostgreSQL is quite strict in string casting, it has to be performed explicitly.
-		if (Database.is(POSTGRESQL)) {
+		if (database == POSTGRESQL) {
 			String pattern = null;
 
 			if (Number.class.isAssignableFrom(expression.getJavaType())) {
@@ -12,6 +12,10 @@
  */
 package org.omnifaces.persistence;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
 import static javax.persistence.metamodel.Attribute.PersistentAttributeType.ELEMENT_COLLECTION;
 import static javax.persistence.metamodel.Attribute.PersistentAttributeType.MANY_TO_ONE;
 import static javax.persistence.metamodel.Attribute.PersistentAttributeType.ONE_TO_MANY;
@@ -25,16 +29,26 @@ import static org.omnifaces.utils.reflect.Reflections.invokeMethod;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Table;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.metamodel.Attribute;
 
@@ -90,6 +104,87 @@ public enum Provider {
 			return invokeOnProxy(entity, "getIdentifier", super::getIdentifier);
 		}
 
+		@Override
+		public Runnable setJdbcBatchSize(EntityManager entityManager, int batchSize) {
+			Object session = entityManager.getDelegate();
+
+			if (!findMethod(session, "getJdbcBatchSize").isPresent()) { // Session#setJdbcBatchSize() is only available since 5.2.
+				return super.setJdbcBatchSize(entityManager, batchSize);
+			}
+
+			Integer previousBatchSize = invokeMethod(session, "getJdbcBatchSize"); // null represents the session factory default.
+			Method setJdbcBatchSize = findMethod(session, "setJdbcBatchSize", batchSize).get();
+			invokeMethod(session, setJdbcBatchSize, batchSize);
+			return () -> invokeMethod(session, setJdbcBatchSize, previousBatchSize);
+		}
+
+		@Override
+		public <T> Stream<T> getResultStream(TypedQuery<T> query, int fetchSize) {
+			if (!HIBERNATE_QUERY.isPresent() || !HIBERNATE_SCROLL_MODE.isPresent()) { // org.hibernate.Query is removed in 6.0.
+				return super.getResultStream(query, fetchSize);
+			}
+
+			query.setHint(QUERY_HINT_HIBERNATE_FETCH_SIZE, fetchSize);
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Object forwardOnly = Enum.valueOf((Class) HIBERNATE_SCROLL_MODE.get(), "FORWARD_ONLY");
+			Object scrollableResults = invokeMethod(query.unwrap(HIBERNATE_QUERY.get()), "scroll", forwardOnly);
+			Method next = findMethod(scrollableResults, "next").get();
+			Method get = findMethod(scrollableResults, "get", 0).get();
+
+			Iterator<T> iterator = new Iterator<T>() {
+				private Boolean hasNext;
+
+				@Override
+				public boolean hasNext() {
+					if (hasNext == null) {
+						hasNext = invokeMethod(scrollableResults, next);
+					}
+
+					return hasNext;
+				}
+
+				@Override
+				public T next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+
+					hasNext = null;
+					return invokeMethod(scrollableResults, get, 0);
+				}
+			};
+
+			return StreamSupport.stream(spliteratorUnknownSize(iterator, ORDERED), false).onClose(() -> invokeMethod(scrollableResults, "close"));
+		}
+
+		@Override
+		public Connection getConnection(EntityManager entityManager) {
+			return invokeMethod(entityManager.getDelegate(), "connection"); // SessionImplementor#connection() is not available via unwrap(Connection.class).
+		}
+
+		@Override
+		public int getPersistenceContextSize(EntityManager entityManager) {
+			return invokeMethod(invokeMethod(entityManager.getDelegate(), "getStatistics"), "getEntityCount");
+		}
+
+		@Override
+		public <E> List<E> getManagedEntities(EntityManager entityManager, Class<E> entityType, Iterable<?> ids) {
+			Object session = entityManager.getDelegate();
+			Object persister = invokeMethod(session, "getEntityPersister", entityType.getName(), null);
+			Object persistenceContext = invokeMethod(session, "getPersistenceContext");
+			List<E> entities = new ArrayList<>();
+
+			for (Object id : ids) {
+				E entity = invokeMethod(persistenceContext, "getEntity", invokeMethod(session, "generateEntityKey", id, persister)); // Unlike EntityManager#getReference(), this never creates a proxy.
+
+				if (entity != null) {
+					entities.add(entity);
+				}
+			}
+
+			return entities;
+		}
+
 		@SuppressWarnings("unchecked")
 		private <T, I extends Comparable<I> & Serializable, E extends BaseEntity<I>> T invokeOnProxy(E entity, String methodName, Function<E, T> fallback) {
 			return isProxy(entity) ? (T) invokeMethod(invokeMethod(entity, "getHibernateLazyInitializer"), methodName) : fallback.apply(entity);
@@ -103,6 +198,31 @@ public enum Provider {
 			return invokeMethod(invokeMethod(entityManagerFactory, "getDatabaseSession"), "getDatasourcePlatform").getClass().getSimpleName();
 		}
 
+		@Override
+		public Runnable setJdbcBatchSize(EntityManager entityManager, int batchSize) {
+			Map<String, Object> properties = entityManager.getProperties();
+			Object previousBatchWriting = properties.get(PROPERTY_ECLIPSELINK_BATCH_WRITING);
+			Object previousBatchWritingSize = properties.get(PROPERTY_ECLIPSELINK_BATCH_WRITING_SIZE);
+			entityManager.setProperty(PROPERTY_ECLIPSELINK_BATCH_WRITING, "JDBC");
+			entityManager.setProperty(PROPERTY_ECLIPSELINK_BATCH_WRITING_SIZE, batchSize);
+
+			return () -> {
+				entityManager.setProperty(PROPERTY_ECLIPSELINK_BATCH_WRITING, (previousBatchWriting != null) ? previousBatchWriting : "None");
+
+				if (previousBatchWritingSize != null) {
+					entityManager.setProperty(PROPERTY_ECLIPSELINK_BATCH_WRITING_SIZE, previousBatchWritingSize);
+				}
+			};
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> Stream<T> getResultStream(TypedQuery<T> query, int fetchSize) {
+			query.setHint(QUERY_HINT_ECLIPSELINK_FETCH_SIZE, fetchSize).setHint(QUERY_HINT_ECLIPSELINK_CURSOR, true);
+			Iterator<T> cursor = (Iterator<T>) query.getSingleResult(); // With cursor hint, EclipseLink returns a CursoredStream.
+			return StreamSupport.stream(spliteratorUnknownSize(cursor, ORDERED), false).onClose(() -> invokeMethod(cursor, "close"));
+		}
+
 		@Override
 		public boolean isAggregation(Expression<?> expression) {
 			return ECLIPSELINK_FUNCTION_EXPRESSION_IMPL.get().isInstance(expression) && AGGREGATE_FUNCTIONS.contains(invokeMethod(expression, "getOperation"));
@@ -124,6 +244,33 @@ public enum Provider {
 			return AGGREGATE_FUNCTIONS.contains(expression.getClass().getSimpleName().toUpperCase());
 		}
 
+		@Override
+		public <T> Stream<T> getResultStream(TypedQuery<T> query, int fetchSize) {
+			query.setHint(QUERY_HINT_OPENJPA_FETCH_BATCH_SIZE, fetchSize); // OpenJPA only lazily loads the result list when large result set support is configured.
+			return super.getResultStream(query, fetchSize);
+		}
+
+		@Override
+		public int getPersistenceContextSize(EntityManager entityManager) {
+			return ((Collection<?>) invokeMethod(entityManager.getDelegate(), "getManagedObjects")).size();
+		}
+
+		@Override
+		public <E> List<E> getManagedEntities(EntityManager entityManager, Class<E> entityType, Iterable<?> ids) {
+			Object openjpaEntityManager = entityManager.getDelegate();
+			List<E> entities = new ArrayList<>();
+
+			for (Object id : ids) {
+				E entity = invokeMethod(openjpaEntityManager, "findCached", entityType, id);
+
+				if (entity != null) {
+					entities.add(entity);
+				}
+			}
+
+			return entities;
+		}
+
 		@Override
 		public boolean isElementCollection(Attribute<?, ?> attribute) {
 			// For some reason OpenJPA returns PersistentAttributeType.ONE_TO_MANY on an @ElementCollection.
@@ -143,9 +290,17 @@ public enum Provider {
 	public static final String QUERY_HINT_HIBERNATE_CACHE_REGION = "org.hibernate.cacheRegion"; // 2nd level cache region ID
 	public static final String QUERY_HINT_ECLIPSELINK_MAINTAIN_CACHE = "eclipselink.maintain-cache"; // true | false
 	public static final String QUERY_HINT_ECLIPSELINK_REFRESH = "eclipselink.refresh"; // true | false
+	public static final String QUERY_HINT_HIBERNATE_FETCH_SIZE = "org.hibernate.fetchSize"; // JDBC fetch size
+	public static final String QUERY_HINT_ECLIPSELINK_FETCH_SIZE = "eclipselink.jdbc.fetch-size"; // JDBC fetch size
+	public static final String QUERY_HINT_ECLIPSELINK_CURSOR = "eclipselink.cursor"; // true | false
+	public static final String QUERY_HINT_OPENJPA_FETCH_BATCH_SIZE = "openjpa.FetchPlan.FetchBatchSize"; // JDBC fetch size
+	public static final String PROPERTY_ECLIPSELINK_BATCH_WRITING = "eclipselink.jdbc.batch-writing"; // JDBC | Buffered | Oracle-JDBC | None
+	public static final String PROPERTY_ECLIPSELINK_BATCH_WRITING_SIZE = "eclipselink.jdbc.batch-writing.size"; // max statements per batch
 
 	private static final Optional<Class<Object>> HIBERNATE_PROXY = findClass("org.hibernate.proxy.HibernateProxy");
 	private static final Optional<Class<Object>> HIBERNATE_SESSION_FACTORY = findClass("org.hibernate.SessionFactory");
+	private static final Optional<Class<Object>> HIBERNATE_QUERY = findClass("org.hibernate.Query");
+	private static final Optional<Class<Object>> HIBERNATE_SCROLL_MODE = findClass("org.hibernate.ScrollMode");
 	private static final Optional<Class<Object>> HIBERNATE_3_5_0_BASIC_FUNCTION_EXPRESSION = findClass("org.hibernate.ejb.criteria.expression.function.BasicFunctionExpression");
 	private static final Optional<Class<Object>> HIBERNATE_4_3_0_BASIC_FUNCTION_EXPRESSION = findClass("org.hibernate.jpa.criteria.expression.function.BasicFunctionExpression");
 	private static final Optional<Class<Object>> HIBERNATE_5_2_0_BASIC_FUNCTION_EXPRESSION = findClass("org.hibernate.query.criteria.internal.expression.function.BasicFunctionExpression");
@@ -156,8 +311,18 @@ public enum Provider {
 	private static final Optional<Class<Object>> HIBERNATE_COMPARISON_PREDICATE = Stream.of(HIBERNATE_5_2_0_COMPARISON_PREDICATE, HIBERNATE_4_3_0_COMPARISON_PREDICATE, HIBERNATE_3_5_0_COMPARISON_PREDICATE).filter(Optional::isPresent).findFirst().orElse(Optional.empty());
 	private static final Optional<Class<Object>> ECLIPSELINK_FUNCTION_EXPRESSION_IMPL = findClass("org.eclipse.persistence.internal.jpa.querydef.FunctionExpressionImpl");
 	private static final Set<String> AGGREGATE_FUNCTIONS = unmodifiableSet("MIN", "MAX", "SUM", "AVG", "COUNT");
+	private static final Map<EntityManagerFactory, Provider> PROVIDERS = synchronizedMap(new WeakHashMap<>());
 
+	/**
+	 * Returns the provider of given entity manager. The outcome is cached per {@link EntityManagerFactory}.
+	 * @param entityManager The entity manager to return the provider for.
+	 * @return The provider of given entity manager.
+	 */
 	public static Provider of(EntityManager entityManager) {
+		return PROVIDERS.computeIfAbsent(entityManager.getEntityManagerFactory(), entityManagerFactory -> computeProvider(entityManager));
+	}
+
+	private static Provider computeProvider(EntityManager entityManager) {
 		String packageName = entityManager.getDelegate().getClass().getPackage().getName();
 
 		if (packageName.startsWith("org.hibernate.")) {
@@ -174,6 +339,13 @@ public enum Provider {
 		}
 	}
 
+	/**
+	 * Returns whether the provider of the currently active {@link BaseEntityService} is the given one. This involves a JNDI
+	 * lookup of the EJB context, so it should not be used in a hot path. Prefer {@link #of(EntityManager)} or
+	 * {@link BaseEntityService#getProvider()} instead.
+	 * @param provider The provider to check.
+	 * @return Whether the provider of the currently active {@link BaseEntityService} is the given one.
+	 */
 	public static boolean is(Provider provider) {
 		return BaseEntityService.getCurrentInstance().getProvider() == provider;
 	}
@@ -186,6 +358,65 @@ public enum Provider {
 		throw new UnsupportedOperationException(String.valueOf(expression));
 	}
 
+	/**
+	 * Sets the JDBC batch size of the given entity manager, until the returned callback is run. Providers which don't support
+	 * this per entity manager will ignore it. OpenJPA only supports configuring this via <code>openjpa.jdbc.DBDictionary</code>
+	 * property in <code>persistence.xml</code>.
+	 * @param entityManager The entity manager to set the JDBC batch size on.
+	 * @param batchSize The JDBC batch size.
+	 * @return The callback which restores the previous JDBC batch size. This must be run in a <code>finally</code> block.
+	 */
+	public Runnable setJdbcBatchSize(EntityManager entityManager, int batchSize) {
+		return () -> {}; // NOOP.
+	}
+
+	/**
+	 * Returns the results of the given query as a stream which reads the underlying JDBC result set in batches of the given fetch size,
+	 * so that the results don't need to be materialized in a list first. The returned stream must be closed after use. Providers which
+	 * don't support scrollable results will fall back to {@link TypedQuery#getResultList()}.
+	 * @param <T> The generic result type.
+	 * @param query The query to return the results for.
+	 * @param fetchSize The JDBC fetch size.
+	 * @return The results of the given query as a stream.
+	 */
+	public <T> Stream<T> getResultStream(TypedQuery<T> query, int fetchSize) {
+		return query.getResultList().stream();
+	}
+
+	/**
+	 * Returns the JDBC connection currently used by the given entity manager. The entity manager must be joined to an active
+	 * transaction. The returned connection is managed by the JPA provider and must not be closed.
+	 * @param entityManager The entity manager to return the JDBC connection for.
+	 * @return The JDBC connection currently used by the given entity manager.
+	 */
+	public Connection getConnection(EntityManager entityManager) {
+		return entityManager.unwrap(Connection.class);
+	}
+
+	/**
+	 * Returns the amount of entities currently managed by the persistence context of the given entity manager. Providers which
+	 * don't support obtaining this without side effects will return -1.
+	 * @param entityManager The entity manager to return the persistence context size for.
+	 * @return The amount of entities currently managed by the persistence context of the given entity manager, or -1 if unknown.
+	 */
+	public int getPersistenceContextSize(EntityManager entityManager) {
+		return -1;
+	}
+
+	/**
+	 * Returns the entities of the given type and IDs which are currently managed by the persistence context of the given entity manager,
+	 * without hitting the second level cache nor the database. Providers which don't support obtaining this without side effects will
+	 * return an empty list.
+	 * @param <E> The generic entity type.
+	 * @param entityManager The entity manager to return the managed entities from.
+	 * @param entityType The entity type.
+	 * @param ids The entity IDs.
+	 * @return The entities of the given type and IDs which are currently managed by the persistence context.
+	 */
+	public <E> List<E> getManagedEntities(EntityManager entityManager, Class<E> entityType, Iterable<?> ids) {
+		return emptyList();
+	}
+
 	public boolean isElementCollection(Attribute<?, ?> attribute) {
 		return attribute.getPersistentAttributeType() == ELEMENT_COLLECTION;
 	}
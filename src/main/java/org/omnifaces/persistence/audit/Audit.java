@@ -23,7 +23,7 @@ import javax.persistence.EntityListeners;
  * <p>
  * Instructions:
  * <ol>
- * <li>Extend {@link AuditListener}
+ * <li>Extend {@link AuditListener}, or {@link BatchedAuditListener} to save the audited changes in batches after commit.
  * <li>Declare that listener as {@link EntityListeners} on your entity.
  * <li>Put {@link Audit} annotation on column of interest.
  * <li>Profit.
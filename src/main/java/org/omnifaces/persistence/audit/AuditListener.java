@@ -12,29 +12,18 @@
  */
 package org.omnifaces.persistence.audit;
 
-import static java.beans.Introspector.getBeanInfo;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toConcurrentMap;
-import static java.util.stream.Collectors.toSet;
-import static org.omnifaces.utils.reflect.Reflections.invokeMethod;
-import static org.omnifaces.utils.stream.Streams.stream;
-
-import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.Serializable;
-import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.inject.spi.CDI;
 import javax.persistence.PostLoad;
 import javax.persistence.PreUpdate;
-import javax.persistence.metamodel.Attribute;
 
 import org.omnifaces.persistence.model.BaseEntity;
-import org.omnifaces.persistence.service.BaseEntityService;
 
 /**
  * <p>
@@ -46,47 +35,45 @@ import org.omnifaces.persistence.service.BaseEntityService;
  */
 public abstract class AuditListener<I extends Comparable<I> & Serializable> {
 
-	private static final Map<Class<?>, Map<PropertyDescriptor, Map<?, Object>>> AUDITABLE_PROPERTIES = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, List<AuditableProperty>> AUDITABLE_PROPERTIES = new ConcurrentHashMap<>();
 
 	@PostLoad
 	public void beforeUpdate(BaseEntity<I> entity) {
-		getAuditableProperties(entity).forEach((property, values) -> values.put(entity.getId(), invokeMethod(entity, property.getReadMethod())));
+		List<AuditableProperty> auditableProperties = getAuditableProperties(entity);
+
+		if (!auditableProperties.isEmpty()) {
+			Object[] values = new Object[auditableProperties.size()];
+
+			for (int i = 0; i < values.length; i++) {
+				values[i] = auditableProperties.get(i).getValue(entity);
+			}
+
+			AuditSnapshots.put(entity, values);
+		}
 	}
 
 	@PreUpdate
 	public void afterUpdate(BaseEntity<I> entity) {
-		getAuditableProperties(entity).forEach((property, values) -> {
-			if (values.containsKey(entity.getId())) {
-				Object newValue = invokeMethod(entity, property.getReadMethod());
-				Object oldValue = values.remove(entity.getId());
-
-				if (!Objects.equals(oldValue, newValue)) {
-					saveAuditedChange(entity, property, oldValue, newValue);
-				}
-			}
-		});
-	}
+		List<AuditableProperty> auditableProperties = getAuditableProperties(entity);
+		Object[] oldValues = auditableProperties.isEmpty() ? null : AuditSnapshots.remove(entity);
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private Map<PropertyDescriptor, Map<I, Object>> getAuditableProperties(BaseEntity<I> entity) {
-		Map auditableProperties = AUDITABLE_PROPERTIES.computeIfAbsent(entity.getClass(), k -> {
-			BaseEntityService<?, ?> baseEntityService = BaseEntityService.getCurrentInstance();
-			Set<String> auditablePropertyNames = baseEntityService.getMetamodel(entity).getDeclaredAttributes().stream()
-				.filter(a -> a.getJavaMember() instanceof Field && ((Field) a.getJavaMember()).isAnnotationPresent(Audit.class))
-				.map(Attribute::getName)
-				.collect(toSet());
-
-			try {
-				return stream(getBeanInfo(baseEntityService.getProvider().getEntityType(entity)).getPropertyDescriptors())
-					.filter(p -> auditablePropertyNames.contains(p.getName()))
-					.collect(toConcurrentMap(identity(), v -> new ConcurrentHashMap<>()));
-			}
-			catch (IntrospectionException e) {
-				throw new UnsupportedOperationException(e);
+		if (oldValues == null) {
+			return;
+		}
+
+		for (int i = 0; i < oldValues.length; i++) {
+			AuditableProperty property = auditableProperties.get(i);
+			Object newValue = property.getValue(entity);
+			Object oldValue = oldValues[i];
+
+			if (!Objects.equals(oldValue, newValue)) {
+				saveAuditedChange(entity, property.getDescriptor(), oldValue, newValue);
 			}
-		});
+		}
+	}
 
-		return auditableProperties;
+	private static List<AuditableProperty> getAuditableProperties(BaseEntity<?> entity) {
+		return AUDITABLE_PROPERTIES.computeIfAbsent(entity.getClass(), AuditableProperty::of);
 	}
 
 	/**
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.audit;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.WARNING;
+import static javax.transaction.Status.STATUS_COMMITTED;
+import static org.omnifaces.persistence.JNDI.getActiveTransactionSynchronizationRegistry;
+import static org.omnifaces.persistence.JNDI.getManagedExecutorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Helper class of {@link BatchedAuditListener}. This buffers the audited changes per transaction and hands them over to a
+ * bounded queue after commit, which is drained in batches on the default managed executor service. When the queue is full,
+ * the overflowing changes are saved on the committing thread, which in turn slows down the producers.
+ */
+class AuditQueue {
+
+	private static final Logger logger = Logger.getLogger(AuditQueue.class.getName());
+
+	private static final String LOG_WARNING_SAVE_FAILED = "Cannot save %d audited changes, discarding them!";
+	private static final Map<Class<?>, AuditQueue> QUEUES = new ConcurrentHashMap<>();
+
+	private final BatchedAuditListener<?> listener;
+	private final BlockingQueue<AuditedChange> queue;
+	private final int batchSize;
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder flushNanos = new LongAdder();
+	private final LongAdder overflows = new LongAdder();
+
+	private AuditQueue(BatchedAuditListener<?> listener) {
+		this.listener = listener;
+		this.queue = new ArrayBlockingQueue<>(listener.getQueueCapacity());
+		this.batchSize = listener.getBatchSize();
+	}
+
+	static AuditQueue of(BatchedAuditListener<?> listener) {
+		return QUEUES.computeIfAbsent(listener.getClass(), k -> new AuditQueue(listener));
+	}
+
+	static Optional<AuditQueue> find(Class<?> listenerType) {
+		return Optional.ofNullable(QUEUES.get(listenerType));
+	}
+
+	/**
+	 * Add given audited change to the current transaction, or to the queue when there's no active transaction.
+	 */
+	@SuppressWarnings("unchecked")
+	void add(AuditedChange auditedChange) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			offer(singletonList(auditedChange));
+			return;
+		}
+
+		List<AuditedChange> transactionalChanges = (List<AuditedChange>) registry.getResource(this);
+
+		if (transactionalChanges == null) {
+			List<AuditedChange> newTransactionalChanges = new ArrayList<>();
+			registry.putResource(this, newTransactionalChanges);
+			registry.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					// NOOP.
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) {
+						offer(newTransactionalChanges);
+					}
+				}
+			});
+			transactionalChanges = newTransactionalChanges;
+		}
+
+		transactionalChanges.add(auditedChange);
+	}
+
+	private void offer(List<AuditedChange> auditedChanges) {
+		ExecutorService managedExecutor = getManagedExecutorService();
+		List<AuditedChange> overflow = new ArrayList<>();
+
+		for (AuditedChange auditedChange : auditedChanges) {
+			if (managedExecutor == null || !queue.offer(auditedChange)) {
+				overflow.add(auditedChange);
+			}
+		}
+
+		if (!overflow.isEmpty()) {
+			if (managedExecutor != null) {
+				overflows.increment();
+			}
+
+			flush(overflow);
+		}
+
+		if (managedExecutor != null) {
+			drain(managedExecutor);
+		}
+	}
+
+	private void drain(ExecutorService managedExecutor) {
+		if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			managedExecutor.submit(() -> {
+				try {
+					List<AuditedChange> batch = new ArrayList<>(batchSize);
+
+					while (queue.drainTo(batch, batchSize) > 0) {
+						flush(batch);
+						batch = new ArrayList<>(batchSize);
+					}
+				}
+				finally {
+					draining.set(false);
+				}
+
+				drain(managedExecutor); // In case any were added while finishing.
+			});
+		}
+		catch (RejectedExecutionException e) {
+			draining.set(false);
+			List<AuditedChange> batch = new ArrayList<>();
+			queue.drainTo(batch);
+			flush(batch);
+		}
+	}
+
+	private void flush(List<AuditedChange> batch) {
+		long start = System.nanoTime();
+
+		try {
+			listener.saveAuditedChanges(batch);
+		}
+		catch (Exception e) {
+			logger.log(WARNING, e, () -> format(LOG_WARNING_SAVE_FAILED, batch.size()));
+		}
+		finally {
+			flushes.increment();
+			flushNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	int getDepth() {
+		return queue.size();
+	}
+
+	long getFlushes() {
+		return flushes.sum();
+	}
+
+	long getAverageFlushLatency() {
+		long count = flushes.sum();
+		return (count == 0) ? 0 : NANOSECONDS.toMillis(flushNanos.sum() / count);
+	}
+
+	long getOverflows() {
+		return overflows.sum();
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.audit;
+
+import static java.util.Collections.synchronizedMap;
+import static org.omnifaces.persistence.JNDI.getActiveTransactionSynchronizationRegistry;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * Helper class of {@link AuditListener}. This holds the old values of the auditable properties of loaded entities until
+ * they're updated. When a JTA transaction is active, the snapshots are stored in the transaction and cleared on commit or
+ * rollback, so they never outlive the persistence context they were taken in. Otherwise they're stored in a weak map, so
+ * they never outlive the entities they were taken from.
+ */
+class AuditSnapshots {
+
+	private static final Map<BaseEntity<?>, Object[]> NON_TRANSACTIONAL_SNAPSHOTS = synchronizedMap(new WeakHashMap<>());
+
+	private final Map<BaseEntity<?>, Object[]> snapshots = new IdentityHashMap<>();
+
+	private AuditSnapshots() {
+		// Only created by put().
+	}
+
+	/**
+	 * Store the old values of the auditable properties of given entity.
+	 * @param entity The loaded entity.
+	 * @param values The old values of the auditable properties, in the same order as the auditable properties.
+	 */
+	public static void put(BaseEntity<?> entity, Object[] values) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			NON_TRANSACTIONAL_SNAPSHOTS.remove(entity); // Make sure the weak key is replaced by this instance.
+			NON_TRANSACTIONAL_SNAPSHOTS.put(entity, values);
+			return;
+		}
+
+		AuditSnapshots transactionalSnapshots = (AuditSnapshots) registry.getResource(AuditSnapshots.class);
+
+		if (transactionalSnapshots == null) {
+			AuditSnapshots newTransactionalSnapshots = new AuditSnapshots();
+			registry.putResource(AuditSnapshots.class, newTransactionalSnapshots);
+			registry.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					// NOOP.
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					newTransactionalSnapshots.snapshots.clear();
+				}
+			});
+			transactionalSnapshots = newTransactionalSnapshots;
+		}
+
+		transactionalSnapshots.snapshots.put(entity, values);
+	}
+
+	/**
+	 * Remove the old values of the auditable properties of given entity.
+	 * @param entity The updated entity.
+	 * @return The old values of the auditable properties, or <code>null</code> if there are none.
+	 */
+	public static Object[] remove(BaseEntity<?> entity) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+		AuditSnapshots transactionalSnapshots = (registry != null) ? (AuditSnapshots) registry.getResource(AuditSnapshots.class) : null;
+		Object[] values = (transactionalSnapshots != null) ? transactionalSnapshots.snapshots.remove(entity) : null;
+		return (values != null) ? values : NON_TRANSACTIONAL_SNAPSHOTS.remove(entity); // Entity may have been loaded before the transaction started.
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.audit;
+
+import static java.beans.Introspector.getBeanInfo;
+import static java.lang.invoke.LambdaMetafactory.metafactory;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.persistence.Entity;
+
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * Helper class of {@link AuditListener}. This holds an {@link Audit} property and a precompiled function for its getter, so
+ * that taking a snapshot of it does not involve reflection.
+ */
+final class AuditableProperty {
+
+	private final PropertyDescriptor descriptor;
+	private final Function<Object, Object> getter;
+
+	private AuditableProperty(PropertyDescriptor descriptor, Function<Object, Object> getter) {
+		this.descriptor = descriptor;
+		this.getter = getter;
+	}
+
+	PropertyDescriptor getDescriptor() {
+		return descriptor;
+	}
+
+	Object getValue(Object entity) {
+		return getter.apply(entity);
+	}
+
+	/**
+	 * Returns all {@link Audit} properties of given entity class, or an empty list if there are none. A proxy class will be
+	 * resolved to its actual entity class. Only fields declared in the actual entity class itself are considered, consistent
+	 * with <code>ManagedType#getDeclaredAttributes()</code>.
+	 */
+	static List<AuditableProperty> of(Class<?> entityClass) {
+		Class<?> entityType = entityClass;
+
+		while (BaseEntity.class.isAssignableFrom(entityType) && entityType.getAnnotation(Entity.class) == null) {
+			entityType = entityType.getSuperclass();
+		}
+
+		Set<String> auditablePropertyNames = stream(entityType.getDeclaredFields())
+			.filter(field -> field.isAnnotationPresent(Audit.class))
+			.map(Field::getName)
+			.collect(toSet());
+
+		if (auditablePropertyNames.isEmpty()) {
+			return emptyList();
+		}
+
+		try {
+			Lookup lookup = MethodHandles.lookup();
+			boolean visible = isVisible(entityType);
+			return unmodifiableList(stream(getBeanInfo(entityType).getPropertyDescriptors())
+				.filter(property -> auditablePropertyNames.contains(property.getName()))
+				.map(property -> new AuditableProperty(property, createGetter(lookup, property, visible)))
+				.collect(toList()));
+		}
+		catch (IntrospectionException e) {
+			throw new UnsupportedOperationException(e);
+		}
+	}
+
+	private static boolean isVisible(Class<?> entityType) {
+		try {
+			return Class.forName(entityType.getName(), false, AuditableProperty.class.getClassLoader()) == entityType;
+		}
+		catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> createGetter(Lookup lookup, PropertyDescriptor property, boolean visible) {
+		MethodHandle handle;
+
+		try {
+			handle = lookup.unreflect(property.getReadMethod());
+		}
+		catch (IllegalAccessException e) {
+			throw new UnsupportedOperationException(e);
+		}
+
+		if (visible) {
+			// The lambda is defined in the class loader of this class, so the entity must be visible from there.
+			try {
+				return (Function<Object, Object>) metafactory(lookup, "apply", methodType(Function.class), methodType(Object.class, Object.class), handle, handle.type().wrap())
+					.getTarget().invokeExact();
+			}
+			catch (Throwable ignore) {
+				// Fall back to plain method handle below.
+			}
+		}
+
+		MethodHandle genericHandle = handle.asType(methodType(Object.class, Object.class));
+		return entity -> {
+			try {
+				return genericHandle.invokeExact(entity);
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.audit;
+
+import static java.lang.String.format;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * <p>
+ * An immutable record of a change of an {@link Audit} property as collected by {@link BatchedAuditListener}.
+ *
+ * @see BatchedAuditListener
+ */
+public final class AuditedChange implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Instant timestamp;
+	private final Class<?> entityType;
+	private final Serializable entityId;
+	private final String propertyName;
+	private final Serializable oldValue;
+	private final Serializable newValue;
+
+	/**
+	 * Creates a new audited change.
+	 * @param timestamp The moment the change was flushed.
+	 * @param entityType The type of the parent entity.
+	 * @param entityId The ID of the parent entity.
+	 * @param propertyName The name of the audited property.
+	 * @param oldValue The old value.
+	 * @param newValue The new value.
+	 */
+	public AuditedChange(Instant timestamp, Class<?> entityType, Serializable entityId, String propertyName, Object oldValue, Object newValue) {
+		this.timestamp = timestamp;
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.propertyName = propertyName;
+		this.oldValue = toSerializable(oldValue);
+		this.newValue = toSerializable(newValue);
+	}
+
+	private static Serializable toSerializable(Object value) {
+		return (value == null || value instanceof Serializable) ? (Serializable) value : value.toString();
+	}
+
+	/**
+	 * Returns the moment the change was flushed.
+	 * @return The moment the change was flushed.
+	 */
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Returns the type of the parent entity.
+	 * @return The type of the parent entity.
+	 */
+	public Class<?> getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * Returns the ID of the parent entity.
+	 * @return The ID of the parent entity.
+	 */
+	public Serializable getEntityId() {
+		return entityId;
+	}
+
+	/**
+	 * Returns the name of the audited property.
+	 * @return The name of the audited property.
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	/**
+	 * Returns the old value. If it was not {@link Serializable}, then this returns its {@link Object#toString()}.
+	 * @return The old value.
+	 */
+	public Serializable getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * Returns the new value. If it was not {@link Serializable}, then this returns its {@link Object#toString()}.
+	 * @return The new value.
+	 */
+	public Serializable getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return format("AuditedChange[%s, %s[%s].%s, %s -> %s]", timestamp, entityType.getSimpleName(), entityId, propertyName, oldValue, newValue);
+	}
+
+}
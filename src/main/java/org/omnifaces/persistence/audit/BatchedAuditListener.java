@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.audit;
+
+import java.beans.PropertyDescriptor;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * <p>
+ * An {@link AuditListener} which does not save each audited change synchronously during flush, but buffers them per
+ * transaction and saves them in batches after the transaction is successfully committed. Audited changes of a rolled back
+ * transaction are discarded.
+ * <p>
+ * The batches are saved on the default managed executor service. The audited changes are queued in a bounded queue whose
+ * capacity is determined by {@link #getQueueCapacity()}. When the queue is full, or when there's no managed executor service
+ * available, the audited changes are saved on the committing thread instead, which in turn slows down the producers. The
+ * queue depth, the amount of batches saved, the average latency of saving a batch and the amount of times the queue was
+ * full can be observed via the static methods of this class.
+ * <p>
+ * Example implementation:
+ * <pre>
+ * public class YourAuditListener extends BatchedAuditListener&lt;Long&gt; {
+ *
+ *     &#64;Override
+ *     protected void saveAuditedChanges(List&lt;AuditedChange&gt; auditedChanges) {
+ *         try (Connection connection = inject(YourDataSource.class).getConnection();
+ *             PreparedStatement statement = connection.prepareStatement("INSERT INTO audited_change VALUES (?, ?, ?, ?, ?, ?)"))
+ *         {
+ *             for (AuditedChange auditedChange : auditedChanges) {
+ *                 statement.setTimestamp(1, Timestamp.from(auditedChange.getTimestamp()));
+ *                 // ...
+ *                 statement.addBatch();
+ *             }
+ *
+ *             statement.executeBatch();
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <I> The generic ID type. This is used to associate auditable properties with a specific entity.
+ * @see Audit
+ * @see AuditedChange
+ */
+public abstract class BatchedAuditListener<I extends Comparable<I> & Serializable> extends AuditListener<I> {
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+	private static final int DEFAULT_BATCH_SIZE = 100;
+
+	@Override
+	protected final void saveAuditedChange(BaseEntity<I> entity, PropertyDescriptor property, Object oldValue, Object newValue) {
+		AuditQueue.of(this).add(new AuditedChange(Instant.now(), entity.getClass(), entity.getId(), property.getName(), oldValue, newValue));
+	}
+
+	/**
+	 * Save the given batch of audited changes. This is invoked after the transaction which changed them is successfully
+	 * committed, usually in a separate thread, and thus outside of that transaction. Any exception will be logged and the
+	 * batch will be discarded.
+	 * @param auditedChanges The batch of audited changes, never more than {@link #getBatchSize()} unless the queue was full.
+	 */
+	protected abstract void saveAuditedChanges(List<AuditedChange> auditedChanges);
+
+	/**
+	 * Returns the maximum amount of audited changes waiting in the queue. The default is 10000.
+	 * @return The maximum amount of audited changes waiting in the queue.
+	 */
+	protected int getQueueCapacity() {
+		return DEFAULT_QUEUE_CAPACITY;
+	}
+
+	/**
+	 * Returns the maximum amount of audited changes passed to {@link #saveAuditedChanges(List)} at once. The default is 100.
+	 * @return The maximum amount of audited changes passed to {@link #saveAuditedChanges(List)} at once.
+	 */
+	protected int getBatchSize() {
+		return DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * Returns the amount of audited changes currently waiting in the queue of given listener type.
+	 * @param listenerType The listener type.
+	 * @return The amount of audited changes currently waiting in the queue of given listener type.
+	 */
+	public static int getQueueDepth(Class<? extends BatchedAuditListener<?>> listenerType) {
+		return AuditQueue.find(listenerType).map(AuditQueue::getDepth).orElse(0);
+	}
+
+	/**
+	 * Returns the amount of batches saved by given listener type.
+	 * @param listenerType The listener type.
+	 * @return The amount of batches saved by given listener type.
+	 */
+	public static long getFlushCount(Class<? extends BatchedAuditListener<?>> listenerType) {
+		return AuditQueue.find(listenerType).map(AuditQueue::getFlushes).orElse(0L);
+	}
+
+	/**
+	 * Returns the average time in milliseconds it took to save a batch by given listener type.
+	 * @param listenerType The listener type.
+	 * @return The average time in milliseconds it took to save a batch by given listener type.
+	 */
+	public static long getAverageFlushLatency(Class<? extends BatchedAuditListener<?>> listenerType) {
+		return AuditQueue.find(listenerType).map(AuditQueue::getAverageFlushLatency).orElse(0L);
+	}
+
+	/**
+	 * Returns the amount of times the queue of given listener type was full and audited changes had to be saved on the
+	 * committing thread.
+	 * @param listenerType The listener type.
+	 * @return The amount of times the queue of given listener type was full.
+	 */
+	public static long getOverflowCount(Class<? extends BatchedAuditListener<?>> listenerType) {
+		return AuditQueue.find(listenerType).map(AuditQueue::getOverflows).orElse(0L);
+	}
+
+}
@@ -19,6 +19,8 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Predicate;
 
+import org.omnifaces.persistence.Database;
+import org.omnifaces.persistence.Provider;
 import org.omnifaces.persistence.model.dto.Page;
 import org.omnifaces.persistence.service.BaseEntityService;
 
@@ -114,7 +116,7 @@ public abstract class Criteria<T> {
 		Object value = possibleCriteria;
 
 		while (value instanceof Criteria) {
-			value = ((Criteria<?>) possibleCriteria).getValue();
+			value = ((Criteria<?>) value).getValue();
 		}
 
 		return value;
@@ -141,6 +143,24 @@ public abstract class Criteria<T> {
 	@FunctionalInterface
 	public interface ParameterBuilder {
 		<T> ParameterExpression<T> create(Object value);
+
+		/**
+		 * Returns the provider of the criteria query being built. The default implementation obtains it from the currently
+		 * active {@link BaseEntityService}, which involves a JNDI lookup.
+		 * @return The provider of the criteria query being built.
+		 */
+		default Provider getProvider() {
+			return BaseEntityService.getCurrentInstance().getProvider();
+		}
+
+		/**
+		 * Returns the database of the criteria query being built. The default implementation obtains it from the currently
+		 * active {@link BaseEntityService}, which involves a JNDI lookup.
+		 * @return The database of the criteria query being built.
+		 */
+		default Database getDatabase() {
+			return BaseEntityService.getCurrentInstance().getDatabase();
+		}
 	}
 
 }
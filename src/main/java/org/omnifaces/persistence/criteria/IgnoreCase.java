@@ -35,7 +35,7 @@ public final class IgnoreCase extends Criteria<String> {
 
 	@Override
 	public Predicate build(Expression<?> path, CriteriaBuilder criteriaBuilder, ParameterBuilder parameterBuilder) {
-		return criteriaBuilder.equal(criteriaBuilder.lower(castAsString(criteriaBuilder, path)), criteriaBuilder.lower(parameterBuilder.create(getValue())));
+		return criteriaBuilder.equal(criteriaBuilder.lower(castAsString(criteriaBuilder, path, parameterBuilder.getProvider(), parameterBuilder.getDatabase())), criteriaBuilder.lower(parameterBuilder.create(getValue())));
 	}
 
 	@Override
@@ -80,7 +80,7 @@ public final class Like extends Criteria<String> {
 		else {
 			boolean lowercaseable = !Number.class.isAssignableFrom(type);
 			String searchValue = (startsWith() ? "" : "%") + (lowercaseable ? getValue().toLowerCase() : getValue()) + (endsWith() ? "" : "%");
-			Expression<String> pathAsString = castAsString(criteriaBuilder, path);
+			Expression<String> pathAsString = castAsString(criteriaBuilder, path, parameterBuilder.getProvider(), parameterBuilder.getDatabase());
 			return criteriaBuilder.like(lowercaseable ? criteriaBuilder.lower(pathAsString) : pathAsString, parameterBuilder.create(searchValue));
 		}
 	}
@@ -40,8 +40,8 @@ public final class Not extends Criteria<Object> {
 
 	@Override
 	public boolean applies(Object modelValue) {
-		if (modelValue instanceof Criteria) {
-			return !((Criteria<?>) modelValue).applies(getValue());
+		if (getValue() instanceof Criteria) {
+			return !((Criteria<?>) getValue()).applies(modelValue);
 		}
 		else {
 			return !Objects.equals(modelValue, getValue());
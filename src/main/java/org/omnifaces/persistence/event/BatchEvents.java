@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.event;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.omnifaces.persistence.listener.BaseEntityListener;
+
+/**
+ * <p>
+ * When put on an entity, then {@link BaseEntityListener} will not fire {@link Created}, {@link Updated} and {@link Deleted}
+ * events for every single entity during flush, but collect them per transaction and fire one {@link EntityBatch} per entity
+ * type and event type after the transaction is successfully committed. When there's no active transaction, then the
+ * {@link EntityBatch} is fired immediately for the single entity. Events of a rolled back transaction are discarded.
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;Entity
+ * &#64;BatchEvents
+ * public class YourEntity extends BaseEntity&lt;Long&gt; {
+ *     // ...
+ * }
+ * </pre>
+ * <pre>
+ * public void onCreate(&#64;Observes &#64;Created EntityBatch batch) {
+ *     if (batch.getEntityType() == YourEntity.class) {
+ *         List&lt;YourEntity&gt; yourEntities = batch.getEntities();
+ *         // ...
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * On CDI 2.0 containers, the {@link EntityBatch} is additionally fired asynchronously, so it can also be observed with
+ * <code>&#64;ObservesAsync</code>.
+ *
+ * @see EntityBatch
+ * @see BaseEntityListener
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface BatchEvents {
+	//
+}
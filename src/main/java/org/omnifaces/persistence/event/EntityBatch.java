@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.event;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import org.omnifaces.persistence.listener.BaseEntityListener;
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * Fired by {@link BaseEntityListener} with qualifier {@link Created}, {@link Updated} or {@link Deleted} after commit of a
+ * transaction which created, updated or deleted entities annotated with {@link BatchEvents}.
+ * @see BatchEvents
+ */
+public final class EntityBatch {
+
+	private final Class<?> entityType;
+	private final List<BaseEntity<?>> entities;
+
+	/**
+	 * Creates a new entity batch.
+	 * @param entityType The entity type.
+	 * @param entities The entities of the given type, in flush order.
+	 */
+	public EntityBatch(Class<?> entityType, List<BaseEntity<?>> entities) {
+		this.entityType = entityType;
+		this.entities = unmodifiableList(entities);
+	}
+
+	/**
+	 * Returns the entity type.
+	 * @return The entity type.
+	 */
+	public Class<?> getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * Returns the entities, in flush order.
+	 * @param <E> The expected entity type, which should be checked against {@link #getEntityType()} beforehand.
+	 * @return The entities, in flush order.
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends BaseEntity<?>> List<E> getEntities() {
+		return (List<E>) (List<?>) entities;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityBatch[" + entityType.getSimpleName() + ", " + entities + "]";
+	}
+
+}
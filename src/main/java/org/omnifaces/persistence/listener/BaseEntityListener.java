@@ -12,8 +12,25 @@
  */
 package org.omnifaces.persistence.listener;
 
+import static java.util.Collections.singletonList;
+import static javax.transaction.Status.STATUS_COMMITTED;
+import static org.omnifaces.persistence.JNDI.getActiveTransactionSynchronizationRegistry;
 import static org.omnifaces.utils.annotation.Annotations.createAnnotationInstance;
+import static org.omnifaces.utils.reflect.Reflections.findMethod;
+import static org.omnifaces.utils.reflect.Reflections.invokeMethod;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.CDI;
@@ -21,11 +38,18 @@ import javax.inject.Inject;
 import javax.persistence.PostPersist;
 import javax.persistence.PostRemove;
 import javax.persistence.PostUpdate;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 
+import org.omnifaces.persistence.event.BatchEvents;
 import org.omnifaces.persistence.event.Created;
 import org.omnifaces.persistence.event.Deleted;
+import org.omnifaces.persistence.event.EntityBatch;
 import org.omnifaces.persistence.event.Updated;
 import org.omnifaces.persistence.model.BaseEntity;
+import org.omnifaces.persistence.outbox.Outbox;
+import org.omnifaces.persistence.outbox.OutboxRecord.Operation;
+import org.omnifaces.persistence.service.EntityCacheObserver;
 
 /**
  * <p>
@@ -47,28 +71,110 @@ import org.omnifaces.persistence.model.BaseEntity;
  * }
  * </pre>
  *
+ * <p>
+ * When the entity is annotated with {@link BatchEvents}, then the events will be collected per transaction and fired as
+ * one {@link EntityBatch} per entity type and event type after commit.
+ * <p>
+ * When a CDI managed bean extending {@link Outbox} is available, then every change will also be written to the outbox.
+ * <p>
+ * Every change will also invalidate the entity snapshots and cached page results of the entity type once the transaction
+ * has completed, regardless of {@link BatchEvents}.
+ *
  * @see Created
  * @see Updated
  * @see Deleted
+ * @see BatchEvents
+ * @see Outbox
  */
 public class BaseEntityListener {
 
+	private static final Created CREATED = createAnnotationInstance(Created.class);
+	private static final Updated UPDATED = createAnnotationInstance(Updated.class);
+	private static final Deleted DELETED = createAnnotationInstance(Deleted.class);
+	private static final Map<Class<?>, Boolean> BATCH_EVENTS_MAPPINGS = new ConcurrentHashMap<>();
+
 	@Inject
 	private BeanManager beanManager;
 
+	private Optional<Outbox> outbox;
+
 	@PostPersist
 	public void onPostPersist(BaseEntity<?> entity) {
-		getBeanManager().fireEvent(entity, createAnnotationInstance(Created.class));
+		EntityCacheObserver.markModified(entity.getClass());
+		fireEvent(entity, CREATED);
+		getOutbox().ifPresent(outbox -> outbox.write(entity, Operation.CREATED));
 	}
 
 	@PostUpdate
 	public void onPostUpdate(BaseEntity<?> entity) {
-		getBeanManager().fireEvent(entity, createAnnotationInstance(Updated.class));
+		EntityCacheObserver.markModified(entity.getClass());
+		fireEvent(entity, UPDATED);
+		getOutbox().ifPresent(outbox -> outbox.write(entity, Operation.UPDATED));
 	}
 
 	@PostRemove
 	public void onPostRemove(BaseEntity<?> entity) {
-		getBeanManager().fireEvent(entity, createAnnotationInstance(Deleted.class));
+		EntityCacheObserver.markModified(entity.getClass());
+		fireEvent(entity, DELETED);
+		getOutbox().ifPresent(outbox -> outbox.write(entity, Operation.DELETED));
+	}
+
+	private void fireEvent(BaseEntity<?> entity, Annotation qualifier) {
+		if (!BATCH_EVENTS_MAPPINGS.computeIfAbsent(entity.getClass(), type -> type.isAnnotationPresent(BatchEvents.class))) {
+			getBeanManager().fireEvent(entity, qualifier);
+			return;
+		}
+
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			fireBatch(new EntityBatch(entity.getClass(), singletonList(entity)), qualifier);
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		Map<Entry<Class<?>, Annotation>, List<BaseEntity<?>>> batches = (Map<Entry<Class<?>, Annotation>, List<BaseEntity<?>>>) registry.getResource(BaseEntityListener.class);
+
+		if (batches == null) {
+			Map<Entry<Class<?>, Annotation>, List<BaseEntity<?>>> newBatches = new LinkedHashMap<>();
+			registry.putResource(BaseEntityListener.class, newBatches);
+			registry.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					// NOOP.
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) {
+						newBatches.forEach((key, entities) -> fireBatch(new EntityBatch(key.getKey(), entities), key.getValue()));
+					}
+				}
+			});
+			batches = newBatches;
+		}
+
+		batches.computeIfAbsent(new SimpleEntry<>(entity.getClass(), qualifier), k -> new ArrayList<>()).add(entity);
+	}
+
+	private void fireBatch(EntityBatch batch, Annotation qualifier) {
+		BeanManager manager = getBeanManager();
+		manager.fireEvent(batch, qualifier);
+		Optional<Method> getEvent = findMethod(manager, "getEvent"); // BeanManager#getEvent() is only available since CDI 2.0.
+
+		if (getEvent.isPresent()) {
+			Event<Object> event = invokeMethod(manager, getEvent.get());
+			Event<Object> qualifiedEvent = event.select(qualifier);
+			findMethod(qualifiedEvent, "fireAsync", batch).ifPresent(fireAsync -> invokeMethod(qualifiedEvent, fireAsync, batch));
+		}
+	}
+
+	private Optional<Outbox> getOutbox() {
+		if (outbox == null) {
+			outbox = Outbox.getCurrentInstance();
+		}
+
+		return outbox;
 	}
 
 	private BeanManager getBeanManager() {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.metrics;
+
+import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.service.BaseEntityService;
+
+/**
+ * <p>
+ * Receives the measurements of the hot path operations of {@link BaseEntityService}, such as the latency and the row count
+ * of {@link BaseEntityService#getById(Comparable)}, {@link BaseEntityService#getByIds(Iterable)},
+ * {@link BaseEntityService#list()} and {@link BaseEntityService#getPage(Page, boolean)}. All times are in nanoseconds.
+ * All methods are invoked on the calling thread, so implementations must be thread safe and fast. The default methods do
+ * nothing, so implementations only need to override the ones they are interested in.
+ * <p>
+ * This can be plugged in by overriding {@link BaseEntityService#getMetrics()}, for example with a
+ * {@link SimpleEntityServiceMetrics}, or with an adapter to the metrics library of your choice. The default is
+ * {@link #NOOP}, whereby {@link BaseEntityService} doesn't even read the clock.
+ *
+ * @see BaseEntityService#getMetrics()
+ * @see SimpleEntityServiceMetrics
+ */
+public interface EntityServiceMetrics {
+
+	/**
+	 * The default metrics, which are disabled and record nothing.
+	 */
+	EntityServiceMetrics NOOP = new EntityServiceMetrics() {
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+	};
+
+	/**
+	 * Returns whether these metrics are enabled. When not, then {@link BaseEntityService} won't measure anything.
+	 * The default implementation returns <code>true</code>.
+	 * @return Whether these metrics are enabled.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * Record the completion of an operation, such as <code>getById</code> or <code>getPage</code>.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @param operation The operation name, which is the method name.
+	 * @param time The time spent in the operation.
+	 * @param rows The amount of entities returned by the operation.
+	 */
+	default void recordOperation(Class<?> serviceType, String operation, long time, int rows) {
+		// NOOP.
+	}
+
+	/**
+	 * Record the time spent in the entity query and the count query of <code>getPage</code>.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @param entityQueryTime The time spent in executing the entity query.
+	 * @param countQueryTime The time spent in counting the results, including waiting for a concurrently executed count
+	 * query, or -1 when no count was requested.
+	 */
+	default void recordPageQueries(Class<?> serviceType, long entityQueryTime, long countQueryTime) {
+		// NOOP.
+	}
+
+	/**
+	 * Record the time spent in building the criteria restrictions of a <code>getPage</code> query. This is not recorded
+	 * when a cached query template is reused.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @param time The time spent in building the criteria restrictions.
+	 */
+	default void recordRestrictions(Class<?> serviceType, long time) {
+		// NOOP.
+	}
+
+	/**
+	 * Record the amount of entities managed by the persistence context after an operation. This is only recorded when the
+	 * JPA provider supports obtaining it, which is currently Hibernate and OpenJPA.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @param size The amount of entities managed by the persistence context.
+	 */
+	default void recordPersistenceContextSize(Class<?> serviceType, int size) {
+		// NOOP.
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.metrics;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A lock free histogram of non-negative values, such as latencies in nanoseconds or row counts, as used by
+ * {@link SimpleEntityServiceMetrics}. The values are counted in buckets of powers of two, so that recording doesn't
+ * allocate anything and the histogram has a fixed size. The percentiles are therefore approximate: they return the upper
+ * bound of the bucket, which is at most twice the actual value.
+ *
+ * @see SimpleEntityServiceMetrics
+ */
+public final class Histogram {
+
+	private static final int BUCKETS = Long.SIZE; // Bucket i holds the values having i significant bits.
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Record the given value. Negative values are recorded as 0.
+	 * @param value The value.
+	 */
+	public void record(long value) {
+		long nonNegativeValue = Math.max(value, 0);
+		buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nonNegativeValue));
+		count.increment();
+		total.add(nonNegativeValue);
+		max.accumulate(nonNegativeValue);
+	}
+
+	/**
+	 * Returns the amount of recorded values.
+	 * @return The amount of recorded values.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the sum of recorded values.
+	 * @return The sum of recorded values.
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Returns the largest recorded value, or 0 when nothing is recorded.
+	 * @return The largest recorded value.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of recorded values, or 0 when nothing is recorded.
+	 * @return The mean of recorded values.
+	 */
+	public long getMean() {
+		long currentCount = getCount();
+		return (currentCount == 0) ? 0 : (getTotal() / currentCount);
+	}
+
+	/**
+	 * Returns the approximate value below which the given percentage of recorded values falls, or 0 when nothing is recorded.
+	 * This is the upper bound of the bucket, but never more than {@link #getMax()}.
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The approximate value below which the given percentage of recorded values falls.
+	 * @throws IllegalArgumentException When the percentile is not between 0 and 100.
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+		}
+
+		long[] counts = new long[BUCKETS];
+		long currentCount = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			currentCount += counts[i];
+		}
+
+		long threshold = (long) Math.ceil(currentCount * percentile / 100);
+		long cumulativeCount = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			cumulativeCount += counts[i];
+
+			if (cumulativeCount > 0 && cumulativeCount >= threshold) {
+				long upperBound = (1L << i) - 1; // Overflows to Long.MAX_VALUE in the last bucket, as intended.
+				return Math.min(upperBound, getMax());
+			}
+		}
+
+		return 0;
+	}
+
+	@Override
+	public String toString() {
+		return format("Histogram[count=%d, mean=%d, p50=%d, p99=%d, max=%d]", getCount(), getMean(), getPercentile(50), getPercentile(99), getMax());
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.metrics;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.omnifaces.persistence.service.BaseEntityService;
+
+/**
+ * <p>
+ * The default {@link EntityServiceMetrics} implementation, which keeps a {@link Histogram} per service and per metric in
+ * memory, without any further dependencies. The metric names are:
+ * <ul>
+ * <li><code>{operation}.time</code> and <code>{operation}.rows</code> for each operation, such as <code>getPage.time</code>.
+ * <li><code>getPage.entityQuery.time</code> and <code>getPage.countQuery.time</code> for the queries of a page.
+ * <li><code>buildRestrictions.time</code> for building the criteria restrictions of a page.
+ * <li><code>persistenceContext.size</code> for the amount of entities managed by the persistence context.
+ * </ul>
+ * <p>
+ * Usage example:
+ * <pre>
+ * public abstract class YourBaseEntityService&lt;E extends BaseEntity&lt;Long&gt;&gt; extends BaseEntityService&lt;Long, E&gt; {
+ *
+ *     public static final SimpleEntityServiceMetrics METRICS = new SimpleEntityServiceMetrics();
+ *
+ *     &#64;Override
+ *     protected EntityServiceMetrics getMetrics() {
+ *         return METRICS;
+ *     }
+ *
+ * }
+ * </pre>
+ * <p>
+ * The {@link #toString()} then returns a report of all histograms, e.g. to be logged periodically or exposed via an admin page.
+ *
+ * @see EntityServiceMetrics
+ * @see Histogram
+ */
+public class SimpleEntityServiceMetrics implements EntityServiceMetrics {
+
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, Histogram>> histograms = new ConcurrentHashMap<>();
+
+	@Override
+	public void recordOperation(Class<?> serviceType, String operation, long time, int rows) {
+		getHistogram(serviceType, operation + ".time").record(time);
+		getHistogram(serviceType, operation + ".rows").record(rows);
+	}
+
+	@Override
+	public void recordPageQueries(Class<?> serviceType, long entityQueryTime, long countQueryTime) {
+		getHistogram(serviceType, "getPage.entityQuery.time").record(entityQueryTime);
+
+		if (countQueryTime >= 0) {
+			getHistogram(serviceType, "getPage.countQuery.time").record(countQueryTime);
+		}
+	}
+
+	@Override
+	public void recordRestrictions(Class<?> serviceType, long time) {
+		getHistogram(serviceType, "buildRestrictions.time").record(time);
+	}
+
+	@Override
+	public void recordPersistenceContextSize(Class<?> serviceType, int size) {
+		getHistogram(serviceType, "persistenceContext.size").record(size);
+	}
+
+	/**
+	 * Returns the histogram of given service and metric. It will be created when absent.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @param metric The metric name.
+	 * @return The histogram of given service and metric.
+	 */
+	public Histogram getHistogram(Class<?> serviceType, String metric) {
+		return histograms.computeIfAbsent(serviceType, k -> new ConcurrentHashMap<>()).computeIfAbsent(metric, k -> new Histogram());
+	}
+
+	/**
+	 * Returns all histograms of given service, sorted by metric name.
+	 * @param serviceType The concrete {@link BaseEntityService} class.
+	 * @return All histograms of given service, sorted by metric name.
+	 */
+	public Map<String, Histogram> getHistograms(Class<?> serviceType) {
+		Map<String, Histogram> serviceHistograms = histograms.get(serviceType);
+		return (serviceHistograms == null) ? emptyMap() : unmodifiableMap(new TreeMap<>(serviceHistograms));
+	}
+
+	/**
+	 * Remove all histograms.
+	 */
+	public void reset() {
+		histograms.clear();
+	}
+
+	/**
+	 * Returns a report of all histograms, one line per service and metric. Times are in nanoseconds.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		Map<String, Class<?>> serviceTypes = new TreeMap<>();
+		histograms.keySet().forEach(serviceType -> serviceTypes.put(serviceType.getName(), serviceType));
+
+		serviceTypes.forEach((serviceName, serviceType) -> getHistograms(serviceType).forEach((metric, histogram) ->
+			report.append(serviceName).append('#').append(metric).append(": ").append(histogram).append('\n')));
+
+		return report.toString();
+	}
+
+}
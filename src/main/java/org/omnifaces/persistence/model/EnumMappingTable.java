@@ -254,6 +254,13 @@ import javax.persistence.EnumType;
  * case of enum-driven tables the database table will be corrected after the
  * first startup. So, these logs should serve as a reminder to cleanup the code.
  * <p>
+ * With {@link MappingType#ENUM}, a fingerprint of the enum constants and the
+ * mapping configuration is saved in {@value #ENUM_MAPPING_FINGERPRINT_TABLE_NAME}
+ * table after a successful synchronization. As long as this fingerprint is
+ * unchanged, the table will not be read and compared again on next startup. So,
+ * manual modifications of such table will not be reverted until the enum or its
+ * mapping changes, or the fingerprint row is removed.
+ * <p>
  * The concluding remark about the internal functionality of the mapping is that
  * for the enum data to be treated correctly within the application the
  * <code>id</code> values will be used to modify {@link Enum#ordinal} and
@@ -271,6 +278,7 @@ public @interface EnumMappingTable {
         public static final String DELETED_COLUMN_NAME = "deleted";
         public static final String DEFAULT_ENUM_TABLE_POSTFIX = "_info";
         public static final String DEFAULT_ENUM_HISTORY_TABLE_POSTFIX = "_history";
+        public static final String ENUM_MAPPING_FINGERPRINT_TABLE_NAME = "enum_mapping_fingerprint";
 
         /**
          * Defines the types of mapping between java enum and database table.
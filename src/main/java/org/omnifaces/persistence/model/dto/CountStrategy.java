@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.model.dto;
+
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.utils.collection.PartialResultList;
+
+/**
+ * <p>
+ * The strategy to determine {@link PartialResultList#getEstimatedTotalNumberOfResults()} of a {@link Page} as returned by
+ * {@link BaseEntityService#getPage(Page, CountStrategy)}. The strategy being used and whether the resulting number is exact
+ * is available by {@link CursoredResultList#getCountStrategy()} and {@link CursoredResultList#isExactCount()}.
+ *
+ * @see BaseEntityService#getCountStrategy()
+ */
+public enum CountStrategy {
+
+	/**
+	 * Always perform a <code>SELECT COUNT(e)</code> query with the same criteria as the page. This is the default and
+	 * always yields an exact number.
+	 */
+	EXACT,
+
+	/**
+	 * Perform a <code>SELECT COUNT(e)</code> query only once per criteria and reuse its outcome until the time to live
+	 * as returned by {@link BaseEntityService#getCountCacheTimeToLive()} has expired. The number is only exact when it
+	 * was freshly counted. This is only applicable when the page is not built with a custom query builder; otherwise
+	 * this falls back to {@link #EXACT}.
+	 */
+	CACHED,
+
+	/**
+	 * Obtain the estimated number of rows of the entity's table from the database statistics instead of counting them,
+	 * which is currently supported on PostgreSQL and MySQL/MariaDB. This is only applicable when the page does not have
+	 * any criteria and is not built with a custom query builder; otherwise, or when the database cannot provide an
+	 * estimate, this falls back to {@link #EXACT}. The estimated number is never exact.
+	 */
+	ESTIMATED,
+
+	/**
+	 * Do not count at all, but fetch one more result than the page limit in order to determine whether there are more
+	 * results. The number is then offset plus size of the page, plus one when there are more results. It is only exact
+	 * when there are no more results.
+	 */
+	HAS_MORE;
+
+}
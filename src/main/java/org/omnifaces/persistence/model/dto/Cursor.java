@@ -0,0 +1,333 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.model.dto;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.omnifaces.persistence.service.BaseEntityService;
+
+/**
+ * <p>
+ * This class represents an opaque position in a paged view of a database. It holds the values of the ordering fields of the
+ * row to continue from, and whether to continue backwards. It can be passed to {@link Page.Builder#cursor(Cursor)} in order to
+ * perform value based paging without the need to hold the last entity of the previous page. The cursors for the next and
+ * previous pages are available by {@link CursoredResultList#getNextCursor()} and {@link CursoredResultList#getPreviousCursor()}
+ * as returned by {@link BaseEntityService#getPage(Page, boolean)}.
+ * <p>
+ * The {@link #toString()} returns an URL-safe token which can be sent to stateless clients, such as REST clients, and be parsed
+ * back via {@link #valueOf(String)}. The token is not encrypted nor signed, so it must not contain confidential values. The token
+ * only contains strings, which are converted back to the Java type of the ordering field while building the query.
+ *
+ * @see Page
+ * @see CursoredResultList
+ */
+public final class Cursor implements Serializable { // This class MAY NOT be mutable!
+
+	private static final long serialVersionUID = 1L;
+
+	private static final String ERROR_INVALID_TOKEN = "Cursor token '%s' is invalid.";
+	private static final String ERROR_MISSING_FIELD = "Cursor does not have a value for ordering field '%s'. The ordering has changed?";
+	private static final String ERROR_UNSUPPORTED_TYPE = "Cursor does not support converting '%s' to %s.";
+	private static final String REVERSED_KEY = "";
+
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final Map<String, String> values;
+	private final boolean reversed;
+
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	private Cursor(Map<String, String> values, boolean reversed) {
+		this.values = unmodifiableMap(values);
+		this.reversed = reversed;
+	}
+
+	/**
+	 * Creates a cursor from the given ordering field values of the row to continue from.
+	 * @param values The ordering field values. Map key represents property name and map value represents the property value.
+	 * @param reversed Whether to continue backwards, i.e. to the previous page.
+	 * @return The cursor.
+	 */
+	public static Cursor of(Map<String, ?> values, boolean reversed) {
+		Map<String, String> stringValues = new LinkedHashMap<>(values.size());
+
+		for (Entry<String, ?> entry : values.entrySet()) {
+			stringValues.put(entry.getKey(), toString(entry.getValue()));
+		}
+
+		return new Cursor(stringValues, reversed);
+	}
+
+	/**
+	 * Parses the given token as obtained from {@link #toString()} back to a cursor.
+	 * @param token The token.
+	 * @return The cursor.
+	 * @throws IllegalArgumentException When the token is invalid.
+	 */
+	public static Cursor valueOf(String token) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+			Map<String, String> values = new LinkedHashMap<>();
+			Boolean reversed = null;
+
+			for (String pair : decoded.split("&", -1)) {
+				int separator = pair.indexOf('=');
+				String key = decode(separator < 0 ? pair : pair.substring(0, separator));
+				String value = separator < 0 ? null : decode(pair.substring(separator + 1));
+
+				if (reversed == null) {
+					if (!REVERSED_KEY.equals(key) || value == null) {
+						throw new IllegalArgumentException();
+					}
+
+					reversed = Boolean.valueOf(value);
+				}
+				else {
+					values.put(key, value);
+				}
+			}
+
+			return new Cursor(values, reversed);
+		}
+		catch (RuntimeException e) {
+			throw new IllegalArgumentException(String.format(ERROR_INVALID_TOKEN, token), e);
+		}
+	}
+
+
+	// Getters --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns whether to continue backwards, i.e. to the previous page.
+	 * @return Whether to continue backwards.
+	 */
+	public boolean isReversed() {
+		return reversed;
+	}
+
+	/**
+	 * Returns whether the cursor has a non-<code>null</code> value for the given ordering field.
+	 * @param field The ordering field.
+	 * @return Whether the cursor has a non-<code>null</code> value for the given ordering field.
+	 * @throws IllegalArgumentException When the cursor doesn't have the given ordering field at all.
+	 */
+	public boolean hasValue(String field) {
+		return getString(field) != null;
+	}
+
+	/**
+	 * Returns the value of the given ordering field converted to the given type.
+	 * @param <T> The expected type.
+	 * @param field The ordering field.
+	 * @param type The expected type.
+	 * @return The value of the given ordering field converted to the given type.
+	 * @throws IllegalArgumentException When the cursor doesn't have the given ordering field, or when the value cannot be converted.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getValue(String field, Class<T> type) {
+		String value = getString(field);
+		return (value == null) ? null : (T) parse(value, type);
+	}
+
+	private String getString(String field) {
+		if (!values.containsKey(field)) {
+			throw new IllegalArgumentException(String.format(ERROR_MISSING_FIELD, field));
+		}
+
+		return values.get(field);
+	}
+
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private static String toString(Object value) {
+		if (value == null) {
+			return null;
+		}
+		else if (value instanceof Enum) {
+			return ((Enum<?>) value).name();
+		}
+		else if (value instanceof Timestamp) {
+			return ((Timestamp) value).toInstant().toString(); // Unlike getTime(), this keeps the nanos.
+		}
+		else if (value instanceof Date) {
+			return String.valueOf(((Date) value).getTime());
+		}
+		else {
+			return value.toString();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object parse(String value, Class<?> type) {
+		try {
+			if (type == String.class || type == Object.class) {
+				return value;
+			}
+			else if (type == Long.class || type == long.class) {
+				return Long.valueOf(value);
+			}
+			else if (type == Integer.class || type == int.class) {
+				return Integer.valueOf(value);
+			}
+			else if (type == Short.class || type == short.class) {
+				return Short.valueOf(value);
+			}
+			else if (type == Byte.class || type == byte.class) {
+				return Byte.valueOf(value);
+			}
+			else if (type == Double.class || type == double.class) {
+				return Double.valueOf(value);
+			}
+			else if (type == Float.class || type == float.class) {
+				return Float.valueOf(value);
+			}
+			else if (type == Boolean.class || type == boolean.class) {
+				return Boolean.valueOf(value);
+			}
+			else if (type == BigDecimal.class) {
+				return new BigDecimal(value);
+			}
+			else if (type == BigInteger.class) {
+				return new BigInteger(value);
+			}
+			else if (type == UUID.class) {
+				return UUID.fromString(value);
+			}
+			else if (type.isEnum()) {
+				return Enum.valueOf((Class) type, value);
+			}
+			else if (type == LocalDate.class) {
+				return LocalDate.parse(value);
+			}
+			else if (type == LocalDateTime.class) {
+				return LocalDateTime.parse(value);
+			}
+			else if (type == LocalTime.class) {
+				return LocalTime.parse(value);
+			}
+			else if (type == Instant.class) {
+				return Instant.parse(value);
+			}
+			else if (type == OffsetDateTime.class) {
+				return OffsetDateTime.parse(value);
+			}
+			else if (type == ZonedDateTime.class) {
+				return ZonedDateTime.parse(value);
+			}
+			else if (Date.class.isAssignableFrom(type)) {
+				return parseDate(value, type);
+			}
+		}
+		catch (Exception e) {
+			throw new IllegalArgumentException(String.format(ERROR_UNSUPPORTED_TYPE, value, type), e);
+		}
+
+		throw new IllegalArgumentException(String.format(ERROR_UNSUPPORTED_TYPE, value, type));
+	}
+
+	private static Date parseDate(String value, Class<?> type) throws ReflectiveOperationException {
+		if (value.indexOf('T') < 0) {
+			return (Date) type.getConstructor(long.class).newInstance(Long.valueOf(value));
+		}
+
+		Timestamp timestamp = Timestamp.from(Instant.parse(value)); // A java.util.Date field can also hold a Timestamp.
+		return type.isAssignableFrom(Timestamp.class) ? timestamp : (Date) type.getConstructor(long.class).newInstance(timestamp.getTime());
+	}
+
+	private static String encode(String string) {
+		try {
+			return URLEncoder.encode(string, UTF_8.name());
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String decode(String string) {
+		try {
+			return URLDecoder.decode(string, UTF_8.name());
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	// Object overrides -----------------------------------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object object) {
+		if (!(object instanceof Cursor)) {
+			return false;
+		}
+
+		if (object == this) {
+			return true;
+		}
+
+		Cursor other = (Cursor) object;
+
+		return Objects.equals(reversed, other.reversed)
+			&& Objects.equals(new ArrayList<>(values.entrySet()), new ArrayList<>(other.values.entrySet()));
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(Cursor.class, reversed, values);
+	}
+
+	/**
+	 * Returns the URL-safe token representing this cursor. It can be parsed back via {@link #valueOf(String)}.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(encode(REVERSED_KEY)).append('=').append(reversed);
+
+		for (Entry<String, String> entry : values.entrySet()) {
+			builder.append('&').append(encode(entry.getKey()));
+
+			if (entry.getValue() != null) {
+				builder.append('=').append(encode(entry.getValue()));
+			}
+		}
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(UTF_8));
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.model.dto;
+
+import java.util.List;
+
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.utils.collection.PartialResultList;
+
+/**
+ * <p>
+ * A {@link PartialResultList} which additionally holds the cursors to the previous and next pages, and the
+ * {@link CountStrategy} by which the estimated total number of results was determined. This is returned by
+ * {@link BaseEntityService#getPage(Page, boolean)} methods. The cursors are only available when the result type is the
+ * entity itself.
+ *
+ * @param <E> The generic type of the entity.
+ * @see Cursor
+ * @see CountStrategy
+ */
+public class CursoredResultList<E> extends PartialResultList<E> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Cursor previousCursor;
+	private final Cursor nextCursor;
+	private final CountStrategy countStrategy;
+	private final boolean exactCount;
+
+	/**
+	 * Creates a new cursored result list.
+	 * @param list The results.
+	 * @param offset The offset of the results.
+	 * @param estimatedTotalNumberOfResults The estimated total number of results.
+	 * @param previousCursor The cursor to the previous page, if any.
+	 * @param nextCursor The cursor to the next page, if any.
+	 */
+	public CursoredResultList(List<E> list, int offset, int estimatedTotalNumberOfResults, Cursor previousCursor, Cursor nextCursor) {
+		this(list, offset, estimatedTotalNumberOfResults, previousCursor, nextCursor, (estimatedTotalNumberOfResults < 0) ? null : CountStrategy.EXACT, estimatedTotalNumberOfResults >= 0);
+	}
+
+	/**
+	 * Creates a new cursored result list.
+	 * @param list The results.
+	 * @param offset The offset of the results.
+	 * @param estimatedTotalNumberOfResults The estimated total number of results.
+	 * @param previousCursor The cursor to the previous page, if any.
+	 * @param nextCursor The cursor to the next page, if any.
+	 * @param countStrategy The strategy by which the estimated total number of results was determined, if any.
+	 * @param exactCount Whether the estimated total number of results is exact.
+	 */
+	public CursoredResultList(List<E> list, int offset, int estimatedTotalNumberOfResults, Cursor previousCursor, Cursor nextCursor, CountStrategy countStrategy, boolean exactCount) {
+		super(list, offset, estimatedTotalNumberOfResults);
+		this.previousCursor = previousCursor;
+		this.nextCursor = nextCursor;
+		this.countStrategy = countStrategy;
+		this.exactCount = exactCount;
+	}
+
+	/**
+	 * Returns the cursor to the previous page, or <code>null</code> if there is none.
+	 * @return The cursor to the previous page, or <code>null</code> if there is none.
+	 */
+	public Cursor getPreviousCursor() {
+		return previousCursor;
+	}
+
+	/**
+	 * Returns the cursor to the next page, or <code>null</code> if there is none.
+	 * @return The cursor to the next page, or <code>null</code> if there is none.
+	 */
+	public Cursor getNextCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * Returns the strategy by which the estimated total number of results was determined, or <code>null</code> if it was
+	 * not requested.
+	 * @return The strategy by which the estimated total number of results was determined, or <code>null</code> if it was
+	 * not requested.
+	 */
+	public CountStrategy getCountStrategy() {
+		return countStrategy;
+	}
+
+	/**
+	 * Returns whether the estimated total number of results is exact.
+	 * @return Whether the estimated total number of results is exact.
+	 */
+	public boolean isExactCount() {
+		return exactCount;
+	}
+
+}
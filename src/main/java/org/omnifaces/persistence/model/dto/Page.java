@@ -14,18 +14,33 @@ package org.omnifaces.persistence.model.dto;
 
 import static java.lang.Boolean.TRUE;
 import static java.lang.Integer.MAX_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.Collections.unmodifiableMap;
 import static org.omnifaces.persistence.model.Identifiable.ID;
 import static org.omnifaces.utils.Lang.isEmpty;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 import org.omnifaces.persistence.criteria.Criteria;
+import org.omnifaces.persistence.criteria.Like;
+import org.omnifaces.persistence.criteria.Order;
 import org.omnifaces.persistence.model.Identifiable;
 import org.omnifaces.persistence.service.BaseEntityService;
 
@@ -33,6 +48,11 @@ import org.omnifaces.persistence.service.BaseEntityService;
  * <p>
  * This class basically defines a paged view of a database based on a given offset, limit, ordering, required criteria
  * and optional criteria. This is used by {@link BaseEntityService#getPage(Page, boolean)} methods.
+ * <p>
+ * As a page is often used as cache key, its hash code and its string representation are computed only once. The
+ * {@link #toCacheKey()} returns a compact string representation for external caches, and the {@link #intern(Page)}
+ * returns a canonical instance for frequently reused pages. The maps passed to the constructor are copied, so changing
+ * them afterwards does not affect the page.
  *
  * @author Bauke Scholtz
  * @see BaseEntityService
@@ -45,6 +65,8 @@ public final class Page { // This class MAY NOT be mutable!
 	public final static Page ALL = Page.of(0, MAX_VALUE);
 	public final static Page ONE = Page.of(0, 1);
 
+	private static final Map<Page, WeakReference<Page>> INTERNED_PAGES = Collections.synchronizedMap(new WeakHashMap<>());
+
 
 	// Properties -----------------------------------------------------------------------------------------------------
 
@@ -52,9 +74,12 @@ public final class Page { // This class MAY NOT be mutable!
 	private final int limit;
 	private final Identifiable<?> last;
 	private final boolean reversed;
+	private final Cursor cursor;
 	private final Map<String, Boolean> ordering;
 	private final Map<String, Object> requiredCriteria;
 	private final Map<String, Object> optionalCriteria;
+	private final int hashCode;
+	private String string;
 
 
 	// Constructors ---------------------------------------------------------------------------------------------------
@@ -83,13 +108,33 @@ public final class Page { // This class MAY NOT be mutable!
 	 * @param optionalCriteria Optional criteria. Map key represents property name and map value represents criteria. Each entity must match at least one of given criteria.
 	 */
 	public Page(Integer offset, Integer limit, Identifiable<?> last, Boolean reversed, LinkedHashMap<String, Boolean> ordering, Map<String, Object> requiredCriteria, Map<String, Object> optionalCriteria) {
+		this(offset, limit, last, reversed, null, ordering, requiredCriteria, optionalCriteria);
+	}
+
+	/**
+	 * Creates a new Page whereby value based paging will be performed from the given cursor on. Unlike with a last entity, this
+	 * does not require an offset, but value based paging must be applicable, else an exception will be thrown while getting the page.
+	 * @param offset Zero-based offset of the page. May not be negative. Defaults to 0. This is only informative when cursor is not <code>null</code>.
+	 * @param limit Maximum amount of records to be matched. May not be less than 1. Defaults to {@link Integer#MAX_VALUE}.
+	 * @param cursor Cursor to continue from, as obtained from {@link CursoredResultList}. When not <code>null</code>, then value based paging will be performed.
+	 * @param ordering Ordering of results. Map key represents property name and map value represents whether to sort ascending. Defaults to <code>{"id",false}</code>.
+	 * @param requiredCriteria Required criteria. Map key represents property name and map value represents criteria. Each entity must match all of given criteria.
+	 * @param optionalCriteria Optional criteria. Map key represents property name and map value represents criteria. Each entity must match at least one of given criteria.
+	 */
+	public Page(Integer offset, Integer limit, Cursor cursor, LinkedHashMap<String, Boolean> ordering, Map<String, Object> requiredCriteria, Map<String, Object> optionalCriteria) {
+		this(offset, limit, null, null, cursor, ordering, requiredCriteria, optionalCriteria);
+	}
+
+	private Page(Integer offset, Integer limit, Identifiable<?> last, Boolean reversed, Cursor cursor, LinkedHashMap<String, Boolean> ordering, Map<String, Object> requiredCriteria, Map<String, Object> optionalCriteria) {
 		this.offset = validateIntegerArgument("offset", offset, 0, 0);
 		this.limit = validateIntegerArgument("limit", limit, 1, MAX_VALUE);
 		this.last = last;
-		this.reversed = (last != null) && (reversed == TRUE);
-		this.ordering = !isEmpty(ordering) ? unmodifiableMap(ordering) : singletonMap(ID, false);
-		this.requiredCriteria = requiredCriteria != null ? unmodifiableMap(requiredCriteria) : emptyMap();
-		this.optionalCriteria = optionalCriteria != null ? unmodifiableMap(optionalCriteria) : emptyMap();
+		this.cursor = cursor;
+		this.reversed = (last != null) ? (reversed == TRUE) : (cursor != null && cursor.isReversed());
+		this.ordering = !isEmpty(ordering) ? unmodifiableMap(new LinkedHashMap<>(ordering)) : singletonMap(ID, false);
+		this.requiredCriteria = !isEmpty(requiredCriteria) ? unmodifiableMap(new LinkedHashMap<>(requiredCriteria)) : emptyMap();
+		this.optionalCriteria = !isEmpty(optionalCriteria) ? unmodifiableMap(new LinkedHashMap<>(optionalCriteria)) : emptyMap();
+		this.hashCode = Objects.hash(Page.class, this.offset, this.limit, this.last, this.reversed, this.cursor, this.ordering, this.requiredCriteria, this.optionalCriteria);
 	}
 
 	private static int validateIntegerArgument(String argumentName, Integer argumentValue, int minValue, int defaultValue) {
@@ -132,9 +177,18 @@ public final class Page { // This class MAY NOT be mutable!
 		return last;
 	}
 
+	/**
+	 * Returns the cursor to continue from, if any.
+	 * If not <code>null</code>, then value based paging will be performed.
+	 * @return The cursor to continue from, if any.
+	 */
+	public Cursor getCursor() {
+		return cursor;
+	}
+
 	/**
 	 * Returns whether the value based paging is reversed.
-	 * This is only used when {@link #getLast()} is not <code>null</code>.
+	 * This is only used when {@link #getLast()} or {@link #getCursor()} is not <code>null</code>.
 	 * @return Whether the value based paging is reversed.
 	 */
 	public boolean isReversed() {
@@ -168,6 +222,9 @@ public final class Page { // This class MAY NOT be mutable!
 
 	// Object overrides -----------------------------------------------------------------------------------------------
 
+	/**
+	 * Unlike {@link Map#equals(Object)}, the order of the ordering is significant here.
+	 */
 	@Override
 	public boolean equals(Object object) {
 		if (!(object instanceof Page)) {
@@ -180,30 +237,150 @@ public final class Page { // This class MAY NOT be mutable!
 
 		Page other = (Page) object;
 
-		return Objects.equals(offset, other.offset)
+		return hashCode == other.hashCode
+			&& Objects.equals(offset, other.offset)
 			&& Objects.equals(limit, other.limit)
 			&& Objects.equals(last, other.last)
 			&& Objects.equals(reversed, other.reversed)
-			&& Objects.equals(ordering, other.ordering)
+			&& Objects.equals(cursor, other.cursor)
+			&& Objects.equals(new ArrayList<>(ordering.entrySet()), new ArrayList<>(other.ordering.entrySet()))
 			&& Objects.equals(requiredCriteria, other.requiredCriteria)
 			&& Objects.equals(optionalCriteria, other.optionalCriteria);
 	}
 
+	/**
+	 * Returns the hash code as computed during construction.
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(Page.class, offset, limit, last, reversed, ordering, requiredCriteria, optionalCriteria);
+		return hashCode;
 	}
 
+	/**
+	 * Returns the string representation whereby the criteria are sorted by property name. This is computed only once.
+	 */
 	@Override
 	public String toString() {
-		return new StringBuilder("Page[")
-			.append(offset).append(",")
-			.append(limit).append(",")
-			.append(last).append(",")
-			.append(reversed).append(",")
-			.append(ordering).append(",")
-			.append(new TreeMap<>(requiredCriteria)).append(",")
-			.append(new TreeMap<>(optionalCriteria)).append("]").toString();
+		if (string == null) {
+			string = new StringBuilder("Page[")
+				.append(offset).append(",")
+				.append(limit).append(",")
+				.append(last).append(",")
+				.append(reversed).append(",")
+				.append(cursor).append(",")
+				.append(ordering).append(",")
+				.append(new TreeMap<>(requiredCriteria)).append(",")
+				.append(new TreeMap<>(optionalCriteria)).append("]").toString();
+		}
+
+		return string;
+	}
+
+	/**
+	 * Returns a compact and URL-safe key representing this page, suitable for external caches which are shared between
+	 * multiple applications or application servers. This is the Base64 encoded SHA-256 digest of an encoding of all
+	 * properties wherein each value is tagged with its type and prefixed with its length, and wherein criteria, entities,
+	 * maps, collections and arrays are encoded element by element. Equal pages thus produce equal keys, provided that the
+	 * remaining criteria values have a stable {@link Object#toString()}, like strings, numbers and dates.
+	 * @return A compact and URL-safe key representing this page.
+	 */
+	public String toCacheKey() {
+		StringBuilder key = new StringBuilder();
+		appendCacheKey(key, asList(offset, limit, last, reversed, cursor, ordering, new TreeMap<>(requiredCriteria), new TreeMap<>(optionalCriteria)));
+
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // Can't happen, every Java platform is required to support SHA-256.
+		}
+	}
+
+	private static void appendCacheKey(StringBuilder key, Object value) {
+		if (value == null) {
+			key.append('N');
+		}
+		else if (value instanceof Criteria) {
+			appendCacheKeyPart(key.append('C'), value.getClass().getName());
+			appendCacheKeyPart(key, getOperator((Criteria<?>) value));
+			appendCacheKey(key, ((Criteria<?>) value).getValue());
+		}
+		else if (value instanceof Identifiable) {
+			appendCacheKeyPart(key.append('I'), value.getClass().getName());
+			appendCacheKey(key, ((Identifiable<?>) value).getId());
+		}
+		else if (value instanceof Map) {
+			appendCacheKeyPart(key.append('M'), String.valueOf(((Map<?, ?>) value).size()));
+
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				appendCacheKey(key, entry.getKey());
+				appendCacheKey(key, entry.getValue());
+			}
+		}
+		else if (value instanceof Iterable) {
+			List<Object> elements = new ArrayList<>();
+			((Iterable<?>) value).forEach(elements::add);
+			appendCacheKeyPart(key.append('L'), String.valueOf(elements.size()));
+			elements.forEach(element -> appendCacheKey(key, element));
+		}
+		else if (value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			appendCacheKeyPart(key.append('A'), value.getClass().getComponentType().getName());
+			appendCacheKeyPart(key, String.valueOf(length));
+
+			for (int i = 0; i < length; i++) {
+				appendCacheKey(key, Array.get(value, i));
+			}
+		}
+		else {
+			appendCacheKeyPart(key.append('V'), value.getClass().getName());
+			appendCacheKeyPart(key, (value instanceof Enum) ? ((Enum<?>) value).name() : (value instanceof Date) ? String.valueOf(((Date) value).getTime()) : value.toString());
+		}
+	}
+
+	private static void appendCacheKeyPart(StringBuilder key, String part) {
+		key.append(part.length()).append(':').append(part);
+	}
+
+	private static String getOperator(Criteria<?> criteria) {
+		if (criteria instanceof Order) {
+			Order<?> order = (Order<?>) criteria;
+			return order.lessThan() ? "<" : order.lessThanOrEqualTo() ? "<=" : order.greaterThanOrEqualTo() ? ">=" : ">";
+		}
+		else if (criteria instanceof Like) {
+			Like like = (Like) criteria;
+			return (like.startsWith() ? "" : "%") + "_" + (like.endsWith() ? "" : "%");
+		}
+		else {
+			return "";
+		}
+	}
+
+
+	// Interning ------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the canonical instance of given page. When an equal page has been interned before and is still in use,
+	 * then that instance is returned, else the given page is interned and returned. This is useful for pages which are
+	 * frequently rebuilt with the same shape, such as those of a search form or a REST resource, so that they share a
+	 * single instance whose hash code and string representation are already computed, and whose equality is checked by
+	 * identity. Interned pages are weakly referenced, so they are garbage collected once they are not used anymore.
+	 * @param page The page to be interned.
+	 * @return The canonical instance of given page.
+	 */
+	public static Page intern(Page page) {
+		synchronized (INTERNED_PAGES) {
+			WeakReference<Page> reference = INTERNED_PAGES.get(page);
+			Page interned = (reference != null) ? reference.get() : null;
+
+			if (interned == null) {
+				INTERNED_PAGES.put(page, new WeakReference<>(page));
+				interned = page;
+			}
+
+			return interned;
+		}
 	}
 
 
@@ -243,6 +420,7 @@ public final class Page { // This class MAY NOT be mutable!
 
 		private Integer offset;
 		private Integer limit;
+		private Cursor cursor;
 		private LinkedHashMap<String, Boolean> ordering = new LinkedHashMap<>(2);
 		private Map<String, Object> requiredCriteria;
 		private Map<String, Object> optionalCriteria;
@@ -264,6 +442,21 @@ public final class Page { // This class MAY NOT be mutable!
 			return this;
 		}
 
+		/**
+		 * Set the cursor to continue from, as obtained from {@link CursoredResultList}.
+		 * @param cursor The cursor to continue from.
+		 * @throws IllegalStateException When another cursor is already set in this builder.
+		 * @return This builder.
+		 */
+		public Builder cursor(Cursor cursor) {
+			if (this.cursor != null) {
+				throw new IllegalStateException("Cursor is already set");
+			}
+
+			this.cursor = cursor;
+			return this;
+		}
+
 		/**
 		 * Set the ordering. This can be invoked multiple times and will be remembered in same order. The default ordering is <code>{"id",false}</code>.
 		 * @param field The field.
@@ -312,7 +505,7 @@ public final class Page { // This class MAY NOT be mutable!
 		 * @return The built page.
 		 */
 		public Page build() {
-			return new Page(offset, limit, ordering, requiredCriteria, optionalCriteria);
+			return new Page(offset, limit, cursor, ordering, requiredCriteria, optionalCriteria);
 		}
 
 	}
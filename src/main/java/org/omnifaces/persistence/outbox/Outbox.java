@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.outbox;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.omnifaces.persistence.JNDI.getActiveTransactionSynchronizationRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.CDI;
+import javax.sql.DataSource;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.omnifaces.persistence.listener.BaseEntityListener;
+import org.omnifaces.persistence.model.BaseEntity;
+import org.omnifaces.persistence.model.Versioned;
+import org.omnifaces.persistence.outbox.OutboxRecord.Operation;
+import org.omnifaces.persistence.service.BaseEntityService;
+
+/**
+ * <p>
+ * Transactional outbox for entity changes. When a CDI managed bean extending this class is available, then
+ * {@link BaseEntityListener} will for every created, updated and deleted entity write an {@link OutboxRecord} into the outbox
+ * table in the same transaction as the change itself. The records are collected during the transaction and inserted as one
+ * JDBC batch right before it completes. Bulk statements via {@link BaseEntityService} write one record for the whole entity type,
+ * see {@link #writeBulk(Class, Operation)}. An {@link OutboxRelay} can then publish them to {@link OutboxSink}s, outside of the
+ * write path.
+ * <p>
+ * The data source must be the JTA data source of the persistence unit, or at least participate in the same JTA transaction,
+ * otherwise the records are not written atomically with the changes. The outbox table must look like this (adjust the ID
+ * column to the identity syntax of your database):
+ * <pre>
+ * CREATE TABLE outbox (
+ *     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+ *     created TIMESTAMP NOT NULL,
+ *     entity_type VARCHAR(255) NOT NULL,
+ *     entity_id VARCHAR(255) NOT NULL,
+ *     operation VARCHAR(7) NOT NULL,
+ *     entity_version BIGINT,
+ *     changed_fields VARCHAR(4000)
+ * )
+ * </pre>
+ * <p>
+ * Usage example:
+ * <pre>
+ * &#64;ApplicationScoped
+ * public class YourOutbox extends Outbox {
+ *
+ *     &#64;Resource(lookup = "java:app/YourDataSource")
+ *     private DataSource dataSource;
+ *
+ *     &#64;Override
+ *     protected DataSource getDataSource() {
+ *         return dataSource;
+ *     }
+ * }
+ * </pre>
+ *
+ * @see OutboxRecord
+ * @see OutboxRelay
+ */
+public abstract class Outbox {
+
+	/** The default outbox table name: {@value}. */
+	public static final String DEFAULT_TABLE_NAME = "outbox";
+
+	private static final String INSERT_RECORD =
+		"INSERT INTO %s (created, entity_type, entity_id, operation, entity_version, changed_fields) VALUES (?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * Returns the data source of the outbox table.
+	 * @return The data source of the outbox table.
+	 */
+	protected abstract DataSource getDataSource();
+
+	/**
+	 * Returns the name of the outbox table. The default is {@value #DEFAULT_TABLE_NAME}.
+	 * @return The name of the outbox table.
+	 */
+	protected String getTableName() {
+		return DEFAULT_TABLE_NAME;
+	}
+
+	/**
+	 * Returns whether changes of the given entity type should be written to the outbox. The default returns <code>true</code>.
+	 * @param entityType The entity type.
+	 * @return Whether changes of the given entity type should be written to the outbox.
+	 */
+	protected boolean accepts(Class<?> entityType) {
+		return true;
+	}
+
+	/**
+	 * Returns the names of the fields of the given entity which are changed by the current update. JPA does not offer a
+	 * portable way to obtain this, so the default returns an empty set, which results in <code>null</code> in the outbox
+	 * table, meaning "unknown". You can override this in order to consult for example the JPA provider's dirty checking.
+	 * @param entity The updated entity.
+	 * @return The names of the changed fields.
+	 */
+	protected Set<String> getChangedFields(BaseEntity<?> entity) {
+		return emptySet();
+	}
+
+	/**
+	 * Write an outbox record for the given entity and operation. During an active transaction, the record will be inserted
+	 * right before the transaction completes, else immediately. This is invoked by {@link BaseEntityListener}.
+	 * @param entity The created, updated or deleted entity.
+	 * @param operation The operation.
+	 */
+	public void write(BaseEntity<?> entity, Operation operation) {
+		if (!accepts(entity.getClass())) {
+			return;
+		}
+
+		Set<String> changedFields = (operation == Operation.UPDATED) ? getChangedFields(entity) : emptySet();
+		write(new OutboxRecord(null, Instant.now(), entity.getClass().getName(), String.valueOf(entity.getId()), operation,
+			(entity instanceof Versioned) ? ((Versioned) entity).getVersion() : null, changedFields.isEmpty() ? null : String.join(",", changedFields)));
+	}
+
+	/**
+	 * Write an outbox record for a bulk statement which updated or deleted an unknown set of entities of the given type. Its
+	 * entity ID will be {@value OutboxRecord#ALL_ENTITY_IDS}, so the sinks know that they have to reload all entities of the
+	 * given type. This is invoked by {@link BaseEntityService} after a bulk update via JPQL.
+	 * @param entityType The entity type.
+	 * @param operation The operation.
+	 */
+	public void writeBulk(Class<?> entityType, Operation operation) {
+		if (accepts(entityType)) {
+			write(new OutboxRecord(null, Instant.now(), entityType.getName(), OutboxRecord.ALL_ENTITY_IDS, operation, null, null));
+		}
+	}
+
+	private void write(OutboxRecord record) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			insert(singletonList(record));
+			return;
+		}
+
+		PendingRecords pendingRecords = (PendingRecords) registry.getResource(Outbox.class);
+
+		if (pendingRecords == null) {
+			PendingRecords newPendingRecords = new PendingRecords();
+			registry.putResource(Outbox.class, newPendingRecords);
+			registry.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					newPendingRecords.inserted = true;
+					insert(newPendingRecords.records);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					newPendingRecords.records.clear();
+				}
+			});
+			pendingRecords = newPendingRecords;
+		}
+
+		if (pendingRecords.inserted) {
+			insert(singletonList(record)); // E.g. a flush by another synchronization after ours; the transaction is still active.
+		}
+		else {
+			pendingRecords.records.add(record);
+		}
+	}
+
+	private void insert(List<OutboxRecord> records) {
+		if (records.isEmpty()) {
+			return;
+		}
+
+		try (Connection connection = getDataSource().getConnection(); PreparedStatement statement = connection.prepareStatement(format(INSERT_RECORD, getTableName()))) {
+			for (OutboxRecord record : records) {
+				statement.setTimestamp(1, Timestamp.from(record.getTimestamp()));
+				statement.setString(2, record.getEntityType());
+				statement.setString(3, record.getEntityId());
+				statement.setString(4, record.getOperation().name());
+
+				if (record.getEntityVersion() != null) {
+					statement.setLong(5, record.getEntityVersion());
+				}
+				else {
+					statement.setNull(5, Types.BIGINT);
+				}
+
+				statement.setString(6, record.getChangedFields());
+				statement.addBatch();
+			}
+
+			statement.executeBatch();
+		}
+		catch (SQLException e) {
+			throw new IllegalStateException(e); // This will roll back the transaction, which is intended.
+		}
+	}
+
+	/**
+	 * Returns the CDI managed bean extending this class, if any.
+	 * @return The CDI managed bean extending this class, if any.
+	 */
+	public static Optional<Outbox> getCurrentInstance() {
+		Instance<Outbox> instance = CDI.current().select(Outbox.class);
+		return instance.isUnsatisfied() ? Optional.empty() : Optional.of(instance.get());
+	}
+
+	private static final class PendingRecords {
+		private final List<OutboxRecord> records = new ArrayList<>();
+		private boolean inserted;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.outbox;
+
+import static java.lang.String.format;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import org.omnifaces.persistence.event.Created;
+import org.omnifaces.persistence.event.Deleted;
+import org.omnifaces.persistence.event.Updated;
+
+/**
+ * <p>
+ * An immutable change record as written by {@link Outbox} and published by {@link OutboxRelay}.
+ *
+ * @see Outbox
+ * @see OutboxRelay
+ */
+public final class OutboxRecord implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The entity ID of a record written for a bulk statement which affected an unknown set of entities: {@value}. */
+	public static final String ALL_ENTITY_IDS = "*";
+
+	/**
+	 * The operation of the change.
+	 */
+	public enum Operation {
+
+		/** The entity is created. This corresponds to {@link Created}. */
+		CREATED,
+
+		/** The entity is updated. This corresponds to {@link Updated}. */
+		UPDATED,
+
+		/** The entity is deleted. This corresponds to {@link Deleted}. */
+		DELETED;
+	}
+
+	private final Long id;
+	private final Instant timestamp;
+	private final String entityType;
+	private final String entityId;
+	private final Operation operation;
+	private final Long entityVersion;
+	private final String changedFields;
+
+	/**
+	 * Creates a new outbox record.
+	 * @param id The ID of the record in the outbox table, or <code>null</code> if it's not inserted yet.
+	 * @param timestamp The moment the change was flushed.
+	 * @param entityType The fully qualified class name of the entity.
+	 * @param entityId The ID of the entity as string.
+	 * @param operation The operation of the change.
+	 * @param entityVersion The version of the entity, if it's versioned.
+	 * @param changedFields The comma separated names of the changed fields, if known.
+	 */
+	public OutboxRecord(Long id, Instant timestamp, String entityType, String entityId, Operation operation, Long entityVersion, String changedFields) {
+		this.id = id;
+		this.timestamp = timestamp;
+		this.entityType = entityType;
+		this.entityId = entityId;
+		this.operation = operation;
+		this.entityVersion = entityVersion;
+		this.changedFields = changedFields;
+	}
+
+	/**
+	 * Returns the ID of the record in the outbox table, or <code>null</code> if it's not inserted yet.
+	 * @return The ID of the record in the outbox table, or <code>null</code> if it's not inserted yet.
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the moment the change was flushed.
+	 * @return The moment the change was flushed.
+	 */
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Returns the fully qualified class name of the entity.
+	 * @return The fully qualified class name of the entity.
+	 */
+	public String getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * Returns the ID of the entity as string, or {@value #ALL_ENTITY_IDS} when the record was written for a bulk statement.
+	 * @return The ID of the entity as string.
+	 */
+	public String getEntityId() {
+		return entityId;
+	}
+
+	/**
+	 * Returns the operation of the change.
+	 * @return The operation of the change.
+	 */
+	public Operation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Returns the version of the entity, or <code>null</code> if it's not versioned.
+	 * @return The version of the entity, or <code>null</code> if it's not versioned.
+	 */
+	public Long getEntityVersion() {
+		return entityVersion;
+	}
+
+	/**
+	 * Returns the comma separated names of the changed fields, or <code>null</code> if unknown.
+	 * @return The comma separated names of the changed fields, or <code>null</code> if unknown.
+	 */
+	public String getChangedFields() {
+		return changedFields;
+	}
+
+	@Override
+	public String toString() {
+		return format("OutboxRecord[%s, %s, %s %s[%s] v%s %s]", id, timestamp, operation, entityType, entityId, entityVersion, changedFields);
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.outbox;
+
+import static java.lang.String.format;
+import static java.util.logging.Level.WARNING;
+import static org.omnifaces.utils.Lang.startsWithOneOf;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.omnifaces.persistence.outbox.OutboxRecord.Operation;
+
+/**
+ * <p>
+ * Publishes the {@link OutboxRecord}s written by {@link Outbox} to {@link OutboxSink}s with at-least-once delivery. The records
+ * are claimed in batches in order of their ID by locking their rows, published to all sinks, and only then deleted from the
+ * outbox table, all in one database transaction. So multiple relays, e.g. one per cluster node, can safely run concurrently,
+ * see also {@link #getLockClause(String)}. When any sink fails, the claim is released and the batch will be published again
+ * on the next run.
+ * <p>
+ * This class does not schedule itself. Usage example:
+ * <pre>
+ * &#64;Singleton
+ * &#64;Startup
+ * public class YourOutboxRelay extends OutboxRelay {
+ *
+ *     &#64;Resource(lookup = "java:app/YourDataSource")
+ *     private DataSource dataSource;
+ *
+ *     &#64;Inject
+ *     private YourSearchIndexSink searchIndexSink;
+ *
+ *     &#64;Schedule(hour = "*", minute = "*", second = "*&#47;5", persistent = false)
+ *     &#64;TransactionAttribute(NOT_SUPPORTED) // So that each batch is committed on its own.
+ *     public void poll() {
+ *         relay();
+ *     }
+ *
+ *     &#64;Override
+ *     protected DataSource getDataSource() {
+ *         return dataSource;
+ *     }
+ *
+ *     &#64;Override
+ *     protected List&lt;OutboxSink&gt; getSinks() {
+ *         return Arrays.asList(searchIndexSink);
+ *     }
+ * }
+ * </pre>
+ *
+ * @see Outbox
+ * @see OutboxSink
+ */
+public abstract class OutboxRelay {
+
+	private static final Logger logger = Logger.getLogger(OutboxRelay.class.getName());
+
+	private static final String SELECT_RECORDS =
+		"SELECT id, created, entity_type, entity_id, operation, entity_version, changed_fields FROM %s ORDER BY id %s";
+	private static final String LOCK_CLAUSE =
+		"FOR UPDATE";
+	private static final String LOCK_CLAUSE_SKIP_LOCKED =
+		"FOR UPDATE SKIP LOCKED";
+	private static final String DELETE_RECORD =
+		"DELETE FROM %s WHERE id = ?";
+	private static final String LOG_WARNING_PUBLISH_FAILED =
+		"Cannot publish %d outbox records to %s, they will be published again on next run.";
+
+	private static final int DEFAULT_BATCH_SIZE = 100;
+
+	private volatile String lockClause;
+
+	/**
+	 * Returns the data source of the outbox table.
+	 * @return The data source of the outbox table.
+	 */
+	protected abstract DataSource getDataSource();
+
+	/**
+	 * Returns the sinks to publish the outbox records to.
+	 * @return The sinks to publish the outbox records to.
+	 */
+	protected abstract List<OutboxSink> getSinks();
+
+	/**
+	 * Returns the name of the outbox table. The default is {@value Outbox#DEFAULT_TABLE_NAME}.
+	 * @return The name of the outbox table.
+	 */
+	protected String getTableName() {
+		return Outbox.DEFAULT_TABLE_NAME;
+	}
+
+	/**
+	 * Returns the maximum amount of outbox records published at once. The default is 100.
+	 * @return The maximum amount of outbox records published at once.
+	 */
+	protected int getBatchSize() {
+		return DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * Returns the row locking clause appended to the query selecting the next batch of outbox records. It must lock the selected
+	 * rows until the batch is deleted, so that concurrently running relays, e.g. one per cluster node, never publish the same
+	 * records. The default returns <code>FOR UPDATE SKIP LOCKED</code> on PostgreSQL, MySQL, MariaDB and Oracle, so that
+	 * concurrent relays claim different batches, and <code>FOR UPDATE</code> on any other database, so that concurrent relays
+	 * wait for each other.
+	 * @param databaseProductName The database product name as per {@link DatabaseMetaData#getDatabaseProductName()}.
+	 * @return The row locking clause appended to the query selecting the next batch of outbox records.
+	 */
+	protected String getLockClause(String databaseProductName) {
+		return startsWithOneOf(databaseProductName.toUpperCase(), "POSTGRES", "MYSQL", "MARIA", "ORACLE") ? LOCK_CLAUSE_SKIP_LOCKED : LOCK_CLAUSE;
+	}
+
+	/**
+	 * Publish all outbox records, batch by batch, until the outbox table is empty or a sink fails. Each batch is claimed, published
+	 * and deleted in a single database transaction. When the connection of the data source is in auto-commit mode, this method will
+	 * manage that transaction itself, else the connection is assumed to participate in a transaction managed by the container,
+	 * and the claimed records will remain locked until that transaction completes.
+	 * @return The amount of published outbox records.
+	 */
+	public int relay() {
+		int published = 0;
+
+		try {
+			for (int size = relayBatch(); size > 0; size = relayBatch()) {
+				published += size;
+			}
+		}
+		catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+
+		return published;
+	}
+
+	/**
+	 * Returns the amount of published records, or 0 if there are none, or -1 if a sink failed.
+	 */
+	private int relayBatch() throws SQLException {
+		try (Connection connection = getDataSource().getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+
+			if (autoCommit) {
+				connection.setAutoCommit(false);
+			}
+
+			try {
+				List<OutboxRecord> batch = claim(connection);
+				boolean published = !batch.isEmpty() && publish(batch);
+
+				if (published) {
+					delete(connection, batch);
+				}
+
+				if (autoCommit) {
+					if (published) {
+						connection.commit();
+					}
+					else {
+						connection.rollback(); // Releases the claim.
+					}
+				}
+
+				return batch.isEmpty() ? 0 : published ? batch.size() : -1;
+			}
+			catch (SQLException | RuntimeException e) {
+				if (autoCommit) {
+					connection.rollback();
+				}
+
+				throw e;
+			}
+			finally {
+				if (autoCommit) {
+					connection.setAutoCommit(true);
+				}
+			}
+		}
+	}
+
+	private List<OutboxRecord> claim(Connection connection) throws SQLException {
+		if (lockClause == null) {
+			lockClause = getLockClause(connection.getMetaData().getDatabaseProductName());
+		}
+
+		List<OutboxRecord> records = new ArrayList<>();
+
+		try (PreparedStatement statement = connection.prepareStatement(format(SELECT_RECORDS, getTableName(), lockClause))) {
+			statement.setMaxRows(getBatchSize());
+
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					long version = resultSet.getLong(6);
+					Long entityVersion = resultSet.wasNull() ? null : version;
+					records.add(new OutboxRecord(
+						resultSet.getLong(1),
+						resultSet.getTimestamp(2).toInstant(),
+						resultSet.getString(3),
+						resultSet.getString(4),
+						Operation.valueOf(resultSet.getString(5)),
+						entityVersion,
+						resultSet.getString(7)));
+				}
+			}
+		}
+
+		return records;
+	}
+
+	private boolean publish(List<OutboxRecord> batch) {
+		for (OutboxSink sink : getSinks()) {
+			try {
+				sink.publish(batch);
+			}
+			catch (Exception e) {
+				logger.log(WARNING, e, () -> format(LOG_WARNING_PUBLISH_FAILED, batch.size(), sink));
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void delete(Connection connection, List<OutboxRecord> records) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(format(DELETE_RECORD, getTableName()))) {
+			for (OutboxRecord record : records) {
+				statement.setLong(1, record.getId());
+				statement.addBatch();
+			}
+
+			statement.executeBatch();
+		}
+	}
+
+}
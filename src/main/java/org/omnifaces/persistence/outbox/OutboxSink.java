@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.outbox;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A destination of {@link OutboxRecord}s as published by {@link OutboxRelay}, such as a message broker, a cache or a search
+ * index. As delivery is at-least-once, implementations must be idempotent: the same records may be published again when a
+ * previous attempt failed halfway, or when the relay could not remove them from the outbox table afterwards.
+ *
+ * @see OutboxRelay
+ */
+@FunctionalInterface
+public interface OutboxSink {
+
+	/**
+	 * Publish the given records, in the order they were written.
+	 * @param records The records to publish.
+	 * @throws Exception When publishing fails. The records will then remain in the outbox table and be published again.
+	 */
+	void publish(List<OutboxRecord> records) throws Exception;
+
+}
@@ -14,15 +14,22 @@ package org.omnifaces.persistence.service;
 
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.reverse;
-import static java.util.Collections.unmodifiableSet;
+import static java.util.Collections.reverseOrder;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.FINER;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.WARNING;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
@@ -30,6 +37,7 @@ import static java.util.stream.IntStream.range;
 import static javax.persistence.CacheRetrieveMode.BYPASS;
 import static javax.persistence.metamodel.PluralAttribute.CollectionType.MAP;
 import static org.omnifaces.persistence.Database.POSTGRESQL;
+import static org.omnifaces.persistence.JNDI.getManagedExecutorService;
 import static org.omnifaces.persistence.JPA.QUERY_HINT_CACHE_RETRIEVE_MODE;
 import static org.omnifaces.persistence.JPA.QUERY_HINT_CACHE_STORE_MODE;
 import static org.omnifaces.persistence.JPA.QUERY_HINT_LOAD_GRAPH;
@@ -54,6 +62,7 @@ import static org.omnifaces.utils.reflect.Reflections.invokeSetter;
 import static org.omnifaces.utils.reflect.Reflections.listAnnotatedEnumFields;
 import static org.omnifaces.utils.reflect.Reflections.listAnnotatedFields;
 import static org.omnifaces.utils.reflect.Reflections.map;
+import static org.omnifaces.utils.stream.Collectors.forEachBatch;
 import static org.omnifaces.utils.stream.Streams.stream;
 
 import java.io.Serializable;
@@ -62,8 +71,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -71,22 +81,30 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
 import javax.enterprise.inject.spi.CDI;
 import javax.naming.InitialContext;
+import javax.persistence.Cache;
 import javax.persistence.CacheRetrieveMode;
 import javax.persistence.CacheStoreMode;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
@@ -97,13 +115,13 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.Table;
 import javax.persistence.TypedQuery;
 import javax.persistence.ValidationMode;
 import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
-import javax.persistence.criteria.FetchParent;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.ParameterExpression;
@@ -112,8 +130,8 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.Attribute;
-import javax.persistence.metamodel.Bindable;
 import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
 import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.PluralAttribute.CollectionType;
 import javax.validation.ConstraintViolation;
@@ -122,27 +140,42 @@ import javax.validation.Validator;
 
 import org.omnifaces.persistence.Database;
 import org.omnifaces.persistence.Provider;
+import org.omnifaces.persistence.criteria.Between;
 import org.omnifaces.persistence.criteria.Bool;
 import org.omnifaces.persistence.criteria.Criteria;
 import org.omnifaces.persistence.criteria.Criteria.ParameterBuilder;
 import org.omnifaces.persistence.criteria.Enumerated;
 import org.omnifaces.persistence.criteria.IgnoreCase;
+import org.omnifaces.persistence.criteria.Like;
 import org.omnifaces.persistence.criteria.Not;
 import org.omnifaces.persistence.criteria.Numeric;
+import org.omnifaces.persistence.event.Deleted;
+import org.omnifaces.persistence.event.Updated;
 import org.omnifaces.persistence.exception.IllegalEntityStateException;
 import org.omnifaces.persistence.exception.NonDeletableEntityException;
 import org.omnifaces.persistence.exception.NonSoftDeletableEntityException;
+import org.omnifaces.persistence.listener.BaseEntityListener;
+import org.omnifaces.persistence.metrics.EntityServiceMetrics;
+import org.omnifaces.persistence.metrics.SimpleEntityServiceMetrics;
 import org.omnifaces.persistence.model.BaseEntity;
 import org.omnifaces.persistence.model.EnumMapping;
 import org.omnifaces.persistence.model.GeneratedIdEntity;
 import org.omnifaces.persistence.model.NonDeletable;
 import org.omnifaces.persistence.model.SoftDeletable;
+import org.omnifaces.persistence.model.Timestamped;
 import org.omnifaces.persistence.model.TimestampedBaseEntity;
 import org.omnifaces.persistence.model.TimestampedEntity;
 import org.omnifaces.persistence.model.VersionedBaseEntity;
+import org.omnifaces.persistence.model.Versioned;
 import org.omnifaces.persistence.model.VersionedEntity;
+import org.omnifaces.persistence.model.dto.CountStrategy;
+import org.omnifaces.persistence.model.dto.Cursor;
+import org.omnifaces.persistence.model.dto.CursoredResultList;
 import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.outbox.Outbox;
+import org.omnifaces.persistence.outbox.OutboxRecord.Operation;
 import org.omnifaces.utils.collection.PartialResultList;
+import org.omnifaces.utils.data.Range;
 import org.omnifaces.utils.reflect.Getter;
 
 /**
@@ -178,6 +211,13 @@ import org.omnifaces.utils.reflect.Getter;
  * <code>CALLBACK</code> (and thus not to its default of <code>AUTO</code>).
  * </ul>
  *
+ * <h3>Metrics</h3>
+ * <p>
+ * {@link BaseEntityService} can report the latency and row count of its hot path operations, the time spent in the entity
+ * and count queries of {@link #getPage(Page, boolean)}, the time spent in building its criteria restrictions, and the
+ * persistence context size to an {@link EntityServiceMetrics} as returned by {@link #getMetrics()}. This is disabled by
+ * default. The {@link SimpleEntityServiceMetrics} keeps them in memory without further dependencies.
+ *
  * @param <I> The generic ID type.
  * @param <E> The generic base entity type.
  * @see BaseEntity
@@ -195,14 +235,24 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	private static final String LOG_FINE_COMPUTED_TYPE_MAPPING = "Computed type mapping for %s: <%s, %s>";
 	private static final String LOG_FINE_COMPUTED_GENERATED_ID_MAPPING = "Computed generated ID mapping for %s: %s";
 	private static final String LOG_FINE_COMPUTED_SOFT_DELETE_MAPPING = "Computed soft delete mapping for %s: %s";
-	private static final String LOG_FINE_COMPUTED_ELEMENTCOLLECTION_MAPPING = "Computed @ElementCollection mapping for %s: %s";
-	private static final String LOG_FINE_COMPUTED_MANY_OR_ONE_TO_ONE_MAPPING = "Computed @ManyToOne/@OneToOne mapping for %s: %s";
-	private static final String LOG_FINE_COMPUTED_ONE_TO_MANY_MAPPING = "Computed @OneToMany mapping for %s: %s";
+	private static final String LOG_FINE_COMPUTED_ENTITY_MAPPINGS = "Computed @ElementCollection, @ManyToOne/@OneToOne, @OneToMany and bulk deletable mappings for %s: %s";
+	private static final String LOG_INFO_PRECOMPUTED_ENTITY_MAPPINGS = "Precomputed entity mappings for %d entities in %d ms";
 	private static final String LOG_INFO_COMPUTED_MODIFIED_ENUM_MAPPING = "Enum mapping for enum %s: was %smodified";
 	private static final String LOG_INFO_COMPUTED_MODIFIED_ENUM_MAPPING_TABLE = "Enum mapping table for enum %s: was %smodified";
+	private static final String LOG_FINE_LOADED_ENTITY_SNAPSHOT = "Loaded entity snapshot for %s: %s";
+	private static final String LOG_FINE_UNAVAILABLE_CURSOR = "Cannot build cursor for %s with ordering %s, skipping!";
+	private static final String LOG_FINE_UNAVAILABLE_ESTIMATED_COUNT = "Cannot estimate row count of table %s on %s, falling back to exact count.";
 	private static final String LOG_WARNING_ILLEGAL_CRITERIA_VALUE = "Cannot parse predicate for %s(%s) = %s(%s), skipping!";
 	private static final String LOG_SEVERE_CONSTRAINT_VIOLATION = "javax.validation.ConstraintViolation: @%s %s#%s %s on %s";
 
+	private static final int MAX_IN_LIST_SIZE = 1000; // Oracle doesn't support more than 1000 items in an IN list.
+	private static final int DEFAULT_STREAM_FETCH_SIZE = 100;
+	private static final int MAX_PAGE_QUERY_TEMPLATES = 1000; // Fetch fields, ordering and criteria shapes are unbounded.
+	private static final int MAX_CACHED_COUNTS = 1000; // Criteria values are part of the cache key, so it must be bounded.
+	private static final long DEFAULT_COUNT_CACHE_TIME_TO_LIVE = MINUTES.toMillis(1);
+	private static final int MAX_CACHED_PAGE_RESULTS = 1000; // Each distinct page is a cache key and holds a list of entities.
+	private static final long DEFAULT_PAGE_RESULT_CACHE_TIME_TO_LIVE = MINUTES.toMillis(1);
+
 	private static final String ERROR_ILLEGAL_MAPPING =
 		"You must return a getter-path mapping from MappedQueryBuilder";
 	private static final String ERROR_UNSUPPORTED_CRITERIA =
@@ -215,17 +265,29 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		"Sorry, EclipseLink does not support searching in a @OneToMany relationship. Consider using a DTO or a DB view instead.";
 	private static final String ERROR_UNSUPPORTED_ONETOMANY_CRITERIA_OPENJPA =
 		"Sorry, OpenJPA does not support searching in a @OneToMany relationship. Consider using a DTO or a DB view instead.";
+	private static final String ERROR_UNSUPPORTED_CURSOR =
+		"Cursor based paging is not applicable when the result type is a DTO, or when the ordering contains an aggregated field.";
 
 	@SuppressWarnings("rawtypes")
 	private static final Map<Class<? extends BaseEntityService>, Entry<Class<?>, Class<?>>> TYPE_MAPPINGS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends BaseEntity<?>>, Boolean> GENERATED_ID_MAPPINGS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends BaseEntity<?>>, SoftDeleteData> SOFT_DELETE_MAPPINGS = new ConcurrentHashMap<>();
-	private static final Map<Class<? extends BaseEntity<?>>, Set<String>> ELEMENT_COLLECTION_MAPPINGS = new ConcurrentHashMap<>();
-	private static final Map<Class<? extends BaseEntity<?>>, Set<String>> MANY_OR_ONE_TO_ONE_MAPPINGS = new ConcurrentHashMap<>();
-	private static final Map<Class<? extends BaseEntity<?>>, Set<String>> ONE_TO_MANY_MAPPINGS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, EntityMappings> ENTITY_MAPPINGS = new ConcurrentHashMap<>();
+	private static volatile long entityMappingsBuildTime = -1;
 	private static final Map<Class<? extends BaseEntity<?>>, Boolean> CHECKED_ENUM_MAPPINGS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends Enum<?>>, Boolean> MODIFIED_ENUM_MAPPINGS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends Enum<?>>, Boolean> MODIFIED_ENUM_TABLE_MAPPINGS = new ConcurrentHashMap<>();
+	private static final Map<List<Object>, PageQueryTemplate<?>> PAGE_QUERY_TEMPLATES = BoundedLruMap.create(MAX_PAGE_QUERY_TEMPLATES);
+	private static final LongAdder PAGE_QUERY_TEMPLATE_CACHE_HITS = new LongAdder();
+	private static final LongAdder PAGE_QUERY_TEMPLATE_CACHE_MISSES = new LongAdder();
+	private static final Map<List<Object>, Entry<Integer, Long>> CACHED_COUNTS = BoundedLruMap.create(MAX_CACHED_COUNTS);
+	private static final Map<Class<?>, EntitySnapshot<?, ?>> ENTITY_SNAPSHOTS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Long> ENTITY_GENERATIONS = new ConcurrentHashMap<>();
+	private static final LongAdder ENTITY_SNAPSHOT_LOADS = new LongAdder();
+	private static final LongAdder PAGE_RESULT_CACHE_EVICTIONS = new LongAdder();
+	private static final Map<List<Object>, CachedPageResult> CACHED_PAGE_RESULTS = BoundedLruMap.create(MAX_CACHED_PAGE_RESULTS, PAGE_RESULT_CACHE_EVICTIONS::increment);
+	private static final LongAdder PAGE_RESULT_CACHE_HITS = new LongAdder();
+	private static final LongAdder PAGE_RESULT_CACHE_MISSES = new LongAdder();
 
 	private final Class<I> identifierType;
 	private final Class<E> entityType;
@@ -237,6 +299,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	private Set<String> elementCollections;
 	private Set<String> manyOrOneToOnes;
 	private java.util.function.Predicate<String> oneToManys;
+	private boolean bulkDeletable;
+	private boolean baseEntityListenerRegistered;
 	private Validator validator;
 
 	@PersistenceContext
@@ -266,9 +330,12 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	private void initWithEntityManager() {
 		provider = Provider.of(getEntityManager());
 		database = Database.of(getEntityManager());
-		elementCollections = ELEMENT_COLLECTION_MAPPINGS.computeIfAbsent(entityType, this::computeElementCollectionMapping);
-		manyOrOneToOnes = MANY_OR_ONE_TO_ONE_MAPPINGS.computeIfAbsent(entityType, this::computeManyOrOneToOneMapping);
-		oneToManys = field -> ONE_TO_MANY_MAPPINGS.computeIfAbsent(entityType, this::computeOneToManyMapping).stream().anyMatch(oneToMany -> field.startsWith(oneToMany + '.'));
+		EntityMappings entityMappings = ENTITY_MAPPINGS.computeIfAbsent(entityType, type -> computeEntityMappings(getEntityManager().getMetamodel(), provider, type));
+		elementCollections = entityMappings.getElementCollections();
+		manyOrOneToOnes = entityMappings.getManyOrOneToOnes();
+		oneToManys = entityMappings::isOneToManyPath;
+		bulkDeletable = entityMappings.isBulkDeletable();
+		baseEntityListenerRegistered = entityMappings.isBaseEntityListenerRegistered();
 
 		if (getValidationMode(getEntityManager()) == ValidationMode.CALLBACK) {
 			validator = CDI.current().select(Validator.class).get();
@@ -318,43 +385,53 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return true;
 	}
 
-	private Set<String> computeElementCollectionMapping(Class<? extends BaseEntity<?>> entityType) {
-		Set<String> elementCollectionMapping = computeEntityMapping(entityType, "", new HashSet<>(), provider::isElementCollection);
-		logger.log(FINE, () -> format(LOG_FINE_COMPUTED_ELEMENTCOLLECTION_MAPPING, entityType, elementCollectionMapping));
-		return elementCollectionMapping;
-	}
-
-	private Set<String> computeManyOrOneToOneMapping(Class<? extends BaseEntity<?>> entityType) {
-		Set<String> manyOrOneToOneMapping = computeEntityMapping(entityType, "", new HashSet<>(), provider::isManyOrOneToOne);
-		logger.log(FINE, () -> format(LOG_FINE_COMPUTED_MANY_OR_ONE_TO_ONE_MAPPING, entityType, manyOrOneToOneMapping));
-		return manyOrOneToOneMapping;
-	}
-
-	private Set<String> computeOneToManyMapping(Class<? extends BaseEntity<?>> entityType) {
-		Set<String> oneToManyMapping = computeEntityMapping(entityType, "", new HashSet<>(), provider::isOneToMany);
-		logger.log(FINE, () -> format(LOG_FINE_COMPUTED_ONE_TO_MANY_MAPPING, entityType, oneToManyMapping));
-		return oneToManyMapping;
+	private static EntityMappings computeEntityMappings(Metamodel metamodel, Provider provider, Class<?> entityType) {
+		EntityMappings entityMappings = EntityMappings.of(metamodel, provider, entityType);
+		logger.log(FINE, () -> format(LOG_FINE_COMPUTED_ENTITY_MAPPINGS, entityType, entityMappings));
+		return entityMappings;
 	}
 
-	private Set<String> computeEntityMapping(Class<?> type, String basePath, Set<Class<?>> nestedTypes, java.util.function.Predicate<Attribute<?, ?>> attributePredicate) {
-		Set<String> entityMapping = new HashSet<>(2);
-		EntityType<?> entity = getEntityManager().getMetamodel().entity(type);
+	/**
+	 * Computes the entity mappings of all {@link BaseEntity} types in the metamodel of given entity manager factory at once,
+	 * so that the first service injection after deployment does not need to compute them anymore. This is invoked by
+	 * {@link EntityMappingService} during startup.
+	 */
+	static void precomputeEntityMappings(EntityManagerFactory entityManagerFactory) {
+		long start = System.nanoTime();
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		int count = 0;
 
-		for (Attribute<?, ?> attribute : entity.getAttributes()) {
-			if (attributePredicate.test(attribute)) {
-				entityMapping.add(basePath + attribute.getName());
-			}
+		try {
+			Metamodel metamodel = entityManagerFactory.getMetamodel();
+			Provider provider = Provider.of(entityManager);
 
-			if (attribute instanceof Bindable) {
-				Class<?> nestedType = ((Bindable<?>) attribute).getBindableJavaType();
+			for (EntityType<?> entity : metamodel.getEntities()) {
+				Class<?> type = entity.getJavaType();
 
-				if (BaseEntity.class.isAssignableFrom(nestedType) && nestedType != entityType && nestedTypes.add(nestedType)) {
-					entityMapping.addAll(computeEntityMapping(nestedType, basePath + attribute.getName() + '.', nestedTypes, attributePredicate));
+				if (type != null && BaseEntity.class.isAssignableFrom(type)) {
+					ENTITY_MAPPINGS.computeIfAbsent(type, t -> computeEntityMappings(metamodel, provider, t));
+					count++;
 				}
 			}
 		}
+		finally {
+			entityManager.close();
+		}
+
+		long buildTime = MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS);
+		int entityCount = count;
+		entityMappingsBuildTime = buildTime;
+		logger.log(INFO, () -> format(LOG_INFO_PRECOMPUTED_ENTITY_MAPPINGS, entityCount, buildTime));
+	}
 
-		return unmodifiableSet(entityMapping);
+	/**
+	 * Returns the time in milliseconds it took to precompute the entity mappings of all entities during startup, or
+	 * <code>-1</code> if they are not precomputed (yet).
+	 * @return The time in milliseconds it took to precompute the entity mappings of all entities during startup.
+	 * @see EntityMappingService
+	 */
+	public static long getEntityMappingsBuildTime() {
+		return entityMappingsBuildTime;
 	}
 
 
@@ -445,6 +522,19 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return getEntityManager().getMetamodel().entity((Class<E>) entity.getClass());
 	}
 
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define the {@link EntityServiceMetrics} to which the latency
+	 * and row count of {@link #getById(Comparable)}, {@link #getByIds(Iterable)}, {@link #list()} and
+	 * {@link #getPage(Page, boolean)} methods, and the further details of the latter, should be reported. For example a
+	 * shared {@link SimpleEntityServiceMetrics} instance, or an adapter to the metrics library of your choice.
+	 * <p>
+	 * The default implementation returns {@link EntityServiceMetrics#NOOP}, whereby nothing is measured at all.
+	 * @return The {@link EntityServiceMetrics} to report to.
+	 */
+	protected EntityServiceMetrics getMetrics() {
+		return EntityServiceMetrics.NOOP;
+	}
+
 
 	// Preparing actions ----------------------------------------------------------------------------------------------
 
@@ -506,6 +596,98 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	}
 
 
+	// Snapshot actions -----------------------------------------------------------------------------------------------
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define whether all entities of this entity type should be kept in
+	 * an immutable in-memory snapshot. This is intended for small and rarely changing reference data, such as lookup tables. When
+	 * enabled, {@link #findById(Comparable)}, {@link #getById(Comparable)}, {@link #getByIds(Iterable)}, {@link #list()},
+	 * {@link #getPage(Page, boolean)} and {@link #getPage(Page, CountStrategy)} will be served from the snapshot without
+	 * touching the database nor the second level cache. The {@link #getPage(Page, boolean)} is then evaluated in memory as per
+	 * {@link #getPage(Page, boolean, Collection)}.
+	 * <p>
+	 * The snapshot is loaded on first access in a separate entity manager, so the entities in the snapshot are detached and
+	 * shared between all callers. They should therefore be treated as read only and not have any lazy relationships. The
+	 * snapshot is discarded as soon as a transaction which created, updated or deleted any entity of this type has completed,
+	 * and a new one will be loaded on next access. It thus only reflects committed data. This also applies to custom bulk
+	 * statements via {@link #update(String, Object...)}, even though these bypass the entity listeners.
+	 * <p>
+	 * The snapshot is bypassed while the entity manager is joined to a transaction, so that a transaction always sees its own
+	 * changes and always gets managed entities which it can safely modify. As the public methods of an EJB run by default in a
+	 * transaction, you need to override the read methods which should be served from the snapshot in your
+	 * {@link BaseEntityService} subclass with <code>&#64;TransactionAttribute(SUPPORTS)</code> and invoke them from outside a
+	 * transaction.
+	 * <p>
+	 * The default implementation returns <code>false</code>. The effectiveness can be observed via
+	 * {@link #getEntitySnapshotLoads()}.
+	 * @return Whether all entities of this entity type should be kept in an immutable in-memory snapshot.
+	 */
+	protected boolean isSnapshotCacheable() {
+		return false;
+	}
+
+	/**
+	 * Returns the amount of times an entity snapshot had to be loaded from the database.
+	 * @return The amount of times an entity snapshot had to be loaded from the database.
+	 * @see #isSnapshotCacheable()
+	 */
+	public static long getEntitySnapshotLoads() {
+		return ENTITY_SNAPSHOT_LOADS.sum();
+	}
+
+	/**
+	 * Discards the entity snapshots and cached page results of given entity type and its superclasses. This is invoked by
+	 * {@link EntityCacheObserver} after completion of a transaction which modified any entity of given type, including via
+	 * bulk statements.
+	 */
+	static void invalidateEntityCaches(Class<?> entityType) {
+		for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+			ENTITY_GENERATIONS.compute(type, (key, generation) -> {
+				ENTITY_SNAPSHOTS.remove(key);
+				return (generation == null) ? 1L : generation + 1;
+			});
+		}
+	}
+
+	private boolean canUseSnapshot() {
+		return isSnapshotCacheable() && !getEntityManager().isJoinedToTransaction();
+	}
+
+	@SuppressWarnings("unchecked")
+	private EntitySnapshot<I, E> getSnapshot() {
+		EntitySnapshot<I, E> snapshot = (EntitySnapshot<I, E>) ENTITY_SNAPSHOTS.get(entityType);
+
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		Long generation = ENTITY_GENERATIONS.get(entityType);
+		EntityManager entityManager = getEntityManager().getEntityManagerFactory().createEntityManager();
+
+		try {
+			snapshot = new EntitySnapshot<>(entityManager.createQuery(select("") + " ORDER BY e.id DESC", entityType).getResultList());
+		}
+		finally {
+			entityManager.close();
+		}
+
+		ENTITY_SNAPSHOT_LOADS.increment();
+		EntitySnapshot<I, E> loadedSnapshot = snapshot;
+		logger.log(FINE, () -> format(LOG_FINE_LOADED_ENTITY_SNAPSHOT, entityType, loadedSnapshot));
+
+		// Don't install the snapshot when it has in meanwhile been invalidated, it might have been loaded from stale data.
+		ENTITY_GENERATIONS.compute(entityType, (key, currentGeneration) -> {
+			if (Objects.equals(generation, currentGeneration)) {
+				ENTITY_SNAPSHOTS.put(key, loadedSnapshot);
+			}
+
+			return currentGeneration;
+		});
+
+		return snapshot;
+	}
+
+
 	// Select actions -------------------------------------------------------------------------------------------------
 
 	/**
@@ -731,12 +913,15 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @return Found entity, or <code>null</code> if there is none.
 	 */
 	protected E getById(I id, boolean includeSoftDeleted) {
-		E entity = getEntityManager().find(entityType, id);
+		EntityServiceMetrics metrics = getMetrics();
+		long startTime = startTime(metrics);
+		E entity = canUseSnapshot() ? getSnapshot().get(id) : getEntityManager().find(entityType, id);
 
 		if (entity != null && !includeSoftDeleted && softDeleteData.isSoftDeleted(entity)) {
-			return null;
+			entity = null;
 		}
 
+		recordOperation(metrics, "getById", startTime, (entity != null) ? 1 : 0);
 		return entity;
 	}
 
@@ -775,6 +960,10 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 
 	/**
 	 * Get entities by the given IDs. The default ordering is by ID, descending. This does not include soft deleted ones.
+	 * <p>
+	 * IDs of entities which are already managed by the persistence context or available in the second level cache are
+	 * served from there. The remaining IDs are queried in chunks of at most {@link #getMaxInListSize()} IDs. Each chunk is
+	 * padded to a power of two size by repeating its last ID, so that the amount of distinct SQL statements stays small.
 	 * @param ids Entity IDs to get entities by.
 	 * @return Found entities, or an empty set if there is none.
 	 */
@@ -790,14 +979,98 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @throws NonSoftDeletableEntityException When entity doesn't have {@link SoftDeletable} annotation set on any of its fields.
 	 */
 	protected List<E> getByIds(Iterable<I> ids, boolean includeSoftDeleted) {
-		if (!ids.iterator().hasNext()) {
-			return emptyList();
-		}
+		EntityServiceMetrics metrics = getMetrics();
+		long startTime = startTime(metrics);
+		Set<I> uniqueIds = stream(ids).filter(Objects::nonNull).collect(toCollection(LinkedHashSet::new));
+		List<E> entities = uniqueIds.isEmpty() ? emptyList() : getByUniqueIds(uniqueIds, includeSoftDeleted);
+		recordOperation(metrics, "getByIds", startTime, entities.size());
+		return entities;
+	}
 
+	private List<E> getByUniqueIds(Set<I> uniqueIds, boolean includeSoftDeleted) {
 		String whereClause = softDeleteData.getWhereClause(includeSoftDeleted);
-		return list(select("")
-			+ whereClause + (whereClause.isEmpty() ? " WHERE" : " AND") + " e.id IN (:ids)"
-			+ " ORDER BY e.id DESC", p -> p.put("ids", ids));
+
+		if (canUseSnapshot()) {
+			EntitySnapshot<I, E> snapshot = getSnapshot();
+			return uniqueIds.stream()
+				.map(snapshot::get)
+				.filter(entity -> entity != null && (whereClause.isEmpty() || softDeleteData.isSoftDeleted(entity) == includeSoftDeleted))
+				.sorted(reverseOrder())
+				.collect(toList());
+		}
+
+		List<E> entities = new ArrayList<>(uniqueIds.size());
+
+		for (E entity : provider.getManagedEntities(getEntityManager(), entityType, uniqueIds)) {
+			if (whereClause.isEmpty() || softDeleteData.isSoftDeleted(entity) == includeSoftDeleted) {
+				entities.add(entity);
+			}
+
+			uniqueIds.remove(entity.getId());
+		}
+
+		Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+
+		for (Iterator<I> iterator = uniqueIds.iterator(); iterator.hasNext();) {
+			I id = iterator.next();
+
+			if (cache.contains(entityType, id)) {
+				E entity = getEntityManager().find(entityType, id);
+
+				if (entity != null && (whereClause.isEmpty() || softDeleteData.isSoftDeleted(entity) == includeSoftDeleted)) {
+					entities.add(entity);
+				}
+
+				iterator.remove();
+			}
+		}
+
+		if (!uniqueIds.isEmpty()) {
+			String jpql = select("") + whereClause + (whereClause.isEmpty() ? " WHERE" : " AND") + " e.id IN (:ids)";
+			entities.addAll(listByIdChunks(jpql, padChunks(new ArrayList<>(uniqueIds), getMaxInListSize())));
+		}
+
+		entities.sort(reverseOrder());
+		return entities;
+	}
+
+	/**
+	 * Returns the maximum amount of IDs in a single <code>IN</code> list. This is used by {@link #getByIds(Iterable)} and the
+	 * bulk variants of {@link #delete(Iterable)}, {@link #softDelete(Iterable)} and {@link #softUndelete(Iterable)}.
+	 * The default is {@value #MAX_IN_LIST_SIZE}, which is the maximum supported by Oracle. You can override this in order
+	 * to return a lower value when the database or JDBC driver has a lower bind parameter limit.
+	 * @return The maximum amount of IDs in a single <code>IN</code> list.
+	 */
+	protected int getMaxInListSize() {
+		return MAX_IN_LIST_SIZE;
+	}
+
+	private static <I> List<List<I>> padChunks(List<I> ids, int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Max IN list size must be at least 1.");
+		}
+
+		List<List<I>> chunks = new ArrayList<>();
+
+		for (int i = 0; i < ids.size(); i += chunkSize) {
+			List<I> chunk = new ArrayList<>(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+			int paddedSize = Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, chunkSize);
+			I last = chunk.get(chunk.size() - 1);
+
+			while (chunk.size() < paddedSize) {
+				chunk.add(last);
+			}
+
+			chunks.add(chunk);
+		}
+
+		return chunks;
+	}
+
+	private List<E> listByIdChunks(String jpql, List<List<I>> chunks) {
+		List<E> entities = new ArrayList<>();
+		chunks.forEach(chunk -> entities.addAll(list(jpql, p -> p.put("ids", chunk))));
+		return entities;
 	}
 
 	/**
@@ -828,9 +1101,22 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @throws NonSoftDeletableEntityException When entity doesn't have {@link SoftDeletable} annotation set on any of its fields.
 	 */
 	protected List<E> list(boolean includeSoftDeleted) {
-		return list(select("")
-			+ softDeleteData.getWhereClause(includeSoftDeleted)
-			+ " ORDER BY e.id DESC");
+		EntityServiceMetrics metrics = getMetrics();
+		long startTime = startTime(metrics);
+		String whereClause = softDeleteData.getWhereClause(includeSoftDeleted);
+		List<E> entities;
+
+		if (canUseSnapshot()) {
+			entities = getSnapshot().list().stream()
+				.filter(entity -> whereClause.isEmpty() || softDeleteData.isSoftDeleted(entity) == includeSoftDeleted)
+				.collect(toList());
+		}
+		else {
+			entities = list(select("") + whereClause + " ORDER BY e.id DESC");
+		}
+
+		recordOperation(metrics, "list", startTime, entities.size());
+		return entities;
 	}
 
 	/**
@@ -891,6 +1177,86 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return createQuery(select(jpql), parameters).getResultList();
 	}
 
+	/**
+	 * Stream all entities. The default ordering is by ID, descending. This does not include soft deleted entities.
+	 * Unlike {@link #list()}, this does not materialize all entities in memory. See {@link #getResultStream(TypedQuery)}
+	 * for details.
+	 * @return Stream of all entities. This must be closed after use.
+	 */
+	protected Stream<E> listAsStream() {
+		return listAsStream(select("")
+			+ softDeleteData.getWhereClause(false)
+			+ " ORDER BY e.id DESC");
+	}
+
+	/**
+	 * Stream entities matching the given query and positional parameters, if any. This is the streaming counterpart of
+	 * {@link #list(String, Object...)}. See {@link #getResultStream(TypedQuery)} for details.
+	 * @param jpql The Java Persistence Query Language statement.
+	 * @param parameters The positional query parameters, if any.
+	 * @return Stream of entities matching the given query and positional parameters, if any. This must be closed after use.
+	 */
+	protected Stream<E> listAsStream(String jpql, Object... parameters) {
+		return getResultStream(createQuery(select(jpql), parameters));
+	}
+
+	/**
+	 * Stream entities matching the given query and mapped parameters, if any. This is the streaming counterpart of
+	 * {@link #list(String, Consumer)}. See {@link #getResultStream(TypedQuery)} for details.
+	 * @param jpql The Java Persistence Query Language statement.
+	 * @param parameters To put the mapped query parameters in.
+	 * @return Stream of entities matching the given query and mapped parameters, if any. This must be closed after use.
+	 */
+	protected Stream<E> listAsStream(String jpql, Consumer<Map<String, Object>> parameters) {
+		return getResultStream(createQuery(select(jpql), parameters));
+	}
+
+	/**
+	 * Returns the results of the given query as a stream which is backed by the scrollable results or cursor of the JPA provider,
+	 * see {@link Provider#getResultStream(TypedQuery, int)}. The JDBC fetch size is set to {@link #getStreamFetchSize()}. Each time
+	 * the stream has moved past this amount of results, they will be detached from the persistence context, so that memory usage
+	 * stays flat regardless of the amount of results. Hence, any changes in streamed entities must be saved explicitly, and lazy
+	 * loaded fields must be accessed while processing the entity.
+	 * <p>
+	 * Usage example:
+	 * <pre>
+	 * try (Stream&lt;Foo&gt; foos = listAsStream("WHERE bar = ?1", bar)) {
+	 *     foos.forEach(exporter::export);
+	 * }
+	 * </pre>
+	 * The stream must be consumed within the same transaction and be closed after use in order to release the underlying JDBC
+	 * resources.
+	 * @param <T> The generic result type.
+	 * @param query The query to return the results for.
+	 * @return The results of the given query as a stream.
+	 */
+	protected <T> Stream<T> getResultStream(TypedQuery<T> query) {
+		int fetchSize = getStreamFetchSize();
+		List<T> processed = new ArrayList<>(fetchSize);
+
+		return provider.getResultStream(query, fetchSize).peek(result -> {
+			if (processed.size() == fetchSize) {
+				processed.stream().filter(this::isManaged).forEach(getEntityManager()::detach);
+				processed.clear();
+			}
+
+			processed.add(result);
+		});
+	}
+
+	/**
+	 * Returns the JDBC fetch size and the detach interval of {@link #getResultStream(TypedQuery)}. The default is
+	 * {@value #DEFAULT_STREAM_FETCH_SIZE}. You can override this in order to tune it for the average entity size.
+	 * @return The JDBC fetch size and the detach interval of {@link #getResultStream(TypedQuery)}.
+	 */
+	protected int getStreamFetchSize() {
+		return DEFAULT_STREAM_FETCH_SIZE;
+	}
+
+	private boolean isManaged(Object result) {
+		return result != null && result.getClass().getAnnotation(Entity.class) != null && getEntityManager().contains(result);
+	}
+
 	/**
 	 * List entities matching the {@link CriteriaQueryBuilder} and mapped parameters, if any.
 	 * <p>
@@ -931,6 +1297,15 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		}
 	}
 
+	/**
+	 * Bulk statements bypass the entity listeners, so take over their job for the entity type as a whole.
+	 */
+	private void afterBulkStatement(String statement) {
+		EntityCacheObserver.markModified(entityType);
+		Operation operation = statement.trim().toLowerCase().startsWith("delete") ? Operation.DELETED : Operation.UPDATED;
+		Outbox.getCurrentInstance().ifPresent(outbox -> outbox.writeBulk(entityType, operation));
+	}
+
 	private TypedQuery<E> createQuery(String jpql, Object... parameters) {
 		TypedQuery<E> query = getEntityManager().createQuery(jpql, entityType);
 		setPositionalParameters(query, parameters);
@@ -975,6 +1350,15 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	}
 
 	private I persist(E entity, boolean checkExists) {
+		persistWithoutFlush(entity, checkExists);
+
+		// Entity is not guaranteed to have been given an ID before either the TX commits or flush is called.
+		getEntityManager().flush();
+
+		return entity.getId();
+	}
+
+	private void persistWithoutFlush(E entity, boolean checkExists) {
 		if (entity.getId() != null) {
 			if (generatedId || (checkExists && exists(entity))) {
 				throw new IllegalEntityStateException(entity, "Entity is already persisted. Use update() instead.");
@@ -992,16 +1376,102 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 			logConstraintViolations(e.getConstraintViolations());
 			throw e;
 		}
+	}
 
-		// Entity is not guaranteed to have been given an ID before either the TX commits or flush is called.
-		getEntityManager().flush();
+	/**
+	 * Persist given entities in batches of given size. Unlike {@link #persist(BaseEntity)}, this does not flush after
+	 * every single entity and it does not check whether an entity with a manually assigned ID already exists. Instead,
+	 * the JDBC batch size of the provider is set to the given batch size and the persistence context is flushed and
+	 * cleared after every batch, so that the inserts are sent as JDBC batches and the persistence context doesn't
+	 * grow while persisting a large amount of entities.
+	 * <p>
+	 * Note that clearing the persistence context will detach <strong>all</strong> entities managed so far in the
+	 * current transaction, not only the given ones. A duplicate manually assigned ID will only be detected by the
+	 * database during the flush.
+	 * <p>
+	 * Usage example:
+	 * <pre>
+	 * List&lt;Long&gt; ids = persistAll(foos, 1000);
+	 * </pre>
+	 * @param entities Entities to persist.
+	 * @param batchSize The amount of entities to persist before flushing and clearing the persistence context.
+	 * @return Entity IDs, in iteration order of given entities.
+	 * @throws IllegalArgumentException When batch size is less than 1.
+	 * @throws IllegalEntityStateException When at least one entity is already persisted or its ID is not generated.
+	 */
+	public List<I> persistAll(Iterable<E> entities, int batchSize) {
+		return persistAll(stream(entities), batchSize);
+	}
 
-		return entity.getId();
+	/**
+	 * Persist given stream of entities in batches of given size. This is useful when the entities are produced while
+	 * reading a large source, such as a file, so that they don't need to be collected in memory first.
+	 * See {@link #persistAll(Iterable, int)} for details.
+	 * @param entities Stream of entities to persist.
+	 * @param batchSize The amount of entities to persist before flushing and clearing the persistence context.
+	 * @return Entity IDs, in encounter order of given stream.
+	 * @throws IllegalArgumentException When batch size is less than 1.
+	 * @throws IllegalEntityStateException When at least one entity is already persisted or its ID is not generated.
+	 */
+	public List<I> persistAll(Stream<E> entities, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size may not be less than 1");
+		}
+
+		Runnable restoreJdbcBatchSize = provider.setJdbcBatchSize(getEntityManager(), batchSize);
+		List<I> ids = new ArrayList<>();
+
+		try {
+			entities.sequential().collect(forEachBatch(batch -> {
+				batch.forEach(entity -> persistWithoutFlush(entity, false));
+
+				// Entity is not guaranteed to have been given an ID before either the TX commits or flush is called.
+				getEntityManager().flush();
+				batch.forEach(entity -> ids.add(entity.getId()));
+				getEntityManager().clear();
+			}, batchSize));
+		}
+		finally {
+			restoreJdbcBatchSize.run();
+		}
+
+		return ids;
 	}
 
 
 	// Update actions -------------------------------------------------------------------------------------------------
 
+	/**
+	 * The strategy to determine whether an entity is already persisted before it's merged by {@link #update(BaseEntity)}
+	 * and {@link #save(BaseEntity)}.
+	 * @see BaseEntityService#getMergeStrategy()
+	 */
+	protected enum MergeStrategy {
+
+		/**
+		 * Always perform a <code>SELECT COUNT(e)</code> query by ID. This is the default.
+		 */
+		QUERY,
+
+		/**
+		 * Skip the query when the entity is already managed by the persistence context, or when it is {@link Versioned} and
+		 * its version is already assigned by the JPA provider; a stale version will then cause the merge to fail during flush.
+		 * Else load the entity by ID, which consults the persistence context and the second level cache before hitting the
+		 * database, and which in turn saves the merge from selecting it once more.
+		 */
+		OPTIMISTIC;
+	}
+
+	/**
+	 * Returns the strategy to determine whether an entity is already persisted before it's merged by {@link #update(BaseEntity)}
+	 * and {@link #save(BaseEntity)}. The default is {@link MergeStrategy#QUERY}. You can override this in order to return
+	 * {@link MergeStrategy#OPTIMISTIC} when the service is on a hot path and the additional query round-trip is undesired.
+	 * @return The strategy to determine whether an entity is already persisted before it's merged.
+	 */
+	protected MergeStrategy getMergeStrategy() {
+		return MergeStrategy.QUERY;
+	}
+
 	/**
 	 * Update given entity. If <code>javax.persistence.validation.mode</code> property in <code>persistence.xml</code> is explicitly set
 	 * to <code>CALLBACK</code> (and thus not to its default of <code>AUTO</code>), then any bean validation constraint violation will be
@@ -1026,7 +1496,7 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 			}
 		}
 
-		if (checkExists && !exists(entity)) {
+		if (checkExists && !existsBeforeMerge(entity)) {
 			throw new IllegalEntityStateException(entity, "Entity is not persisted. Use persist() instead.");
 		}
 
@@ -1040,6 +1510,19 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return getEntityManager().merge(entity);
 	}
 
+	private boolean existsBeforeMerge(E entity) {
+		if (getMergeStrategy() != MergeStrategy.OPTIMISTIC) {
+			return exists(entity);
+		}
+
+		if (getEntityManager().contains(entity) || (entity instanceof Versioned && ((Versioned) entity).getVersion() != null)) {
+			return true;
+		}
+
+		I id = provider.getIdentifier(entity);
+		return id != null && getEntityManager().find(entityType, id) != null;
+	}
+
 	/**
 	 * Update given entity via {@link #update(BaseEntity)} and immediately perform a flush so that all changes in
 	 * managed entities so far in the current transaction are persisted. This is particularly useful when you intend
@@ -1093,7 +1576,10 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @see Query#executeUpdate()
 	 */
 	protected int update(String jpql, Object... parameters) {
-		return createQuery(update(jpql), parameters).executeUpdate();
+		String statement = update(jpql);
+		int affectedRows = createQuery(statement, parameters).executeUpdate();
+		afterBulkStatement(statement);
+		return affectedRows;
 	}
 
 	/**
@@ -1120,17 +1606,21 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @see Query#executeUpdate()
 	 */
 	protected int update(String jpql, Consumer<Map<String, Object>> parameters) {
-		return createQuery(update(jpql), parameters).executeUpdate();
+		String statement = update(jpql);
+		int affectedRows = createQuery(statement, parameters).executeUpdate();
+		afterBulkStatement(statement);
+		return affectedRows;
 	}
 
 	/**
 	 * Save given entity. This will automatically determine based on the presence of generated entity ID,
-	 * or existence of an entity in the data store whether to {@link #persist(BaseEntity)} or to {@link #update(BaseEntity)}.
+	 * or existence of an entity in the data store as per {@link #getMergeStrategy()} whether to {@link #persist(BaseEntity)}
+	 * or to {@link #update(BaseEntity)}.
 	 * @param entity Entity to save.
 	 * @return Saved entity.
 	 */
 	public E save(E entity) {
-		if ((generatedId && entity.getId() == null) || (!generatedId && !exists(entity))) {
+		if ((generatedId && entity.getId() == null) || (!generatedId && !existsBeforeMerge(entity))) {
 			persist(entity, false);
 			return entity;
 		}
@@ -1197,36 +1687,169 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	}
 
 	/**
-	 * Delete given entities.
+	 * Here you can in your {@link BaseEntityService} subclass define whether {@link #delete(Iterable)},
+	 * {@link #softDelete(Iterable)} and {@link #softUndelete(Iterable)} may be performed by set based bulk statements
+	 * instead of per entity.
+	 * <p>
+	 * Bulk statements bypass the JPA lifecycle. When enabled, any <code>&#64;PreRemove</code> and <code>&#64;PreUpdate</code>
+	 * callbacks and any other {@link javax.persistence.EntityListeners} than {@link BaseEntityListener}, such as an
+	 * {@link org.omnifaces.persistence.audit.AuditListener}, are therefore not invoked, and the
+	 * {@link javax.persistence.Version} of a hard
+	 * deleted entity is not checked. Only {@link BaseEntityListener} is invoked on behalf of the JPA provider, provided that
+	 * the entity has registered it. So this should only be enabled for entities which don't rely on any of those.
+	 * <p>
+	 * The default implementation returns <code>false</code>.
+	 * @return Whether bulk deletes, soft deletes and soft undeletes may be performed by set based bulk statements.
+	 */
+	protected boolean isBulkModifiable() {
+		return false;
+	}
+
+	/**
+	 * Delete given entities. When {@link #isBulkModifiable()} is enabled and the entity has no plural attributes and no
+	 * cascading or orphan removing single valued attributes, then this is performed by a set based
+	 * <code>DELETE ... WHERE e.id IN (:ids)</code> per chunk of {@link #getMaxInListSize()} entities instead of a
+	 * <code>find()</code> and <code>remove()</code> per entity. The given entities will then be detached from the
+	 * persistence context and evicted from the second level cache, and {@link BaseEntityListener} will be invoked for each
+	 * of them, which fires the {@link Deleted} event.
 	 * @param entities Entities to delete.
 	 * @throws NonDeletableEntityException When at least one entity has {@link NonDeletable} annotation set.
 	 * @throws IllegalEntityStateException When at least one entity has no ID.
 	 * @throws EntityNotFoundException When at least one entity has in meanwhile been deleted.
 	 */
 	public void delete(Iterable<E> entities) {
-		entities.forEach(this::delete);
+		if (!bulkDeletable || !isBulkModifiable()) {
+			entities.forEach(this::delete);
+			return;
+		}
+
+		Map<I, E> entitiesById = mapByIdentifier(entities);
+
+		for (E entity : entitiesById.values()) {
+			if (entity.getClass().isAnnotationPresent(NonDeletable.class)) {
+				throw new NonDeletableEntityException(entity);
+			}
+		}
+
+		executeBulkUpdate("DELETE FROM " + entityType.getSimpleName() + " e WHERE e.id IN (:ids)", emptyMap(), entitiesById, BaseEntityListener::onPostRemove);
+		entitiesById.values().forEach(entity -> entity.setId(null));
 	}
 
 	/**
-	 * Soft delete given entities.
+	 * Soft delete given entities. When {@link #isBulkModifiable()} is enabled, this is performed by a set based
+	 * <code>UPDATE ... WHERE e.id IN (:ids)</code> per chunk of {@link #getMaxInListSize()} entities instead of a
+	 * <code>find()</code> per entity. The given entities will then
+	 * be detached from the persistence context and evicted from the second level cache, and {@link BaseEntityListener}
+	 * will be invoked for each of them. When any entity is {@link Timestamped} or {@link Versioned}, then this falls back
+	 * to {@link #softDelete(BaseEntity)} per entity, so that the JPA provider maintains the timestamp and version.
 	 * @param entities Entities to soft delete.
 	 * @throws NonSoftDeletableEntityException When entity doesn't have {@link SoftDeletable} annotation set on any of its fields.
 	 * @throws IllegalEntityStateException When at least one entity has no ID.
 	 * @throws EntityNotFoundException When at least one entity has in meanwhile been hard deleted.
 	 */
 	public void softDelete(Iterable<E> entities) {
-		entities.forEach(this::softDelete);
+		softUpdate(entities, true);
 	}
 
 	/**
-	 * Soft undelete given entities.
+	 * Soft undelete given entities. When {@link #isBulkModifiable()} is enabled, this is performed by a set based
+	 * <code>UPDATE ... WHERE e.id IN (:ids)</code> per chunk of {@link #getMaxInListSize()} entities instead of a
+	 * <code>find()</code> per entity. The given entities will
+	 * then be detached from the persistence context and evicted from the second level cache, and {@link BaseEntityListener}
+	 * will be invoked for each of them. When any entity is {@link Timestamped} or {@link Versioned}, then this falls back
+	 * to {@link #softUndelete(BaseEntity)} per entity, so that the JPA provider maintains the timestamp and version.
 	 * @param entities Entities to soft undelete.
 	 * @throws NonSoftDeletableEntityException When entity doesn't have {@link SoftDeletable} annotation set on any of its fields.
 	 * @throws IllegalEntityStateException When at least one entity has no ID.
 	 * @throws EntityNotFoundException When at least one entity has in meanwhile been hard deleted.
 	 */
 	public void softUndelete(Iterable<E> entities) {
-		entities.forEach(this::softUndelete);
+		softUpdate(entities, false);
+	}
+
+	private void softUpdate(Iterable<E> entities, boolean deleted) {
+		if (!isBulkModifiable()) {
+			entities.forEach(deleted ? this::softDelete : this::softUndelete);
+			return;
+		}
+
+		softDeleteData.checkSoftDeletable();
+		Map<I, E> entitiesById = mapByIdentifier(entities);
+
+		if (entitiesById.values().stream().anyMatch(entity -> entity instanceof Timestamped || entity instanceof Versioned)) {
+			// Bulk update bypasses @PreUpdate and @Version, and the in-memory entities would then be left with the old timestamp
+			// and version, so let the JPA provider do the job for each entity.
+			for (E entity : entitiesById.values()) {
+				softDeleteData.setSoftDeleted(manage(entity), deleted);
+				softDeleteData.setSoftDeleted(entity, deleted);
+			}
+
+			return;
+		}
+
+		String jpql = update("SET " + softDeleteData.getSetClause(deleted) + " WHERE e.id IN (:ids)");
+		executeBulkUpdate(jpql, emptyMap(), entitiesById, BaseEntityListener::onPostUpdate);
+		entitiesById.values().forEach(entity -> softDeleteData.setSoftDeleted(entity, deleted));
+	}
+
+	private Map<I, E> mapByIdentifier(Iterable<E> entities) {
+		Map<I, E> entitiesById = new LinkedHashMap<>();
+
+		for (E entity : entities) {
+			if (entity == null) {
+				throw new NullPointerException("Entity is null.");
+			}
+
+			I id = provider.getIdentifier(entity);
+
+			if (id == null) {
+				throw new IllegalEntityStateException(entity, "Entity has no ID.");
+			}
+
+			entitiesById.put(id, entity);
+		}
+
+		return entitiesById;
+	}
+
+	private void executeBulkUpdate(String jpql, Map<String, Object> parameters, Map<I, E> entitiesById, BiConsumer<BaseEntityListener, E> callback) {
+		if (entitiesById.isEmpty()) {
+			return;
+		}
+
+		// Bulk statements bypass the persistence context, so any pending changes must be written first.
+		getEntityManager().flush();
+
+		List<I> ids = new ArrayList<>(entitiesById.keySet());
+		int affectedRows = 0;
+
+		int chunkSize = getMaxInListSize();
+
+		for (int i = 0; i < ids.size(); i += chunkSize) {
+			List<I> chunk = ids.subList(i, Math.min(i + chunkSize, ids.size()));
+			Query query = createQuery(jpql).setParameter("ids", chunk);
+			parameters.forEach(query::setParameter);
+			affectedRows += query.executeUpdate();
+		}
+
+		if (affectedRows < ids.size()) {
+			throw new EntityNotFoundException("At least one entity has in meanwhile been deleted.");
+		}
+
+		Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+		BaseEntityListener listener = new BaseEntityListener(); // Bulk statements bypass entity listeners, so we need to invoke it ourselves.
+
+		entitiesById.forEach((id, entity) -> {
+			cache.evict(entityType, id);
+
+			if (entity.getClass().getAnnotation(Entity.class) != null && getEntityManager().contains(entity)) {
+				getEntityManager().detach(entity); // Else it's stale.
+			}
+
+			if (baseEntityListenerRegistered) {
+				callback.accept(listener, entity);
+			}
+		});
 	}
 
 
@@ -1583,25 +2206,167 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	}
 
 	/**
-	 * Returns a partial result list based on given {@link Page}. This will by default cache the results.
+	 * Here you can in your {@link BaseEntityService} subclass define whether the criteria queries built by {@link #getPage(Page, boolean)}
+	 * and {@link #getPage(Page, boolean, String...)} may be cached and reused for subsequent pages of the same shape, so that only the
+	 * parameters for the range and the value based paging need to be bound. The shape is determined by the service, the fetch fields,
+	 * the ordering, the names and value types of the required and optional criteria, and whether value based paging is used. The
+	 * criteria values themselves are bound as parameters. When the criteria of a page do not produce the same parameters as the cached
+	 * query, e.g. because a value turned out to be invalid for its field, the query is built from scratch. Pages built by a custom {@link QueryBuilder} or
+	 * {@link MappedQueryBuilder} are never cached as their queries may depend on state unknown to the cache.
 	 * <p>
-	 * Usage examples:
-	 * <pre>
-	 * Page first10Records = Page.of(0, 10);
-	 * PartialResultList&lt;Foo&gt; foos = getPage(first10Records, true);
-	 * </pre>
-	 * <pre>
-	 * Map&lt;String, Object&gt; criteria = new HashMap&lt;&gt;();
-	 * criteria.put("bar", bar); // Exact match.
-	 * criteria.put("baz", IgnoreCase.value(baz)); // Case insensitive match.
+	 * The default implementation returns <code>false</code>. This should only be enabled when the JPA provider supports executing the
+	 * same criteria query instance in multiple entity managers. The effectiveness can be observed via
+	 * {@link #getPageQueryTemplateCacheHits()} and {@link #getPageQueryTemplateCacheMisses()}.
+	 * @return Whether the criteria queries built by {@link #getPage(Page, boolean)} may be cached.
+	 */
+	protected boolean isPageQueryTemplateCacheable() {
+		return false;
+	}
+
+	/**
+	 * Returns the amount of times a cached criteria query could be reused by any of {@link #getPage(Page, boolean)} methods.
+	 * @return The amount of times a cached criteria query could be reused by any of {@link #getPage(Page, boolean)} methods.
+	 * @see #isPageQueryTemplateCacheable()
+	 */
+	public static long getPageQueryTemplateCacheHits() {
+		return PAGE_QUERY_TEMPLATE_CACHE_HITS.sum();
+	}
+
+	/**
+	 * Returns the amount of times a criteria query had to be built and cached by any of {@link #getPage(Page, boolean)} methods.
+	 * @return The amount of times a criteria query had to be built and cached by any of {@link #getPage(Page, boolean)} methods.
+	 * @see #isPageQueryTemplateCacheable()
+	 */
+	public static long getPageQueryTemplateCacheMisses() {
+		return PAGE_QUERY_TEMPLATE_CACHE_MISSES.sum();
+	}
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define the {@link CountStrategy} which should be used when any of
+	 * {@link #getPage(Page, boolean)} methods is called with <code>count</code> argument set to <code>true</code>.
+	 * <p>
+	 * The default implementation returns {@link CountStrategy#EXACT}. You can override this in order to return a cheaper
+	 * strategy when the service is backed by a very large table and the exact total number of results is not relevant.
+	 * @return The {@link CountStrategy} which should be used by {@link #getPage(Page, boolean)} methods.
+	 */
+	protected CountStrategy getCountStrategy() {
+		return CountStrategy.EXACT;
+	}
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define the time to live in milliseconds of the total number of
+	 * results as counted by {@link CountStrategy#CACHED}.
+	 * <p>
+	 * The default implementation returns 60000, which is one minute.
+	 * @return The time to live in milliseconds of the total number of results as counted by {@link CountStrategy#CACHED}.
+	 */
+	protected long getCountCacheTimeToLive() {
+		return DEFAULT_COUNT_CACHE_TIME_TO_LIVE;
+	}
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define whether the <code>COUNT</code> query of any of
+	 * {@link #getPage(Page, boolean)} methods may be executed concurrently with the entity query, so that the page latency
+	 * is about the slowest of both queries instead of their sum. The <code>COUNT</code> query will then be executed in a
+	 * separate {@link EntityManager} on the default managed executor service. This only happens when the current entity
+	 * manager is not joined to a transaction, because a separate entity manager would otherwise not see the uncommitted
+	 * changes of the current transaction. The {@link #beforePage()} and {@link #afterPage()} are invoked on the separate entity
+	 * manager as well, so that e.g. enabled filters also apply to the <code>COUNT</code> query.
+	 * <p>
+	 * The default implementation returns <code>false</code>. This should only be enabled when the JPA provider supports executing the
+	 * same criteria query instance in multiple entity managers, and when {@link #onPage(Class, boolean)}, {@link #beforePage()} and
+	 * {@link #afterPage()} do not depend on the current thread.
+	 * @return Whether the <code>COUNT</code> query of {@link #getPage(Page, boolean)} may be executed concurrently.
+	 */
+	protected boolean isCountQueryParallelizable() {
+		return false;
+	}
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define whether the partial result lists returned by
+	 * {@link #getPage(Page, boolean)} and {@link #getPage(Page, boolean, String...)} may be cached in memory by this
+	 * application, independently of the second level cache of the JPA provider. The cache key is the service, the result
+	 * type, the fetch fields, the {@link Page} and the {@link CountStrategy}. Pages built by a custom {@link QueryBuilder} or
+	 * {@link MappedQueryBuilder}, and pages requested with <code>cacheable</code> argument set to <code>false</code> are never
+	 * cached.
+	 * <p>
+	 * A cached page result expires after {@link #getPageResultCacheTimeToLive()}, and the least recently used ones are evicted
+	 * when there are more than {@value #MAX_CACHED_PAGE_RESULTS}. All cached page results of an entity type are discarded as
+	 * soon as a transaction which created, updated or deleted any entity of this type has completed, also via
+	 * {@link #update(String, Object...)}, regardless of whether it was committed or rolled back. Page results are neither
+	 * cached nor served from the cache while the current transaction has modified any entity of this type. Note that changes
+	 * in related entities, such as those referenced by the fetch fields or by the criteria, do not discard the cached page
+	 * results.
+	 * <p>
+	 * The cached partial result lists are unmodifiable and shared between all callers, including the entities therein. These
+	 * entities are therefore detached, also for the caller which queried them, and should be treated as read only. The default implementation returns <code>false</code>. The effectiveness
+	 * can be observed via {@link #getPageResultCacheHits()}, {@link #getPageResultCacheMisses()} and
+	 * {@link #getPageResultCacheEvictions()}.
+	 * @return Whether the partial result lists returned by {@link #getPage(Page, boolean)} may be cached in memory.
+	 */
+	protected boolean isPageResultCacheable() {
+		return false;
+	}
+
+	/**
+	 * Here you can in your {@link BaseEntityService} subclass define the time to live in milliseconds of the partial result
+	 * lists cached as per {@link #isPageResultCacheable()}.
+	 * <p>
+	 * The default implementation returns 60000, which is one minute.
+	 * @return The time to live in milliseconds of the partial result lists cached as per {@link #isPageResultCacheable()}.
+	 */
+	protected long getPageResultCacheTimeToLive() {
+		return DEFAULT_PAGE_RESULT_CACHE_TIME_TO_LIVE;
+	}
+
+	/**
+	 * Returns the amount of times a cached partial result list could be returned by any of {@link #getPage(Page, boolean)} methods.
+	 * @return The amount of times a cached partial result list could be returned by any of {@link #getPage(Page, boolean)} methods.
+	 * @see #isPageResultCacheable()
+	 */
+	public static long getPageResultCacheHits() {
+		return PAGE_RESULT_CACHE_HITS.sum();
+	}
+
+	/**
+	 * Returns the amount of times a partial result list had to be queried and cached by any of {@link #getPage(Page, boolean)} methods.
+	 * @return The amount of times a partial result list had to be queried and cached by any of {@link #getPage(Page, boolean)} methods.
+	 * @see #isPageResultCacheable()
+	 */
+	public static long getPageResultCacheMisses() {
+		return PAGE_RESULT_CACHE_MISSES.sum();
+	}
+
+	/**
+	 * Returns the amount of cached partial result lists which were discarded before they could be returned, because they were
+	 * expired, invalidated by a modification of their entity type, or least recently used while the cache was full.
+	 * @return The amount of cached partial result lists which were discarded before they could be returned.
+	 * @see #isPageResultCacheable()
+	 */
+	public static long getPageResultCacheEvictions() {
+		return PAGE_RESULT_CACHE_EVICTIONS.sum();
+	}
+
+	/**
+	 * Returns a partial result list based on given {@link Page}. This will by default cache the results.
+	 * <p>
+	 * Usage examples:
+	 * <pre>
+	 * Page first10Records = Page.of(0, 10);
+	 * PartialResultList&lt;Foo&gt; foos = getPage(first10Records, true);
+	 * </pre>
+	 * <pre>
+	 * Map&lt;String, Object&gt; criteria = new HashMap&lt;&gt;();
+	 * criteria.put("bar", bar); // Exact match.
+	 * criteria.put("baz", IgnoreCase.value(baz)); // Case insensitive match.
 	 * criteria.put("faz", Like.contains(faz)); // Case insensitive LIKE match.
 	 * criteria.put("kaz", Order.greaterThan(kaz)); // Greater than match.
 	 * Page first10RecordsMatchingCriteriaOrderedByBar = Page.with().allMatch(criteria).orderBy("bar", true).range(0, 10);
 	 * PartialResultList&lt;Foo&gt; foos = getPage(first10RecordsMatchingCriteriaOrderedByBar, true);
 	 * </pre>
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @return A partial result list based on given {@link Page}.
 	 * @see Page
 	 * @see Criteria
@@ -1610,7 +2375,75 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		// Implementation notice: we can't remove this getPage() method and rely on the other getPage() method with varargs below,
 		// because the one with varargs is incompatible as method reference for getPage(Page, boolean) in some Java versions.
 		// See https://github.com/omnifaces/omnipersistence/issues/11
-		return getPage(page, count, true, entityType, (builder, query, root) -> noop());
+		if (canUseSnapshot()) {
+			return getPage(page, count, getSnapshot().list());
+		}
+
+		return getPage(page, count, true, entityType, new FetchFieldsQueryBuilder<>());
+	}
+
+	/**
+	 * Returns a partial result list based on given {@link Page} whereby the estimated total number of results is
+	 * determined by given {@link CountStrategy}. This will by default cache the results.
+	 * <p>
+	 * Usage example:
+	 * <pre>
+	 * PartialResultList&lt;Foo&gt; foos = getPage(Page.of(0, 10), CountStrategy.HAS_MORE);
+	 * boolean hasMore = !((CursoredResultList&lt;Foo&gt;) foos).isExactCount();
+	 * </pre>
+	 * @param page The page to return a partial result list for.
+	 * @param countStrategy The strategy to estimate total number of results, or <code>null</code> to not estimate at all.
+	 * This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @return A partial result list based on given {@link Page}.
+	 * @see Page
+	 * @see CountStrategy
+	 */
+	public PartialResultList<E> getPage(Page page, CountStrategy countStrategy) {
+		if (canUseSnapshot()) {
+			return getPage(page, countStrategy != null, getSnapshot().list());
+		}
+
+		return getPage(page, countStrategy, true, entityType, new FetchFieldsQueryBuilder<>());
+	}
+
+	/**
+	 * Returns a partial result list based on given {@link Page} evaluated against given in-memory entities instead of
+	 * the database. The required and optional criteria, the ordering, the offset and limit, and the value based paging
+	 * have the same semantics as in {@link #getPage(Page, boolean)}, as long as the {@link Criteria} used implement
+	 * {@link Criteria#applies(Object)}. This is useful for small sets of reference data which are already in memory.
+	 * <p>
+	 * Usage example:
+	 * <pre>
+	 * List&lt;Foo&gt; allFoos = getAll();
+	 * PartialResultList&lt;Foo&gt; foos = getPage(Page.with().allMatch(criteria).orderBy("bar", true).range(0, 10), true, allFoos);
+	 * </pre>
+	 * @param page The page to return a partial result list for.
+	 * @param count Whether to return the total number of entities matching the criteria. This will be available by
+	 * {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param entities The entities to evaluate the page against. This won't be modified.
+	 * @return A partial result list based on given {@link Page}.
+	 * @throws IllegalArgumentException When a property of the page cannot be found in the entity.
+	 * @throws UnsupportedOperationException When a criteria value is not supported, or when a {@link Criteria} used
+	 * doesn't implement {@link Criteria#applies(Object)}.
+	 * @see Page
+	 * @see Criteria
+	 */
+	public PartialResultList<E> getPage(Page page, boolean count, Collection<E> entities) {
+		Entry<List<E>, Integer> results = new PageEvaluator(page, entityType, identifierType).evaluate(entities);
+		List<E> list = results.getKey();
+		boolean reversed = (page.getLast() != null && page.getOffset() > 0 || page.getCursor() != null) && page.isReversed();
+		Cursor previousCursor = null;
+		Cursor nextCursor = null;
+
+		if (!list.isEmpty()) {
+			boolean hasPrevious = reversed ? list.size() >= page.getLimit() : (page.getOffset() > 0 || page.getCursor() != null);
+			boolean hasNext = reversed || list.size() >= page.getLimit();
+			previousCursor = hasPrevious ? buildCursor(page, list.get(0), true) : null;
+			nextCursor = hasNext ? buildCursor(page, list.get(list.size() - 1), false) : null;
+		}
+
+		int estimatedTotalNumberOfResults = count ? results.getValue() : -1;
+		return new CursoredResultList<>(list, page.getOffset(), estimatedTotalNumberOfResults, previousCursor, nextCursor);
 	}
 
 	/**
@@ -1631,8 +2464,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * PartialResultList&lt;Foo&gt; foosWithBars = getPage(first10RecordsMatchingCriteriaOrderedByBar, true, "bar");
 	 * </pre>
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param fetchFields Optionally, all (lazy loaded) fields to be explicitly fetched during the query. Each field
 	 * can represent a JavaBean path, like as you would do in EL, such as <code>parent.child.subchild</code>.
 	 * @return A partial result list based on given {@link Page}.
@@ -1648,8 +2481,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * <p>
 	 * Usage example: see {@link #getPage(Page, boolean)} and {@link #getPage(Page, boolean, String...)}.
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param cacheable Whether the results should be cacheable.
 	 * @param fetchFields Optionally, all (lazy loaded) fields to be explicitly fetched during the query. Each field
 	 * can represent a JavaBean path, like as you would do in EL, such as <code>parent.child.subchild</code>.
@@ -1658,17 +2491,7 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @see Criteria
 	 */
 	protected PartialResultList<E> getPage(Page page, boolean count, boolean cacheable, String... fetchFields) {
-		return getPage(page, count, cacheable, entityType, (builder, query, root) -> {
-			for (String fetchField : fetchFields) {
-				FetchParent<?, ?> fetchParent = root;
-
-				for (String attribute : fetchField.split("\\.")) {
-					fetchParent = fetchParent.fetch(attribute);
-				}
-			}
-
-			return null;
-		});
+		return getPage(page, count, cacheable, entityType, new FetchFieldsQueryBuilder<>(fetchFields));
 	}
 
 	/**
@@ -1677,8 +2500,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * <p>
 	 * Usage example: see {@link QueryBuilder}.
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param queryBuilder This allows fine-graining the JPA criteria query.
 	 * @return A partial result list based on given {@link Page} and {@link QueryBuilder}.
 	 * @see Page
@@ -1694,8 +2517,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * <p>
 	 * Usage example: see {@link QueryBuilder}.
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param cacheable Whether the results should be cacheable.
 	 * @param queryBuilder This allows fine-graining the JPA criteria query.
 	 * @return A partial result list based on given {@link Page} and {@link QueryBuilder}.
@@ -1717,8 +2540,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * Usage example: see {@link MappedQueryBuilder}.
 	 * @param <T> The generic type of the entity or a DTO subclass thereof.
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param resultType The result type which can be the entity type itself or a DTO subclass thereof.
 	 * @param mappedQueryBuilder This allows fine-graining the JPA criteria query and must return a mapping of
 	 * getters-paths.
@@ -1738,8 +2561,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * Usage example: see {@link MappedQueryBuilder}.
 	 * @param <T> The generic type of the entity or a DTO subclass thereof.
 	 * @param page The page to return a partial result list for.
-	 * @param count Whether to run the <code>COUNT(id)</code> query to estimate total number of results. This will be
-	 * available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param count Whether to estimate total number of results by {@link #getCountStrategy()}, which runs the
+	 * <code>COUNT(id)</code> query by default. This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
 	 * @param cacheable Whether the results should be cacheable.
 	 * @param resultType The result type which can be the entity type itself or a DTO subclass thereof.
 	 * @param queryBuilder This allows fine-graining the JPA criteria query and must return a mapping of
@@ -1750,15 +2573,136 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	 * @see Criteria
 	 */
 	protected <T extends E> PartialResultList<T> getPage(Page page, boolean count, boolean cacheable, Class<T> resultType, MappedQueryBuilder<T> queryBuilder) {
+		return getPage(page, count ? getCountStrategy() : null, cacheable, resultType, queryBuilder);
+	}
+
+	/**
+	 * Returns a partial result list based on given {@link Page}, count strategy, entity type and {@link QueryBuilder}.
+	 * @param <T> The generic type of the entity or a DTO subclass thereof.
+	 * @param page The page to return a partial result list for.
+	 * @param countStrategy The strategy to estimate total number of results, or <code>null</code> to not estimate at all.
+	 * This will be available by {@link PartialResultList#getEstimatedTotalNumberOfResults()}.
+	 * @param cacheable Whether the results should be cacheable.
+	 * @param resultType The result type which can be the entity type itself or a DTO subclass thereof.
+	 * @param queryBuilder This allows fine-graining the JPA criteria query and must return a mapping of
+	 * getters-paths when result type does not equal entity type.
+	 * @return A partial result list based on given {@link Page} and {@link MappedQueryBuilder}.
+	 * @throws IllegalArgumentException When the result type does not equal entity type and mapping is empty.
+	 * @see Page
+	 * @see Criteria
+	 * @see CountStrategy
+	 */
+	protected <T extends E> PartialResultList<T> getPage(Page page, CountStrategy countStrategy, boolean cacheable, Class<T> resultType, MappedQueryBuilder<T> queryBuilder) {
+		EntityServiceMetrics metrics = getMetrics();
+		long startTime = startTime(metrics);
+		boolean uncommitted = EntityCacheObserver.isModifiedInCurrentTransaction(entityType); // Then the cached page result may be outdated for this transaction.
+		List<Object> pageResultCacheKey = (cacheable && !uncommitted) ? buildPageResultCacheKey(page, countStrategy, resultType, queryBuilder) : null;
+		PartialResultList<T> cachedPageResult = (pageResultCacheKey != null) ? getCachedPageResult(pageResultCacheKey) : null;
+
+		if (cachedPageResult != null) {
+			recordOperation(metrics, "getPage", startTime, cachedPageResult.size());
+			return cachedPageResult;
+		}
+
+		Long generation = ENTITY_GENERATIONS.get(entityType);
+		PartialResultList<T> pageResult;
 		beforePage().accept(getEntityManager());
 
 		try {
-			logger.log(FINER, () -> format(LOG_FINER_GET_PAGE, page, count, cacheable, resultType));
-			PageBuilder<T> pageBuilder = new PageBuilder<>(page, cacheable, resultType, queryBuilder);
+			logger.log(FINER, () -> format(LOG_FINER_GET_PAGE, page, countStrategy, cacheable, resultType));
+			PageBuilder<T> pageBuilder = new PageBuilder<>(page, cacheable, resultType, queryBuilder, countStrategy);
 			CriteriaBuilder criteriaBuilder = getEntityManager().getCriteriaBuilder();
 			TypedQuery<T> entityQuery = buildEntityQuery(pageBuilder, criteriaBuilder);
-			TypedQuery<Long> countQuery = count ? buildCountQuery(pageBuilder, criteriaBuilder) : null;
-			return executeQuery(pageBuilder, entityQuery, countQuery);
+			pageResult = executeQuery(pageBuilder, entityQuery, criteriaBuilder);
+		}
+		finally {
+			afterPage().accept(getEntityManager());
+		}
+
+		recordOperation(metrics, "getPage", startTime, pageResult.size());
+		return (pageResultCacheKey != null) ? cachePageResult(pageResultCacheKey, pageResult, generation) : pageResult;
+	}
+
+	private <T extends E> List<Object> buildPageResultCacheKey(Page page, CountStrategy countStrategy, Class<T> resultType, MappedQueryBuilder<T> queryBuilder) {
+		if (!(queryBuilder instanceof FetchFieldsQueryBuilder) || !isPageResultCacheable()) {
+			return null;
+		}
+
+		return asList(
+			getClass(),
+			resultType,
+			((FetchFieldsQueryBuilder<T>) queryBuilder).getFetchFields(),
+			page,
+			countStrategy
+		);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends E> PartialResultList<T> getCachedPageResult(List<Object> pageResultCacheKey) {
+		CachedPageResult cachedPageResult = CACHED_PAGE_RESULTS.get(pageResultCacheKey);
+
+		if (cachedPageResult != null) {
+			if (cachedPageResult.isValid(ENTITY_GENERATIONS.get(entityType))) {
+				PAGE_RESULT_CACHE_HITS.increment();
+				return (PartialResultList<T>) cachedPageResult.getPageResult();
+			}
+
+			if (CACHED_PAGE_RESULTS.remove(pageResultCacheKey, cachedPageResult)) {
+				PAGE_RESULT_CACHE_EVICTIONS.increment();
+			}
+		}
+
+		PAGE_RESULT_CACHE_MISSES.increment();
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends E> PartialResultList<T> cachePageResult(List<Object> pageResultCacheKey, PartialResultList<T> pageResult, Long generation) {
+		if (EntityCacheObserver.isModifiedInCurrentTransaction(entityType)) {
+			return pageResult; // It may contain uncommitted data.
+		}
+
+		// The entities will be shared between all callers, so they may not stay managed by the persistence context of this caller.
+		pageResult.stream()
+			.filter(entity -> entity.getClass().getAnnotation(Entity.class) != null && getEntityManager().contains(entity))
+			.forEach(getEntityManager()::detach);
+
+		CachedPageResult cachedPageResult = new CachedPageResult(pageResult, generation, currentTimeMillis() + getPageResultCacheTimeToLive());
+		CACHED_PAGE_RESULTS.put(pageResultCacheKey, cachedPageResult);
+		return (PartialResultList<T>) cachedPageResult.getPageResult();
+	}
+
+
+	/**
+	 * Returns a stream based on given {@link Page}. This is the streaming counterpart of {@link #getPage(Page, boolean, String...)},
+	 * intended for exporting large amounts of entities, such as {@link Page#ALL}. The results are not stored in the second level
+	 * cache. See {@link #getResultStream(TypedQuery)} for details.
+	 * @param page The page to return a stream for.
+	 * @param fetchFields Optionally, all (lazy loaded) fields to be explicitly fetched during the query. Each field
+	 * can represent a JavaBean path, like as you would do in EL, such as <code>parent.child.subchild</code>.
+	 * @return A stream based on given {@link Page}. This must be closed after use.
+	 * @see Page
+	 * @see Criteria
+	 */
+	protected Stream<E> getPageAsStream(Page page, String... fetchFields) {
+		beforePage().accept(getEntityManager());
+
+		try {
+			logger.log(FINER, () -> format(LOG_FINER_GET_PAGE, page, false, false, entityType));
+			PageBuilder<E> pageBuilder = new PageBuilder<>(page, false, entityType, new FetchFieldsQueryBuilder<>(fetchFields), null);
+			TypedQuery<E> entityQuery = buildEntityQuery(pageBuilder, getEntityManager().getCriteriaBuilder());
+
+			if (provider != OPENJPA) {
+				entityQuery.setHint(QUERY_HINT_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+			}
+
+			if (pageBuilder.canBuildValueBasedPagingPredicate() && page.isReversed()) {
+				List<E> entities = entityQuery.getResultList(); // Reversed value based paging requires the whole page anyway.
+				reverse(entities);
+				return entities.stream();
+			}
+
+			return getResultStream(entityQuery);
 		}
 		finally {
 			afterPage().accept(getEntityManager());
@@ -1768,21 +2712,389 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 
 	// Query actions --------------------------------------------------------------------------------------------------
 
+	@SuppressWarnings("unchecked")
 	private <T extends E> TypedQuery<T> buildEntityQuery(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder) {
+		List<Object> templateKey = buildPageQueryTemplateKey(pageBuilder);
+
+		if (templateKey != null) {
+			PageQueryTemplate<T> template = (PageQueryTemplate<T>) PAGE_QUERY_TEMPLATES.get(templateKey);
+
+			Map<String, Object> criteriaParameters = (template != null) ? bindCriteriaParameters(pageBuilder.getPage(), template) : null;
+
+			if (criteriaParameters != null && template.accepts(criteriaParameters)) {
+				PAGE_QUERY_TEMPLATE_CACHE_HITS.increment();
+				pageBuilder.restore(template, criteriaParameters);
+				Map<String, Object> parameters = new HashMap<>(criteriaParameters);
+				template.getValueBasedPagingParameters().forEach((name, field) -> parameters.put(name, getValueBasedPagingValue(pageBuilder.getPage(), field.getKey(), field.getValue())));
+				return buildTypedQuery(pageBuilder, template.getEntityQuery(), (Root<E>) template.getEntityQueryRoot(), parameters);
+			}
+
+			PAGE_QUERY_TEMPLATE_CACHE_MISSES.increment();
+		}
+
 		CriteriaQuery<T> entityQuery = criteriaBuilder.createQuery(pageBuilder.getResultType());
 		Root<E> entityQueryRoot = buildRoot(entityQuery);
 		PathResolver pathResolver = buildSelection(pageBuilder, entityQuery, entityQueryRoot, criteriaBuilder);
 		buildOrderBy(pageBuilder, entityQuery, criteriaBuilder, pathResolver);
 		Map<String, Object> parameters = buildRestrictions(pageBuilder, entityQuery, criteriaBuilder, pathResolver);
+
+		if (pageBuilder.getPage().getCursor() != null && !pageBuilder.canBuildValueBasedPagingPredicate()) {
+			throw new IllegalArgumentException(ERROR_UNSUPPORTED_CURSOR);
+		}
+
+		if (templateKey != null && !pageBuilder.getCriteriaParameterNames().contains(null) && !PAGE_QUERY_TEMPLATES.containsKey(templateKey)) {
+			PageQueryTemplate<T> template = new PageQueryTemplate<>(pageBuilder, entityQuery, entityQueryRoot, parameters);
+			PAGE_QUERY_TEMPLATES.put(templateKey, template);
+			pageBuilder.setTemplate(template);
+		}
+
 		return buildTypedQuery(pageBuilder, entityQuery, entityQueryRoot, parameters);
 	}
 
 	private <T extends E> TypedQuery<Long> buildCountQuery(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder) {
+		Entry<CriteriaQuery<Long>, Map<String, Object>> countQuery = buildCountCriteriaQuery(pageBuilder, criteriaBuilder);
+		return buildTypedQuery(pageBuilder, countQuery.getKey(), null, countQuery.getValue());
+	}
+
+	private <T extends E> Entry<CriteriaQuery<Long>, Map<String, Object>> buildCountCriteriaQuery(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder) {
+		PageQueryTemplate<T> template = pageBuilder.getTemplate();
+		Entry<CriteriaQuery<Long>, Set<String>> cachedCountQuery = (template != null) ? template.getCountQuery() : null;
+
+		if (cachedCountQuery != null && pageBuilder.getCriteriaParameters() != null) {
+			Map<String, Object> parameters = new HashMap<>(cachedCountQuery.getValue().size());
+			cachedCountQuery.getValue().forEach(name -> parameters.put(name, pageBuilder.getCriteriaParameters().get(name)));
+			return new SimpleEntry<>(cachedCountQuery.getKey(), parameters);
+		}
+
 		CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
 		Root<E> countQueryRoot = countQuery.from(entityType);
 		countQuery.select(criteriaBuilder.count(countQueryRoot));
 		Map<String, Object> parameters = pageBuilder.shouldBuildCountSubquery() ? buildCountSubquery(pageBuilder, countQuery, countQueryRoot, criteriaBuilder) : emptyMap();
-		return buildTypedQuery(pageBuilder, countQuery, null, parameters);
+
+		if (template != null) {
+			template.setCountQuery(countQuery, parameters.keySet());
+		}
+
+		return new SimpleEntry<>(countQuery, parameters);
+	}
+
+	private <T extends E> Entry<Integer, Boolean> countResults(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder, int size, boolean hasMore, Future<Integer> parallelCount) {
+		CountStrategy countStrategy = pageBuilder.getCountStrategy();
+
+		if (countStrategy == null) {
+			return new SimpleEntry<>(-1, false);
+		}
+
+		switch (countStrategy) {
+			case HAS_MORE:
+				Page page = pageBuilder.getPage();
+				boolean reversed = pageBuilder.canBuildValueBasedPagingPredicate() && page.isReversed();
+				return new SimpleEntry<>(page.getOffset() + size + (hasMore ? 1 : 0), !hasMore && !reversed);
+			case ESTIMATED:
+				Long estimatedCount = canEstimateCount(pageBuilder) ? estimateCount() : null;
+
+				if (estimatedCount != null) {
+					return new SimpleEntry<>(estimatedCount.intValue(), false);
+				}
+
+				break;
+			case CACHED:
+				List<Object> countCacheKey = buildCountCacheKey(pageBuilder);
+
+				if (countCacheKey != null) {
+					return countCachedResults(pageBuilder, criteriaBuilder, countCacheKey, parallelCount);
+				}
+
+				break;
+			default:
+				break;
+		}
+
+		return new SimpleEntry<>(countExactResults(pageBuilder, criteriaBuilder, parallelCount), true);
+	}
+
+	private <T extends E> Entry<Integer, Boolean> countCachedResults(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder, List<Object> countCacheKey, Future<Integer> parallelCount) {
+		Entry<Integer, Long> cachedCount = getCachedCount(countCacheKey);
+
+		if (cachedCount != null) {
+			if (parallelCount != null) {
+				parallelCount.cancel(true);
+			}
+
+			return new SimpleEntry<>(cachedCount.getKey(), false);
+		}
+
+		int count = countExactResults(pageBuilder, criteriaBuilder, parallelCount);
+		CACHED_COUNTS.put(countCacheKey, new SimpleEntry<>(count, currentTimeMillis() + getCountCacheTimeToLive()));
+		return new SimpleEntry<>(count, true);
+	}
+
+	private static Entry<Integer, Long> getCachedCount(List<Object> countCacheKey) {
+		Entry<Integer, Long> cachedCount = CACHED_COUNTS.get(countCacheKey);
+		return (cachedCount != null && cachedCount.getValue() > currentTimeMillis()) ? cachedCount : null;
+	}
+
+	private <T extends E> int countExactResults(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder, Future<Integer> parallelCount) {
+		return (parallelCount != null) ? getFutureResult(parallelCount) : buildCountQuery(pageBuilder, criteriaBuilder).getSingleResult().intValue();
+	}
+
+	private <T extends E> Future<Integer> submitCountQueryIfNecessary(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder) {
+		if (!isCountQueryParallelizable() || !requiresCountQuery(pageBuilder) || getEntityManager().isJoinedToTransaction()) {
+			return null;
+		}
+
+		ExecutorService executor = getManagedExecutorService();
+
+		if (executor == null) {
+			return null;
+		}
+
+		Entry<CriteriaQuery<Long>, Map<String, Object>> countQuery = buildCountCriteriaQuery(pageBuilder, criteriaBuilder);
+		Consumer<TypedQuery<?>> onPage = onPage(pageBuilder.getResultType(), pageBuilder.isCacheable());
+		Consumer<EntityManager> beforePage = beforePage();
+		Consumer<EntityManager> afterPage = afterPage();
+		EntityManagerFactory entityManagerFactory = getEntityManager().getEntityManagerFactory();
+
+		return executor.submit(() -> {
+			EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+			try {
+				beforePage.accept(entityManager);
+
+				try {
+					TypedQuery<Long> typedQuery = entityManager.createQuery(countQuery.getKey());
+					setMappedParameters(typedQuery, countQuery.getValue());
+					onPage.accept(typedQuery);
+					return typedQuery.getSingleResult().intValue();
+				}
+				finally {
+					afterPage.accept(entityManager);
+				}
+			}
+			finally {
+				entityManager.close();
+			}
+		});
+	}
+
+	private <T extends E> boolean requiresCountQuery(PageBuilder<T> pageBuilder) {
+		CountStrategy countStrategy = pageBuilder.getCountStrategy();
+
+		if (countStrategy == CountStrategy.CACHED) {
+			List<Object> countCacheKey = buildCountCacheKey(pageBuilder);
+			return countCacheKey == null || getCachedCount(countCacheKey) == null;
+		}
+
+		return countStrategy == CountStrategy.EXACT || (countStrategy == CountStrategy.ESTIMATED && !canEstimateCount(pageBuilder));
+	}
+
+	private <T extends E> List<Object> buildCountCacheKey(PageBuilder<T> pageBuilder) {
+		if (!(pageBuilder.getQueryBuilder() instanceof FetchFieldsQueryBuilder)) {
+			return null;
+		}
+
+		Page page = pageBuilder.getPage();
+		return asList(getClass(), pageBuilder.getResultType(), page.getRequiredCriteria(), page.getOptionalCriteria());
+	}
+
+	private <T extends E> boolean canEstimateCount(PageBuilder<T> pageBuilder) {
+		Page page = pageBuilder.getPage();
+		return pageBuilder.getQueryBuilder() instanceof FetchFieldsQueryBuilder
+			&& !pageBuilder.shouldBuildCountSubquery()
+			&& page.getRequiredCriteria().isEmpty()
+			&& page.getOptionalCriteria().isEmpty();
+	}
+
+	private Long estimateCount() {
+		String sql = getDatabase().getEstimatedRowCountQuery();
+		String tableName = getTableName();
+
+		if (sql != null) {
+			List<?> results = getEntityManager().createNativeQuery(sql).setParameter(1, tableName).getResultList();
+
+			if (!results.isEmpty() && results.get(0) instanceof Number && ((Number) results.get(0)).longValue() >= 0) {
+				return ((Number) results.get(0)).longValue();
+			}
+		}
+
+		logger.log(FINE, () -> format(LOG_FINE_UNAVAILABLE_ESTIMATED_COUNT, tableName, getDatabase()));
+		return null;
+	}
+
+	private String getTableName() {
+		Table table = entityType.getAnnotation(Table.class);
+
+		if (table != null && !table.name().isEmpty()) {
+			return table.schema().isEmpty() ? table.name() : (table.schema() + "." + table.name());
+		}
+
+		return getEntityManager().getMetamodel().entity(entityType).getName();
+	}
+
+	private <T extends E> List<Object> buildPageQueryTemplateKey(PageBuilder<T> pageBuilder) {
+		if (!(pageBuilder.getQueryBuilder() instanceof FetchFieldsQueryBuilder) || !isPageQueryTemplateCacheable()) {
+			return null;
+		}
+
+		Page page = pageBuilder.getPage();
+		boolean valueBasedPaging = pageBuilder.canBuildValueBasedPagingPredicate();
+		List<Boolean> lastValuesPresence = valueBasedPaging
+			? page.getOrdering().keySet().stream().map(field -> hasValueBasedPagingValue(page, field)).collect(toList())
+			: emptyList();
+
+		return asList(
+			getClass(),
+			pageBuilder.getResultType(),
+			((FetchFieldsQueryBuilder<T>) pageBuilder.getQueryBuilder()).getFetchFields(),
+			new ArrayList<>(page.getOrdering().entrySet()),
+			buildCriteriaShape(page.getRequiredCriteria()),
+			buildCriteriaShape(page.getOptionalCriteria()),
+			page.getLimit() - page.getOffset() == 1,
+			valueBasedPaging,
+			valueBasedPaging && page.isReversed(),
+			lastValuesPresence
+		);
+	}
+
+	/**
+	 * The shape of the criteria consists of their field names and the types of their values, without the values themselves,
+	 * except for where the value determines the structure of the predicate rather than a parameter, such as the size of a
+	 * collection, the operator of an {@link org.omnifaces.persistence.criteria.Order} or a boolean value.
+	 */
+	private static List<Object> buildCriteriaShape(Map<String, Object> criteria) {
+		return stream(criteria).map(criterion -> asList(criterion.getKey(), buildCriteriaValueShape(criterion.getValue()))).collect(toList());
+	}
+
+	private static Object buildCriteriaValueShape(Object value) {
+		if (value == null) {
+			return null;
+		}
+		else if (value instanceof org.omnifaces.persistence.criteria.Order) {
+			org.omnifaces.persistence.criteria.Order<?> order = (org.omnifaces.persistence.criteria.Order<?>) value;
+			return asList(order.getClass(), order.lessThan(), order.lessThanOrEqualTo(), order.greaterThanOrEqualTo(), buildCriteriaValueShape(order.getValue()));
+		}
+		else if (value instanceof Bool) {
+			return asList(Bool.class, ((Bool) value).getValue());
+		}
+		else if (value instanceof Boolean) {
+			return value;
+		}
+		else if (value instanceof Criteria) {
+			return asList(value.getClass(), buildCriteriaValueShape(((Criteria<?>) value).getValue()));
+		}
+		else if (value instanceof Iterable || value.getClass().isArray()) {
+			return stream(value).map(BaseEntityService::buildCriteriaValueShape).collect(toList());
+		}
+		else {
+			return value.getClass();
+		}
+	}
+
+	/**
+	 * Binds the criteria values of the given page to the parameter names of the given page query template without building any
+	 * predicate. Returns <code>null</code> when a criteria value cannot be bound this way, so that the query must be built anyway.
+	 */
+	private Map<String, Object> bindCriteriaParameters(Page page, PageQueryTemplate<?> template) {
+		List<Entry<String, Object>> criteria = Stream.concat(stream(page.getRequiredCriteria()), stream(page.getOptionalCriteria())).collect(toList());
+		List<Entry<Class<?>, List<String>>> criteriaParameterNames = template.getCriteriaParameterNames();
+
+		if (criteria.size() != criteriaParameterNames.size()) {
+			return null;
+		}
+
+		Map<String, Object> parameters = new HashMap<>(criteria.size());
+
+		for (int i = 0; i < criteria.size(); i++) {
+			Entry<String, Object> criterion = criteria.get(i);
+			Class<?> type = criteriaParameterNames.get(i).getKey();
+			List<String> names = criteriaParameterNames.get(i).getValue();
+			List<Object> values = new ArrayList<>(names.size());
+
+			if (!collectParameterValues(type, criterion.getKey(), criterion.getValue(), values) || values.size() != names.size()) {
+				return null;
+			}
+
+			range(0, names.size()).forEach(j -> parameters.put(names.get(j), values.get(j)));
+		}
+
+		return parameters;
+	}
+
+	/**
+	 * Collects the parameter values which {@link #buildTypedPredicate(Expression, Class, String, Object, AbstractQuery, CriteriaBuilder, PathResolver, ParameterBuilder)}
+	 * would create for the given criteria value, in the same order. Returns <code>false</code> when this is unknown, such as for a
+	 * custom {@link Criteria}, or when the criteria value is illegal.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean collectParameterValues(Class<?> type, String field, Object criteria, List<Object> values) {
+		Object value = (criteria instanceof Not) ? ((Not) criteria).getValue() : criteria;
+
+		try {
+			if (value == null || (value instanceof Criteria && ((Criteria<?>) value).getValue() == null)) {
+				return true;
+			}
+			else if (value instanceof Criteria) {
+				return collectCriteriaParameterValues(type, (Criteria<?>) value, values);
+			}
+			else if (elementCollections.contains(field)) {
+				boolean inPredicate = canBuildElementCollectionInPredicate();
+				stream(value).map(item -> createElementCollectionCriteria(type, item).getValue()).filter(item -> !inPredicate || item != null).forEach(values::add);
+				return true;
+			}
+			else if (value instanceof Iterable || value.getClass().isArray()) {
+				return stream(value).allMatch(item -> collectParameterValues(type, field, item, values));
+			}
+			else if (value instanceof BaseEntity) {
+				return values.add(value);
+			}
+			else if (type.isEnum()) {
+				return collectCriteriaParameterValues(type, Enumerated.parse(value, (Class<Enum<?>>) type), values);
+			}
+			else if (Number.class.isAssignableFrom(type)) {
+				return collectCriteriaParameterValues(type, Numeric.parse(value, (Class<Number>) type), values);
+			}
+			else if (Boolean.class.isAssignableFrom(type)) {
+				return value instanceof Boolean; // Only then the boolean value is part of the template key.
+			}
+			else if (String.class.isAssignableFrom(type) || value instanceof String) {
+				return collectCriteriaParameterValues(type, IgnoreCase.value(value.toString()), values);
+			}
+			else {
+				return false;
+			}
+		}
+		catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the parameter values which {@link Criteria#build(Expression, CriteriaBuilder, ParameterBuilder)} of the known criteria
+	 * would create, in the same order.
+	 */
+	private static boolean collectCriteriaParameterValues(Class<?> type, Criteria<?> criteria, List<Object> values) {
+		if (criteria instanceof Bool) {
+			return true;
+		}
+		else if (criteria instanceof Between) {
+			Range<?> range = ((Between<?>) criteria).getValue();
+			return values.add(range.getMin()) && values.add(range.getMax());
+		}
+		else if (criteria instanceof Like) {
+			if (type.isEnum()) {
+				return false; // Its predicate depends on the enum mapping.
+			}
+
+			Like like = (Like) criteria;
+			boolean lowercaseable = !Number.class.isAssignableFrom(type);
+			return values.add((like.startsWith() ? "" : "%") + (lowercaseable ? like.getValue().toLowerCase() : like.getValue()) + (like.endsWith() ? "" : "%"));
+		}
+		else if (criteria instanceof Enumerated || criteria instanceof Numeric || criteria instanceof IgnoreCase || criteria instanceof org.omnifaces.persistence.criteria.Order) {
+			return values.add(criteria.getValue());
+		}
+		else {
+			return false;
+		}
 	}
 
 	private <T extends E> Map<String, Object> buildCountSubquery(PageBuilder<T> pageBuilder, CriteriaQuery<Long> countQuery, Root<E> countRoot, CriteriaBuilder criteriaBuilder) {
@@ -1836,17 +3148,66 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		setMappedParameters(typedQuery, mappedParameters);
 	}
 
-	private <T extends E> PartialResultList<T> executeQuery(PageBuilder<T> pageBuilder, TypedQuery<T> entityQuery, TypedQuery<Long> countQuery) {
+	private <T extends E> PartialResultList<T> executeQuery(PageBuilder<T> pageBuilder, TypedQuery<T> entityQuery, CriteriaBuilder criteriaBuilder) {
 		Page page = pageBuilder.getPage();
-		List<T> entities = entityQuery.getResultList();
+		EntityServiceMetrics metrics = getMetrics();
+		Future<Integer> parallelCount = submitCountQueryIfNecessary(pageBuilder, criteriaBuilder);
+		long entityQueryStartTime = startTime(metrics);
+		List<T> results;
 
-		if (pageBuilder.canBuildValueBasedPagingPredicate() && page.isReversed()) {
+		try {
+			results = entityQuery.getResultList();
+		}
+		catch (RuntimeException e) {
+			if (parallelCount != null) {
+				parallelCount.cancel(true);
+			}
+
+			throw e;
+		}
+
+		boolean hasMore = pageBuilder.getCountStrategy() == CountStrategy.HAS_MORE && results.size() > page.getLimit();
+		List<T> entities = hasMore ? new ArrayList<>(results.subList(0, page.getLimit())) : results; // One more was fetched by buildRange().
+
+		boolean valueBasedPaging = pageBuilder.canBuildValueBasedPagingPredicate();
+		boolean reversed = valueBasedPaging && page.isReversed();
+
+		if (reversed) {
 			reverse(entities);
 		}
 
-		int estimatedTotalNumberOfResults = (countQuery != null) ? countQuery.getSingleResult().intValue() : -1;
-		logger.log(FINER, () -> format(LOG_FINER_QUERY_RESULT, entities, estimatedTotalNumberOfResults));
-		return new PartialResultList<>(entities, page.getOffset(), estimatedTotalNumberOfResults);
+		long countQueryStartTime = startTime(metrics);
+		Entry<Integer, Boolean> count = countResults(pageBuilder, criteriaBuilder, entities.size(), hasMore, parallelCount);
+
+		if (metrics.isEnabled()) {
+			long countQueryTime = (pageBuilder.getCountStrategy() != null) ? (nanoTime() - countQueryStartTime) : -1;
+			metrics.recordPageQueries(getClass(), countQueryStartTime - entityQueryStartTime, countQueryTime);
+		}
+
+		logger.log(FINER, () -> format(LOG_FINER_QUERY_RESULT, entities, count.getKey()));
+		Cursor previousCursor = null;
+		Cursor nextCursor = null;
+
+		if (pageBuilder.getResultType() == entityType && !entities.isEmpty()) {
+			boolean hasPrevious = (reversed && entities.size() >= page.getLimit()) || (!reversed && (valueBasedPaging || page.getOffset() > 0));
+			boolean hasNext = reversed || entities.size() >= page.getLimit();
+			previousCursor = hasPrevious ? buildCursor(page, entities.get(0), true) : null;
+			nextCursor = hasNext ? buildCursor(page, entities.get(entities.size() - 1), false) : null;
+		}
+
+		return new CursoredResultList<>(entities, page.getOffset(), count.getKey(), previousCursor, nextCursor, pageBuilder.getCountStrategy(), count.getValue());
+	}
+
+	private static Cursor buildCursor(Page page, Object entity, boolean reversed) {
+		try {
+			Map<String, Object> values = new LinkedHashMap<>(page.getOrdering().size());
+			page.getOrdering().keySet().forEach(field -> values.put(field, invokeGetter(entity, field)));
+			return Cursor.of(values, reversed);
+		}
+		catch (Exception e) {
+			logger.log(FINE, e, () -> format(LOG_FINE_UNAVAILABLE_CURSOR, entity, page.getOrdering()));
+			return null;
+		}
 	}
 
 
@@ -1880,12 +3241,12 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 			boolean orderingContainsAggregatedFields = aggregatedFields.removeAll(pageBuilder.getPage().getOrdering().keySet());
 			pageBuilder.shouldBuildCountSubquery(true); // Normally, building of count subquery is skipped for performance, but when there's a custom mapping, we cannot reliably determine if custom criteria is used, so count subquery building cannot be reliably skipped.
 			pageBuilder.canBuildValueBasedPagingPredicate(provider != HIBERNATE || !orderingContainsAggregatedFields); // Value based paging cannot be used in Hibernate if ordering contains aggregated fields, because Hibernate may return a cartesian product and apply firstResult/maxResults in memory.
-			return new MappedPathResolver(root, paths, ELEMENT_COLLECTION_MAPPINGS.get(entityType), MANY_OR_ONE_TO_ONE_MAPPINGS.get(entityType));
+			return new MappedPathResolver(root, paths, elementCollections, manyOrOneToOnes);
 		}
 		else if (pageBuilder.getResultType() == entityType) {
 			pageBuilder.shouldBuildCountSubquery(mapping != null); // mapping is empty but not null when getPage(..., QueryBuilder) is used.
 			pageBuilder.canBuildValueBasedPagingPredicate(mapping == null); // when mapping is not null, we cannot reliably determine if ordering contains aggregated fields, so value based paging cannot be reliably used.
-			return new RootPathResolver(root, ELEMENT_COLLECTION_MAPPINGS.get(entityType), MANY_OR_ONE_TO_ONE_MAPPINGS.get(entityType));
+			return new RootPathResolver(root, elementCollections, manyOrOneToOnes);
 		}
 		else {
 			throw new IllegalArgumentException(ERROR_ILLEGAL_MAPPING);
@@ -1905,7 +3266,8 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		}
 
 		if (hasJoins || page.getLimit() != MAX_VALUE) {
-			query.setMaxResults(page.getLimit());
+			boolean fetchOneMore = pageBuilder.getCountStrategy() == CountStrategy.HAS_MORE && page.getLimit() != MAX_VALUE;
+			query.setMaxResults(fetchOneMore ? page.getLimit() + 1 : page.getLimit());
 		}
 
 		if (hasJoins && root instanceof EclipseLinkRoot) {
@@ -1920,7 +3282,7 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		Page page = pageBuilder.getPage();
 		Map<String, Boolean> ordering = page.getOrdering();
 
-		if (ordering.isEmpty() || page.getLimit() - page.getOffset() == 1) {
+		if (ordering.isEmpty() || (page.getLimit() - page.getOffset() == 1 && !pageBuilder.canBuildValueBasedPagingPredicate())) {
 			return;
 		}
 
@@ -1948,10 +3310,13 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	// Searching actions -----------------------------------------------------------------------------------------------
 
 	private <T extends E> Map<String, Object> buildRestrictions(PageBuilder<T> pageBuilder, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver) {
+		EntityServiceMetrics metrics = getMetrics();
+		long startTime = startTime(metrics);
 		Page page = pageBuilder.getPage();
 		Map<String, Object> parameters = new HashMap<>(page.getRequiredCriteria().size() + page.getOptionalCriteria().size());
-		List<Predicate> requiredPredicates = buildPredicates(page.getRequiredCriteria(), query, criteriaBuilder, pathResolver, parameters);
-		List<Predicate> optionalPredicates = buildPredicates(page.getOptionalCriteria(), query, criteriaBuilder, pathResolver, parameters);
+		List<Entry<Class<?>, List<String>>> criteriaParameterNames = (query instanceof Subquery) ? new ArrayList<>() : pageBuilder.getCriteriaParameterNames();
+		List<Predicate> requiredPredicates = buildPredicates(page.getRequiredCriteria(), query, criteriaBuilder, pathResolver, parameters, criteriaParameterNames);
+		List<Predicate> optionalPredicates = buildPredicates(page.getOptionalCriteria(), query, criteriaBuilder, pathResolver, parameters, criteriaParameterNames);
 		Predicate restriction = null;
 
 		if (!optionalPredicates.isEmpty()) {
@@ -1986,7 +3351,7 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		}
 
 		if (!(query instanceof Subquery) && pageBuilder.canBuildValueBasedPagingPredicate()) {
-			restriction = conjunctRestrictionsIfNecessary(criteriaBuilder, restriction, buildValueBasedPagingPredicate(page, criteriaBuilder, pathResolver, parameters));
+			restriction = conjunctRestrictionsIfNecessary(criteriaBuilder, restriction, buildValueBasedPagingPredicate(pageBuilder, criteriaBuilder, pathResolver, parameters));
 		}
 
 		if (restriction != null) {
@@ -1994,23 +3359,27 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 			query.distinct(distinct).where(conjunctRestrictionsIfNecessary(criteriaBuilder, query.getRestriction(), restriction));
 		}
 
+		if (metrics.isEnabled()) {
+			metrics.recordRestrictions(getClass(), nanoTime() - startTime);
+		}
+
 		return parameters;
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T extends E, V extends Comparable<V>> Predicate buildValueBasedPagingPredicate(Page page, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters) {
+	private <T extends E, V extends Comparable<V>> Predicate buildValueBasedPagingPredicate(PageBuilder<T> pageBuilder, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters) {
 		// Value based paging https://blog.novatec-gmbh.de/art-pagination-offset-vs-value-based-paging/ is on large offsets much faster than offset based paging.
 		// (orderByField1 > ?1) OR (orderByField1 = ?1 AND orderByField2 > ?2) OR (orderByField1 = ?1 AND orderByField2 = ?2 AND orderByField3 > ?3) [...]
 
+		Page page = pageBuilder.getPage();
 		List<Predicate> predicates = new ArrayList<>(page.getOrdering().size());
 		Map<Expression<V>, ParameterExpression<V>> orderByFields = new HashMap<>();
-		T last = (T) page.getLast();
-
 		for (Entry<String, Boolean> order : page.getOrdering().entrySet()) {
 			String field = order.getKey();
-			V value = invokeGetter(last, field);
 			Expression<V> path = (Expression<V>) pathResolver.get(field);
-			ParameterExpression<V> parameter = new UncheckedParameterBuilder(field, criteriaBuilder, parameters).create(value);
+			V value = (V) getValueBasedPagingValue(page, field, path.getJavaType());
+			ParameterExpression<V> parameter = new UncheckedParameterBuilder(field, criteriaBuilder, parameters, provider, database).create(value);
+			pageBuilder.getValueBasedPagingParameters().put(parameter.getName(), new SimpleEntry<>(field, path.getJavaType()));
 			Predicate predicate = order.getValue() ^ page.isReversed() ? criteriaBuilder.greaterThan(path, parameter) : criteriaBuilder.lessThan(path, parameter);
 
 			for (Entry<Expression<V>, ParameterExpression<V>> previousOrderByField : orderByFields.entrySet()) {
@@ -2026,18 +3395,29 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return criteriaBuilder.or(toArray(predicates));
 	}
 
-	private <T extends E> List<Predicate> buildPredicates(Map<String, Object> criteria, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters) {
+	private static Object getValueBasedPagingValue(Page page, String field, Class<?> type) {
+		return (page.getCursor() != null) ? page.getCursor().getValue(field, type) : invokeGetter(page.getLast(), field);
+	}
+
+	private static boolean hasValueBasedPagingValue(Page page, String field) {
+		return (page.getCursor() != null) ? page.getCursor().hasValue(field) : invokeGetter(page.getLast(), field) != null;
+	}
+
+	private <T extends E> List<Predicate> buildPredicates(Map<String, Object> criteria, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters, List<Entry<Class<?>, List<String>>> parameterNames) {
 		return stream(criteria)
-			.map(parameter -> buildPredicate(parameter, query, criteriaBuilder, pathResolver, parameters))
+			.map(parameter -> buildPredicate(parameter, query, criteriaBuilder, pathResolver, parameters, parameterNames))
 			.filter(Objects::nonNull)
 			.collect(toList());
 	}
 
-	private <T extends E> Predicate buildPredicate(Entry<String, Object> parameter, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters) {
+	private <T extends E> Predicate buildPredicate(Entry<String, Object> parameter, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, Map<String, Object> parameters, List<Entry<Class<?>, List<String>>> parameterNames) {
 		String field = parameter.getKey();
 		Expression<?> path = pathResolver.get(elementCollections.contains(field) ? pathResolver.join(field) : field);
 		Class<?> type = ID.equals(field) ? identifierType : path.getJavaType();
-		return buildTypedPredicate(path, type, field,  parameter.getValue(), query, criteriaBuilder, pathResolver, new UncheckedParameterBuilder(field, criteriaBuilder, parameters));
+		UncheckedParameterBuilder parameterBuilder = new UncheckedParameterBuilder(field, criteriaBuilder, parameters, provider, database);
+		Predicate predicate = buildTypedPredicate(path, type, field,  parameter.getValue(), query, criteriaBuilder, pathResolver, parameterBuilder);
+		parameterNames.add((predicate != null) ? new SimpleEntry<>(type, parameterBuilder.getNames()) : null);
+		return predicate;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -2097,17 +3477,21 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 	}
 
 	private <T extends E> Predicate buildElementCollectionPredicate(Alias alias, Expression<?> path, Class<?> type, String field, Object value, AbstractQuery<T> query, CriteriaBuilder criteriaBuilder, PathResolver pathResolver, ParameterBuilder parameterBuilder) {
-		if (provider == ECLIPSELINK || (provider == HIBERNATE && database == POSTGRESQL)) {
-			// EclipseLink refuses to perform GROUP BY on IN clause on @ElementCollection, causing a cartesian product.
-			// Hibernate + PostgreSQL bugs on IN clause on @ElementCollection as PostgreSQL strictly requires an additional GROUP BY, but Hibernate didn't set it.
-			return buildArrayPredicate(path, type, field, value, query, criteriaBuilder, pathResolver, parameterBuilder);
+		if (canBuildElementCollectionInPredicate()) {
+			// A real IN predicate is more efficient than an array predicate, even though both approaches are supported.
+			return buildInPredicate(alias, path, type, value, parameterBuilder);
 		}
 		else {
-			// For other cases, a real IN predicate is more efficient than an array predicate, even though both approaches are supported.
-			return buildInPredicate(alias, path, type, value, parameterBuilder);
+			return buildArrayPredicate(path, type, field, value, query, criteriaBuilder, pathResolver, parameterBuilder);
 		}
 	}
 
+	private boolean canBuildElementCollectionInPredicate() {
+		// EclipseLink refuses to perform GROUP BY on IN clause on @ElementCollection, causing a cartesian product.
+		// Hibernate + PostgreSQL bugs on IN clause on @ElementCollection as PostgreSQL strictly requires an additional GROUP BY, but Hibernate didn't set it.
+		return !(provider == ECLIPSELINK || (provider == HIBERNATE && database == POSTGRESQL));
+	}
+
 	private Predicate buildInPredicate(Alias alias, Expression<?> path, Class<?> type, Object value, ParameterBuilder parameterBuilder) {
 		List<Expression<?>> in = stream(value)
 			.map(item -> createElementCollectionCriteria(type, item).getValue())
@@ -2198,6 +3582,20 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		}
 	}
 
+	private static <R> R getFutureResult(Future<R> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+		}
+	}
+
 	private static Predicate[] toArray(List<Predicate> predicates) {
 		return predicates.toArray(new Predicate[predicates.size()]);
 	}
@@ -2247,4 +3645,21 @@ public abstract class BaseEntityService<I extends Comparable<I> & Serializable,
 		return null;
 	}
 
+	private static long startTime(EntityServiceMetrics metrics) {
+		return metrics.isEnabled() ? nanoTime() : 0;
+	}
+
+	private void recordOperation(EntityServiceMetrics metrics, String operation, long startTime, int rows) {
+		if (!metrics.isEnabled()) {
+			return;
+		}
+
+		metrics.recordOperation(getClass(), operation, nanoTime() - startTime, rows);
+		int persistenceContextSize = provider.getPersistenceContextSize(getEntityManager());
+
+		if (persistenceContextSize >= 0) {
+			metrics.recordPersistenceContextSize(getClass(), persistenceContextSize);
+		}
+	}
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.util.Collections.synchronizedMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Helper class of {@link BaseEntityService}. This is a {@link LinkedHashMap} in access order which removes the least recently
+ * used entry once the maximum size is exceeded, optionally notifying a listener on every removal.
+ */
+class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int maxSize;
+	private final transient Runnable evictionListener;
+
+	private BoundedLruMap(int maxSize, Runnable evictionListener) {
+		super(16, 0.75f, true);
+		this.maxSize = maxSize;
+		this.evictionListener = evictionListener;
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Entry<K, V> eldest) {
+		boolean evict = size() > maxSize;
+
+		if (evict && evictionListener != null) {
+			evictionListener.run();
+		}
+
+		return evict;
+	}
+
+	/**
+	 * Returns a synchronized bounded LRU map. As a get also modifies an access ordered map, it needs synchronization as well.
+	 * @param maxSize The maximum size of the map.
+	 * @return A synchronized bounded LRU map.
+	 */
+	public static <K, V> Map<K, V> create(int maxSize) {
+		return create(maxSize, null);
+	}
+
+	/**
+	 * Returns a synchronized bounded LRU map.
+	 * @param maxSize The maximum size of the map.
+	 * @param evictionListener Invoked on every removal of the least recently used entry.
+	 * @return A synchronized bounded LRU map.
+	 */
+	public static <K, V> Map<K, V> create(int maxSize, Runnable evictionListener) {
+		return synchronizedMap(new BoundedLruMap<>(maxSize, evictionListener));
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+import org.omnifaces.persistence.model.dto.CursoredResultList;
+import org.omnifaces.utils.collection.PartialResultList;
+
+/**
+ * Helper class of {@link BaseEntityService}. This holds an unmodifiable copy of a partial result list along with the
+ * generation of its entity type at the moment it was queried and the moment it expires.
+ */
+class CachedPageResult {
+
+	private final PartialResultList<?> pageResult;
+	private final Long generation;
+	private final long expiresAt;
+
+	public CachedPageResult(PartialResultList<?> pageResult, Long generation, long expiresAt) {
+		this.pageResult = copyOf(pageResult);
+		this.generation = generation;
+		this.expiresAt = expiresAt;
+	}
+
+	private static <T> PartialResultList<T> copyOf(PartialResultList<T> pageResult) {
+		if (pageResult instanceof CursoredResultList) {
+			CursoredResultList<T> cursoredResult = (CursoredResultList<T>) pageResult;
+			return new CursoredResultList<>(unmodifiableList(new ArrayList<>(cursoredResult)), cursoredResult.getOffset(), cursoredResult.getEstimatedTotalNumberOfResults(),
+				cursoredResult.getPreviousCursor(), cursoredResult.getNextCursor(), cursoredResult.getCountStrategy(), cursoredResult.isExactCount());
+		}
+
+		return new PartialResultList<>(unmodifiableList(new ArrayList<>(pageResult)), pageResult.getOffset(), pageResult.getEstimatedTotalNumberOfResults());
+	}
+
+	public PartialResultList<?> getPageResult() {
+		return pageResult;
+	}
+
+	/**
+	 * Returns whether this cached page result is not expired and not invalidated by a modification of its entity type.
+	 * @param currentGeneration The current generation of its entity type.
+	 * @return Whether this cached page result is still valid.
+	 */
+	public boolean isValid(Long currentGeneration) {
+		return Objects.equals(generation, currentGeneration) && expiresAt > currentTimeMillis();
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static org.omnifaces.persistence.JNDI.getActiveTransactionSynchronizationRegistry;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.omnifaces.persistence.event.BatchEvents;
+import org.omnifaces.persistence.listener.BaseEntityListener;
+
+/**
+ * Helper class of {@link BaseEntityService}. This is notified by {@link BaseEntityListener} of every created, updated and
+ * deleted entity, also when its events are batched by {@link BatchEvents}, and invalidates the entity snapshots and cached
+ * page results of the affected entity type once the transaction has completed, regardless of whether it was committed or
+ * rolled back, so that they are never rebuilt from uncommitted data. Until then, the entity type is remembered as modified
+ * in the current transaction, so that no page results are cached from it nor served to it.
+ * <p>
+ * This is public only because {@link BaseEntityListener} lives in another package. It is not intended to be used directly.
+ */
+public final class EntityCacheObserver {
+
+	private EntityCacheObserver() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Remembers given entity type as modified in the current transaction and invalidates its entity caches once the
+	 * transaction has completed, or immediately when there is no active transaction. This is invoked by
+	 * {@link BaseEntityListener}, and by {@link BaseEntityService} after bulk statements, as these bypass the entity listeners.
+	 * @param entityType The modified entity type.
+	 */
+	public static void markModified(Class<?> entityType) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			BaseEntityService.invalidateEntityCaches(entityType);
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<Class<?>> modifiedEntityTypes = (Set<Class<?>>) registry.getResource(EntityCacheObserver.class);
+
+		if (modifiedEntityTypes == null) {
+			Set<Class<?>> newModifiedEntityTypes = new LinkedHashSet<>();
+			registry.putResource(EntityCacheObserver.class, newModifiedEntityTypes);
+			registry.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					// NOOP.
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					newModifiedEntityTypes.forEach(BaseEntityService::invalidateEntityCaches);
+				}
+			});
+			modifiedEntityTypes = newModifiedEntityTypes;
+		}
+
+		modifiedEntityTypes.add(entityType);
+	}
+
+	/**
+	 * Returns whether any entity of given entity type, its superclasses or its subclasses has been modified in the
+	 * current transaction.
+	 */
+	static boolean isModifiedInCurrentTransaction(Class<?> entityType) {
+		TransactionSynchronizationRegistry registry = getActiveTransactionSynchronizationRegistry();
+
+		if (registry == null) {
+			return false;
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<Class<?>> modifiedEntityTypes = (Set<Class<?>>) registry.getResource(EntityCacheObserver.class);
+		return modifiedEntityTypes != null && modifiedEntityTypes.stream().anyMatch(type -> type.isAssignableFrom(entityType) || entityType.isAssignableFrom(type));
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.util.logging.Level.WARNING;
+import static javax.ejb.TransactionManagementType.BEAN;
+
+import java.util.logging.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionManagement;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+/**
+ * <p>
+ * Walks the whole JPA metamodel once during deployment and precomputes the entity mappings which {@link BaseEntityService}
+ * needs in order to build proper queries on {@link javax.persistence.ElementCollection},
+ * {@link javax.persistence.ManyToOne}, {@link javax.persistence.OneToOne} and {@link javax.persistence.OneToMany} fields.
+ * This way the first request after deployment isn't slowed down by computing them. The time it took is logged and
+ * available via {@link BaseEntityService#getEntityMappingsBuildTime()}.
+ * <p>
+ * This only covers the default persistence unit. Entities of any other persistence unit will still have their mappings
+ * computed during the first injection of their {@link BaseEntityService}.
+ *
+ * @see BaseEntityService
+ */
+@Singleton
+@Startup
+@TransactionManagement(BEAN)
+public class EntityMappingService {
+
+	private static final Logger logger = Logger.getLogger(EntityMappingService.class.getName());
+
+	private static final String LOG_WARNING_CANNOT_PRECOMPUTE_ENTITY_MAPPINGS =
+		"Cannot precompute entity mappings, they will be computed during first injection of BaseEntityService instead.";
+
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	private void precomputeEntityMappings() {
+		try {
+			BaseEntityService.precomputeEntityMappings(entityManagerFactory);
+		}
+		catch (Exception e) {
+			logger.log(WARNING, LOG_WARNING_CANNOT_PRECOMPUTE_ENTITY_MAPPINGS, e);
+		}
+	}
+
+}
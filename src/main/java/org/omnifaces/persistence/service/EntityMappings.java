@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.persistence.CascadeType;
+import javax.persistence.EntityListeners;
+import javax.persistence.ExcludeSuperclassListeners;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToOne;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Bindable;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+
+import org.omnifaces.persistence.Provider;
+import org.omnifaces.persistence.listener.BaseEntityListener;
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * Helper class of {@link BaseEntityService}. This holds the immutable metamodel derived mappings of an entity, so that
+ * they can be computed once for all entities during deployment. The one-to-many mappings are held in a prefix trie, so
+ * that checking whether a field path traverses a one-to-many relationship is O(path length).
+ */
+final class EntityMappings {
+
+	private final Set<String> elementCollections;
+	private final Set<String> manyOrOneToOnes;
+	private final Set<String> oneToManys;
+	private final PathTrie oneToManyTrie;
+	private final boolean bulkDeletable;
+	private final boolean baseEntityListenerRegistered;
+
+	private EntityMappings(Metamodel metamodel, Provider provider, Class<?> entityType) {
+		elementCollections = computeEntityMapping(metamodel, entityType, entityType, "", new HashSet<>(), provider::isElementCollection);
+		manyOrOneToOnes = computeEntityMapping(metamodel, entityType, entityType, "", new HashSet<>(), provider::isManyOrOneToOne);
+		oneToManys = computeEntityMapping(metamodel, entityType, entityType, "", new HashSet<>(), provider::isOneToMany);
+		oneToManyTrie = new PathTrie(oneToManys);
+		bulkDeletable = metamodel.entity(entityType).getAttributes().stream().noneMatch(EntityMappings::isCascadingOnRemove);
+		baseEntityListenerRegistered = isListenerRegistered(entityType, BaseEntityListener.class);
+	}
+
+	static EntityMappings of(Metamodel metamodel, Provider provider, Class<?> entityType) {
+		return new EntityMappings(metamodel, provider, entityType);
+	}
+
+	Set<String> getElementCollections() {
+		return elementCollections;
+	}
+
+	Set<String> getManyOrOneToOnes() {
+		return manyOrOneToOnes;
+	}
+
+	/**
+	 * Returns whether given field path goes through a one-to-many relationship, i.e. whether it starts with a one-to-many
+	 * path followed by a period.
+	 */
+	boolean isOneToManyPath(String field) {
+		return oneToManyTrie.hasProperPrefixOf(field);
+	}
+
+	boolean isBulkDeletable() {
+		return bulkDeletable;
+	}
+
+	/**
+	 * Returns whether the entity has registered {@link BaseEntityListener}, so that bulk statements know whether they
+	 * should invoke it on behalf of the JPA provider.
+	 */
+	boolean isBaseEntityListenerRegistered() {
+		return baseEntityListenerRegistered;
+	}
+
+	private static Set<String> computeEntityMapping(Metamodel metamodel, Class<?> rootType, Class<?> type, String basePath, Set<Class<?>> nestedTypes, Predicate<Attribute<?, ?>> attributePredicate) {
+		Set<String> entityMapping = new HashSet<>(2);
+		EntityType<?> entity = metamodel.entity(type);
+
+		for (Attribute<?, ?> attribute : entity.getAttributes()) {
+			if (attributePredicate.test(attribute)) {
+				entityMapping.add(basePath + attribute.getName());
+			}
+
+			if (attribute instanceof Bindable) {
+				Class<?> nestedType = ((Bindable<?>) attribute).getBindableJavaType();
+
+				if (BaseEntity.class.isAssignableFrom(nestedType) && nestedType != rootType && nestedTypes.add(nestedType)) {
+					entityMapping.addAll(computeEntityMapping(metamodel, rootType, nestedType, basePath + attribute.getName() + '.', nestedTypes, attributePredicate));
+				}
+			}
+		}
+
+		return unmodifiableSet(entityMapping);
+	}
+
+	private static boolean isCascadingOnRemove(Attribute<?, ?> attribute) {
+		if (attribute.isCollection()) {
+			return true; // Bulk DELETE doesn't clean up collection tables and join tables.
+		}
+
+		if (!(attribute.getJavaMember() instanceof AnnotatedElement)) {
+			return false;
+		}
+
+		AnnotatedElement member = (AnnotatedElement) attribute.getJavaMember();
+		OneToOne oneToOne = member.getAnnotation(OneToOne.class);
+		ManyToOne manyToOne = member.getAnnotation(ManyToOne.class);
+		List<CascadeType> cascadeTypes = asList(oneToOne != null ? oneToOne.cascade() : manyToOne != null ? manyToOne.cascade() : new CascadeType[0]);
+		return (oneToOne != null && oneToOne.orphanRemoval()) || cascadeTypes.contains(CascadeType.REMOVE) || cascadeTypes.contains(CascadeType.ALL);
+	}
+
+	private static boolean isListenerRegistered(Class<?> entityType, Class<?> listenerType) {
+		for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+			EntityListeners entityListeners = type.getAnnotation(EntityListeners.class);
+
+			if (entityListeners != null && asList(entityListeners.value()).contains(listenerType)) {
+				return true;
+			}
+
+			if (type.isAnnotationPresent(ExcludeSuperclassListeners.class)) {
+				return false;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return format("EntityMappings[elementCollections=%s, manyOrOneToOnes=%s, oneToManys=%s, bulkDeletable=%s, baseEntityListenerRegistered=%s]", elementCollections, manyOrOneToOnes, oneToManys, bulkDeletable, baseEntityListenerRegistered);
+	}
+
+	/**
+	 * Immutable trie of period separated paths, keyed by path segment.
+	 */
+	private static final class PathTrie {
+
+		private final Map<String, PathTrie> children = new HashMap<>(2);
+		private boolean terminal;
+
+		PathTrie(Set<String> paths) {
+			for (String path : paths) {
+				PathTrie node = this;
+
+				for (String segment : path.split("\\.")) {
+					node = node.children.computeIfAbsent(segment, k -> new PathTrie());
+				}
+
+				node.terminal = true;
+			}
+		}
+
+		private PathTrie() {
+			//
+		}
+
+		boolean hasProperPrefixOf(String path) {
+			PathTrie node = this;
+			int start = 0;
+
+			for (int end = path.indexOf('.'); end != -1; start = end + 1, end = path.indexOf('.', start)) {
+				node = node.children.get(path.substring(start, end));
+
+				if (node == null) {
+					return false;
+				}
+
+				if (node.terminal) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.omnifaces.persistence.model.BaseEntity;
+
+/**
+ * Helper class of {@link BaseEntityService}. This holds an immutable snapshot of all entities of an entity type, indexed
+ * by ID. When all IDs are {@link Long}, then the index is an open addressing hash table on primitive <code>long</code>
+ * keys, so that neither the index nor the lookups involve boxed keys or hash map entries. A snapshot is never modified, it is
+ * only replaced as a whole by {@link BaseEntityService}.
+ */
+class EntitySnapshot<I extends Comparable<I> & Serializable, E extends BaseEntity<I>> {
+
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final List<E> entities;
+	private final Map<I, E> entitiesById;
+	private final long[] longIds;
+	private final int[] longIdPositions;
+	private final int longIdMask;
+
+	/**
+	 * Create snapshot of given entities.
+	 * @param entities All entities, in the order they should be listed.
+	 */
+	EntitySnapshot(List<E> entities) {
+		this.entities = unmodifiableList(new ArrayList<>(entities));
+
+		if (entities.stream().allMatch(entity -> entity.getId() instanceof Long)) {
+			int capacity = Integer.highestOneBit(Math.max(entities.size(), 1) * 2 - 1) << 1;
+			this.entitiesById = null;
+			this.longIds = new long[capacity];
+			this.longIdPositions = new int[capacity]; // Position + 1, so that 0 represents an empty slot.
+			this.longIdMask = capacity - 1;
+
+			for (int position = 0; position < entities.size(); position++) {
+				long id = (Long) entities.get(position).getId();
+				int slot = slot(id);
+
+				while (longIdPositions[slot] != 0 && longIds[slot] != id) {
+					slot = (slot + 1) & longIdMask;
+				}
+
+				longIds[slot] = id;
+				longIdPositions[slot] = position + 1;
+			}
+		}
+		else {
+			this.entitiesById = new HashMap<>(entities.size() * 4 / 3 + 1);
+			this.longIds = null;
+			this.longIdPositions = null;
+			this.longIdMask = 0;
+			entities.forEach(entity -> entitiesById.put(entity.getId(), entity));
+		}
+	}
+
+	/**
+	 * Returns the entity by given ID.
+	 * @param id The entity ID.
+	 * @return The entity by given ID, or <code>null</code> if there is none.
+	 */
+	E get(I id) {
+		if (id == null) {
+			return null;
+		}
+		else if (entitiesById != null) {
+			return entitiesById.get(id);
+		}
+		else if (!(id instanceof Long)) {
+			return null;
+		}
+
+		long longId = (Long) id;
+
+		for (int slot = slot(longId); longIdPositions[slot] != 0; slot = (slot + 1) & longIdMask) {
+			if (longIds[slot] == longId) {
+				return entities.get(longIdPositions[slot] - 1);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns all entities.
+	 * @return All entities, unmodifiable.
+	 */
+	List<E> list() {
+		return entities;
+	}
+
+	private int slot(long id) {
+		long hash = id * HASH_MULTIPLIER;
+		return (int) (hash ^ (hash >>> 32)) & longIdMask;
+	}
+
+	@Override
+	public String toString() {
+		return format("EntitySnapshot[size=%s, primitiveIndex=%s]", entities.size(), longIds != null);
+	}
+}
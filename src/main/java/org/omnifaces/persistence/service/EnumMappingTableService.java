@@ -12,8 +12,12 @@
  */
 package org.omnifaces.persistence.service;
 
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.WARNING;
 import static java.util.stream.Collectors.toList;
@@ -24,6 +28,7 @@ import static org.omnifaces.persistence.model.EnumMapping.CODE_FIELD_NAME;
 import static org.omnifaces.persistence.model.EnumMapping.ID_FIELD_NAME;
 import static org.omnifaces.persistence.model.EnumMappingTable.DEFAULT_ENUM_HISTORY_TABLE_POSTFIX;
 import static org.omnifaces.persistence.model.EnumMappingTable.DEFAULT_ENUM_TABLE_POSTFIX;
+import static org.omnifaces.persistence.model.EnumMappingTable.ENUM_MAPPING_FINGERPRINT_TABLE_NAME;
 import static org.omnifaces.utils.reflect.Reflections.accessField;
 import static org.omnifaces.utils.reflect.Reflections.findField;
 import static org.omnifaces.utils.reflect.Reflections.modifyField;
@@ -32,7 +37,19 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -56,6 +73,7 @@ import javax.persistence.EnumType;
 import javax.persistence.PersistenceUnit;
 import javax.transaction.UserTransaction;
 
+import org.omnifaces.persistence.Provider;
 import org.omnifaces.persistence.model.EnumMapping;
 import org.omnifaces.persistence.model.EnumMappingTable;
 
@@ -63,6 +81,11 @@ import org.omnifaces.persistence.model.EnumMappingTable;
  * Auxiliary class that allows fine-tuning of {@link EnumMappingTable} enums.
  * Basing on the settings it implements two-side correspondence between java
  * enum classes and database table representations.
+ * <p>
+ * The existence of the mapped tables is checked in a single database metadata pass,
+ * the tables are created and read each in their own transaction, the enum and table
+ * data are compared in parallel, and all table modifications are performed in a
+ * single transaction.
  * <h3>Logging</h3>
  * <p>
  * {@link EnumMappingTableService} uses JULI {@link Logger} for logging.
@@ -101,12 +124,16 @@ public class EnumMappingTableService {
         private static final String LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR = "Couldn't create the target table %s: check table names for possible collisions";
         private static final String LOG_WARNING_ENUM_MAPPING_TABLE_READ_ERROR = "Couldn't read from the target table %s: check column type%s (%s) for column name%s (%s)";
         private static final String LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR = "Couldn't modify the target table %s: %s was not performed successfully (%d %s actions needed%s)";
+        private static final String LOG_WARNING_ENUM_MAPPING_TABLE_TRANSACTION_ERROR = "Couldn't modify the target tables of enums %s: transaction was not performed successfully";
 
         private static final String LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA = "Difference in enum %s and table data detected: %s %s in %s%s";
 
         private static final String LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED = "Data for table %s was modified basing on enum %s data: %d number of %s was performed";
         private static final String LOG_INFO_ENUM_DATA_MODIFIED = "Data for enum %s was modified: %d number of %s was performed";
 
+        private static final String FINGERPRINT_TABLE_COLUMN = "enum_table";
+        private static final String FINGERPRINT_COLUMN = "fingerprint";
+
         @PersistenceUnit
         private EntityManagerFactory emf;
 
@@ -114,8 +141,274 @@ public class EnumMappingTableService {
         UserTransaction ut;
 
         public Map<Class<? extends Enum<?>>, Boolean> computeModifiedEnumMappingTable(List<Class<? extends Enum<?>>> enumsToUpdate) {
-                return enumsToUpdate.stream()
-                        .collect(Collectors.toMap(Function.identity(), this::modifyEnumMappingTable));
+                List<EnumMappingTableData> tables = enumsToUpdate.stream().map(EnumMappingTableData::new).collect(toList());
+                Set<String> tableNames = new LinkedHashSet<>();
+                tables.forEach(table -> tableNames.addAll(asList(table.enumTable, table.historyTable)));
+                tableNames.remove("");
+
+                if (tables.stream().anyMatch(table -> table.enumPrecedence)) {
+                        tableNames.add(ENUM_MAPPING_FINGERPRINT_TABLE_NAME);
+                }
+
+                // Discover the columns of all mapped tables at once instead of probing every table separately.
+                Map<String, Set<String>> databaseColumns = runInOwnTransaction(entityManager -> readDatabaseColumns(Provider.of(entityManager).getConnection(entityManager), tableNames));
+
+                if (databaseColumns == null) {
+                        logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_TRANSACTION_ERROR, enumsToUpdate));
+                }
+                else {
+                        // Skip tables whose enum constants and mapping configuration didn't change since last synchronization.
+                        Map<String, String> fingerprints = tableNames.contains(ENUM_MAPPING_FINGERPRINT_TABLE_NAME) ? readFingerprints(databaseColumns) : null;
+                        if (fingerprints != null) {
+                                for (EnumMappingTableData table : tables) {
+                                        table.unchanged = table.enumPrecedence && table.fingerprint.equals(fingerprints.get(table.enumTable))
+                                                && existsTable(databaseColumns, table.enumTable, table.idEnumColumn, table.codeEnumColumn);
+                                        table.valid = table.unchanged;
+                                }
+                        }
+
+                        // Check, create and read tables one after another, each in its own transaction, so that a failing table doesn't affect the others.
+                        for (EnumMappingTableData table : tables) {
+                                if (!table.unchanged) {
+                                        table.valid = TRUE.equals(runInOwnTransaction(entityManager -> readEnumMappingTable(table, entityManager, databaseColumns)));
+                                }
+                        }
+
+                        // Compare enum and table data in parallel, as this doesn't involve the database.
+                        tables.parallelStream()
+                                .filter(table -> table.valid && !table.unchanged)
+                                .forEach(table -> table.valid = compareEnumMappingTable(table));
+
+                        writeEnumMappingTables(tables, enumsToUpdate);
+
+                        // A failed fingerprint write only means that the tables are compared again on next startup, so it must not roll back the table modifications.
+                        List<EnumMappingTableData> synchronizedTables = tables.stream()
+                                .filter(table -> table.valid && table.enumPrecedence && !table.unchanged)
+                                .collect(toList());
+                        if (fingerprints != null && !synchronizedTables.isEmpty()) {
+                                runInOwnTransaction(entityManager -> writeFingerprints(Provider.of(entityManager).getConnection(entityManager), synchronizedTables));
+                        }
+                }
+
+                Map<Class<? extends Enum<?>>, Boolean> modifiedEnumMappingTables = new LinkedHashMap<>();
+                tables.forEach(table -> modifiedEnumMappingTables.put(table.enumeratedType, table.valid && modifyEnum(table)));
+                return modifiedEnumMappingTables;
+        }
+
+        /**
+         * Writes all table modifications in the same transaction. Tables are already created and read at this point,
+         * so the transaction only contains statements which are expected to succeed.
+         */
+        private void writeEnumMappingTables(List<EnumMappingTableData> tables, List<Class<? extends Enum<?>>> enumsToUpdate) {
+                List<EnumMappingTableData> pendingTables = tables.stream().filter(table -> table.valid && !table.unchanged).collect(toList());
+                EntityManager entityManager = null;
+
+                try {
+                        ut.begin();
+                        entityManager = emf.createEntityManager();
+                        entityManager.joinTransaction();
+                        Connection connection = Provider.of(entityManager).getConnection(entityManager);
+                        boolean rollback = false;
+
+                        for (EnumMappingTableData table : pendingTables) {
+                                table.valid = writeEnumMappingTable(table, entityManager, connection);
+                                rollback = !table.valid;
+
+                                if (rollback) {
+                                        break;
+                                }
+                        }
+
+                        if (rollback) {
+                                // None of the pending writes were committed, also not those of the tables after the failed one.
+                                ut.rollback();
+                                pendingTables.forEach(table -> table.valid = false);
+                        }
+                        else {
+                                ut.commit();
+                        }
+                }
+                catch (Exception e) {
+                        rollbackQuietly();
+                        logger.log(WARNING, e, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_TRANSACTION_ERROR, enumsToUpdate));
+                        pendingTables.forEach(table -> table.valid = false);
+                }
+                finally {
+                        if (entityManager != null) {
+                                entityManager.close();
+                        }
+                }
+        }
+
+        /**
+         * Runs the given action in its own transaction, so that a failing metadata lookup, DDL statement or probe can't
+         * abort the transaction of the table modifications, as e.g. PostgreSQL does after any failed statement. The
+         * transaction is rolled back when the action throws, or returns <code>null</code> or <code>false</code>.
+         */
+        private <T> T runInOwnTransaction(TransactionalAction<T> action) {
+                EntityManager entityManager = null;
+
+                try {
+                        ut.begin();
+                        entityManager = emf.createEntityManager();
+                        entityManager.joinTransaction();
+                        T result = action.run(entityManager);
+
+                        if (result == null || FALSE.equals(result)) {
+                                ut.rollback();
+                        }
+                        else {
+                                ut.commit();
+                        }
+
+                        return result;
+                }
+                catch (Exception e) {
+                        rollbackQuietly();
+                        logger.log(FINE, "Transaction of enum mapping table service was rolled back", e);
+                        return null;
+                }
+                finally {
+                        if (entityManager != null) {
+                                entityManager.close();
+                        }
+                }
+        }
+
+        private void rollbackQuietly() {
+                try {
+                        ut.rollback();
+                }
+                catch (Exception ignore) {
+                        //
+                }
+        }
+
+        @FunctionalInterface
+        private interface TransactionalAction<T> {
+                T run(EntityManager entityManager) throws Exception;
+        }
+
+        /**
+         * Reads the saved fingerprints, creating the fingerprint table first if necessary. The creation may fail because
+         * another cluster node created the table in the meanwhile, so the table is read regardless of that.
+         */
+        private Map<String, String> readFingerprints(Map<String, Set<String>> databaseColumns) {
+                if (!existsTable(databaseColumns, ENUM_MAPPING_FINGERPRINT_TABLE_NAME, FINGERPRINT_TABLE_COLUMN, FINGERPRINT_COLUMN)) {
+                        runInOwnTransaction(EnumMappingTableService::createFingerprintTable);
+                }
+
+                Map<String, String> fingerprints = runInOwnTransaction(EnumMappingTableService::loadFingerprints);
+
+                if (fingerprints == null) {
+                        logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR, ENUM_MAPPING_FINGERPRINT_TABLE_NAME));
+                }
+
+                return fingerprints;
+        }
+
+        private static Boolean createFingerprintTable(EntityManager entityManager) {
+                String createFingerprintTableQuery = "CREATE TABLE " + ENUM_MAPPING_FINGERPRINT_TABLE_NAME + " ("
+                        + FINGERPRINT_TABLE_COLUMN + " VARCHAR(255) NOT NULL, "
+                        + FINGERPRINT_COLUMN + " VARCHAR(64) NOT NULL, "
+                        + "PRIMARY KEY (" + FINGERPRINT_TABLE_COLUMN + "));";// create table enum_mapping_fingerprint (enum_table varchar(255) not null, fingerprint varchar(64) not null, primary key(enum_table));
+                entityManager.createNativeQuery(createFingerprintTableQuery).executeUpdate();
+                return TRUE;
+        }
+
+        private static Map<String, String> loadFingerprints(EntityManager entityManager) {
+                Map<String, String> fingerprints = new HashMap<>();
+                String getFingerprintsQuery = "SELECT ft." + FINGERPRINT_TABLE_COLUMN + ", ft." + FINGERPRINT_COLUMN
+                        + " FROM " + ENUM_MAPPING_FINGERPRINT_TABLE_NAME + " ft;";// select ft.enum_table, ft.fingerprint from enum_mapping_fingerprint ft;
+
+                for (Object object : entityManager.createNativeQuery(getFingerprintsQuery).getResultList()) {
+                        Object[] array = (Object[]) object;
+                        fingerprints.put((String) array[0], (String) array[1]);
+                }
+
+                return fingerprints;
+        }
+
+        /**
+         * Saves the fingerprints of the given tables by updating the existing rows and inserting the absent ones, as a
+         * delete followed by an insert could run into duplicate keys when another cluster node does the same.
+         */
+        private static boolean writeFingerprints(Connection connection, List<EnumMappingTableData> tables) {
+                String updateFingerprintQuery = "UPDATE " + ENUM_MAPPING_FINGERPRINT_TABLE_NAME + " SET " + FINGERPRINT_COLUMN + " = ? WHERE " + FINGERPRINT_TABLE_COLUMN + " = ?";// update enum_mapping_fingerprint set fingerprint = ? where enum_table = ?
+                String insertFingerprintQuery = "INSERT INTO " + ENUM_MAPPING_FINGERPRINT_TABLE_NAME + " (" + FINGERPRINT_TABLE_COLUMN + ", " + FINGERPRINT_COLUMN + ") VALUES (?, ?)";// insert into enum_mapping_fingerprint (enum_table, fingerprint) values (?, ?)
+                List<List<Object>> absentFingerprints = new ArrayList<>();
+
+                try {
+                        try (PreparedStatement statement = connection.prepareStatement(updateFingerprintQuery)) {
+                                for (EnumMappingTableData table : tables) {
+                                        statement.setString(1, table.fingerprint);
+                                        statement.setString(2, table.enumTable);
+
+                                        if (statement.executeUpdate() == 0) {
+                                                absentFingerprints.add(Arrays.<Object> asList(table.enumTable, table.fingerprint));
+                                        }
+                                }
+                        }
+
+                        executeBatch(connection, insertFingerprintQuery, absentFingerprints);
+                        return true;
+                } catch (Exception ex) {
+                        logger.log(WARNING, ex, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, ENUM_MAPPING_FINGERPRINT_TABLE_NAME, "update", tables.size(), "update", ""));
+                        return false;
+                }
+        }
+
+        private static Map<String, Set<String>> readDatabaseColumns(Connection connection, Set<String> tableNames) throws SQLException {
+                Map<String, Set<String>> databaseColumns = new HashMap<>();
+                DatabaseMetaData metaData = connection.getMetaData();
+                boolean schemaQualified = metaData.supportsSchemasInTableDefinitions();
+
+                for (String tableName : tableNames) {
+                        // A qualifier is the schema, or the catalog on databases without schemas, such as MySQL.
+                        int separator = tableName.lastIndexOf('.');
+                        String qualifier = separator < 0 ? null : toStoredIdentifier(metaData, tableName.substring(0, separator));
+                        String table = tableName.substring(separator + 1);
+                        String catalog = (qualifier == null || schemaQualified) ? connection.getCatalog() : qualifier;
+                        String schema = (qualifier == null) ? getSchema(connection) : schemaQualified ? qualifier : null;
+
+                        try (ResultSet resultSet = metaData.getColumns(catalog, toSearchPattern(metaData, schema), toSearchPattern(metaData, toStoredIdentifier(metaData, table)), "%")) {
+                                while (resultSet.next()) {
+                                        if (table.equalsIgnoreCase(resultSet.getString("TABLE_NAME"))) {
+                                                databaseColumns.computeIfAbsent(tableName.toLowerCase(), k -> new HashSet<>()).add(resultSet.getString("COLUMN_NAME").toLowerCase());
+                                        }
+                                }
+                        }
+                }
+
+                return databaseColumns;
+        }
+
+        private static String toStoredIdentifier(DatabaseMetaData metaData, String identifier) throws SQLException {
+                return metaData.storesUpperCaseIdentifiers() ? identifier.toUpperCase() : metaData.storesLowerCaseIdentifiers() ? identifier.toLowerCase() : identifier;
+        }
+
+        private static String toSearchPattern(DatabaseMetaData metaData, String identifier) throws SQLException {
+                String escape = metaData.getSearchStringEscape();
+
+                if (identifier == null || escape == null || escape.isEmpty()) {
+                        return identifier;
+                }
+
+                return identifier.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+        }
+
+        private static String getSchema(Connection connection) {
+                try {
+                        return connection.getSchema();
+                }
+                catch (SQLException | AbstractMethodError e) {
+                        return null; // Connection#getSchema() is only available since JDBC 4.1.
+                }
+        }
+
+        private static boolean existsTable(Map<String, Set<String>> databaseColumns, String tableName, String... columnNames) {
+                Set<String> columns = databaseColumns.get(tableName.toLowerCase());
+                return columns != null && Arrays.stream(columnNames).filter(column -> !"".equals(column)).allMatch(column -> columns.contains(column.toLowerCase()));
         }
 
         private static class EnumData {
@@ -242,594 +535,644 @@ public class EnumMappingTableService {
 
         }
 
-        private boolean modifyEnumMappingTable(Class<? extends Enum<?>> enumeratedType) {
-                // Read annotation information.
-                EnumMapping mapping = enumeratedType.getAnnotation(EnumMapping.class);
-                boolean ordinal = mapping.type() == EnumType.ORDINAL;
-                String fieldName = mapping.fieldName();
-                EnumMappingTable mappingTable = mapping.enumMappingTable();
-                boolean enumPrecedence = mappingTable.mappingType() == EnumMappingTable.MappingType.ENUM;
-                boolean doDeletes = mappingTable.deleteType() != EnumMappingTable.DeleteAction.NO_ACTION;
-                boolean doSoftDeletes = mappingTable.deleteType() == EnumMappingTable.DeleteAction.SOFT_DELETE;
-                boolean doInserts = mappingTable.doInserts();
-
-                // Define proper enum fields.
-                boolean oneFieldMapping = mappingTable.oneFieldMapping();
-                String idFieldName = mappingTable.ordinalFieldName();
-                String codeFieldName = mappingTable.stringFieldName();
-                Optional<Field> idEnumFieldOptional = ordinal ? findField(enumeratedType, fieldName) : oneFieldMapping
-                        ? Optional.empty() : findField(enumeratedType, idFieldName);
-                Optional<Field> codeEnumFieldOptional = !ordinal ? findField(enumeratedType, fieldName) : oneFieldMapping
-                        ? Optional.empty() : findField(enumeratedType, codeFieldName);
-                Optional<Field> secondaryEnumFieldOptional = oneFieldMapping ? Optional.empty() : ordinal ? codeEnumFieldOptional : idEnumFieldOptional;
-
-                // Define proper database table and column names.
-                String idEnumColumn = ordinal ? mappingTable.ordinalColumnName() : oneFieldMapping
-                        ? "" : mappingTable.ordinalColumnName();
-                String codeEnumColumn = !ordinal ? mappingTable.stringColumnName() : oneFieldMapping
-                        ? "" : mappingTable.stringColumnName();
-                String tableName = mappingTable.tableName();
-                String enumTable = "".equals(tableName) ? toSnakeCase(enumeratedType.getSimpleName()) + DEFAULT_ENUM_TABLE_POSTFIX : tableName;
-                String deletedColumn = (doSoftDeletes && !enumPrecedence) ? mappingTable.deletedColumnName() : "";
-                String historyTable = (doSoftDeletes && enumPrecedence) ? enumTable + DEFAULT_ENUM_HISTORY_TABLE_POSTFIX : "";
-
-                // Do the update job.
-                EntityManager entityManager = emf.createEntityManager();
-                try {
-                        // Check database tables for existence.
-                        boolean existsTable = false;
-                        boolean existsHistoryTable = false;
-                        try {
-                                String countTableQuery = "SELECT "
-                                        + ("".equals(idEnumColumn) ? "" : "COUNT(et." + idEnumColumn + ")")
-                                        + ("".equals(codeEnumColumn) ? "" : (oneFieldMapping ? "" : ", ") + "COUNT(et." + codeEnumColumn + ")")
-                                        + ("".equals(deletedColumn) ? "" : ", COUNT(et." + deletedColumn + ")")
-                                        + " FROM " + enumTable + " et;";// select count(et.id), count(et.code), count(et.deleted) from enum_table as et
-
-                                entityManager.createNativeQuery(countTableQuery).getSingleResult();
-                                existsTable = true;
-                        } catch (Exception ex) {
-                                // Table doesn't exist.
-                                existsTable = false;
-                        }
+        private static class EnumMappingTableData {
+
+                // Annotation information.
+                final Class<? extends Enum<?>> enumeratedType;
+                final boolean ordinal;
+                final boolean enumPrecedence;
+                final boolean doDeletes;
+                final boolean doSoftDeletes;
+                final boolean doInserts;
+
+                // Proper enum fields.
+                final boolean oneFieldMapping;
+                final String idFieldName;
+                final String codeFieldName;
+                final Optional<Field> idEnumFieldOptional;
+                final Optional<Field> codeEnumFieldOptional;
+                final Optional<Field> secondaryEnumFieldOptional;
+
+                // Proper database table and column names.
+                final String idEnumColumn;
+                final String codeEnumColumn;
+                final String enumTable;
+                final String deletedColumn;
+                final String historyTable;
+
+                // Collected data.
+                boolean createdTable;
+                EnumData databaseData;
+                final Set<EnumData.EnumDataEntry> common = new LinkedHashSet<>();
+                final Set<EnumData.EnumDataEntry> absentInBase = new LinkedHashSet<>();
+                final Set<EnumData.EnumDataEntry> absentInTarget = new LinkedHashSet<>();
+                final Map<EnumData.EnumDataEntry, EnumData.EnumDataEntry> different = new LinkedHashMap<>();
+                int numDeletes;
+                int numInserts;
+                boolean valid;
+
+                // Hash of enum constants and mapping configuration.
+                final String fingerprint;
+                boolean unchanged;
+
+                public EnumMappingTableData(Class<? extends Enum<?>> enumeratedType) {
+                        this.enumeratedType = enumeratedType;
+
+                        EnumMapping mapping = enumeratedType.getAnnotation(EnumMapping.class);
+                        ordinal = mapping.type() == EnumType.ORDINAL;
+                        String fieldName = mapping.fieldName();
+                        EnumMappingTable mappingTable = mapping.enumMappingTable();
+                        enumPrecedence = mappingTable.mappingType() == EnumMappingTable.MappingType.ENUM;
+                        doDeletes = mappingTable.deleteType() != EnumMappingTable.DeleteAction.NO_ACTION;
+                        doSoftDeletes = mappingTable.deleteType() == EnumMappingTable.DeleteAction.SOFT_DELETE;
+                        doInserts = mappingTable.doInserts();
+
+                        oneFieldMapping = mappingTable.oneFieldMapping();
+                        idFieldName = mappingTable.ordinalFieldName();
+                        codeFieldName = mappingTable.stringFieldName();
+                        idEnumFieldOptional = ordinal ? findField(enumeratedType, fieldName) : oneFieldMapping
+                                ? Optional.empty() : findField(enumeratedType, idFieldName);
+                        codeEnumFieldOptional = !ordinal ? findField(enumeratedType, fieldName) : oneFieldMapping
+                                ? Optional.empty() : findField(enumeratedType, codeFieldName);
+                        secondaryEnumFieldOptional = oneFieldMapping ? Optional.empty() : ordinal ? codeEnumFieldOptional : idEnumFieldOptional;
+
+                        idEnumColumn = ordinal ? mappingTable.ordinalColumnName() : oneFieldMapping
+                                ? "" : mappingTable.ordinalColumnName();
+                        codeEnumColumn = !ordinal ? mappingTable.stringColumnName() : oneFieldMapping
+                                ? "" : mappingTable.stringColumnName();
+                        String tableName = mappingTable.tableName();
+                        enumTable = "".equals(tableName) ? toSnakeCase(enumeratedType.getSimpleName()) + DEFAULT_ENUM_TABLE_POSTFIX : tableName;
+                        deletedColumn = (doSoftDeletes && !enumPrecedence) ? mappingTable.deletedColumnName() : "";
+                        historyTable = (doSoftDeletes && enumPrecedence) ? enumTable + DEFAULT_ENUM_HISTORY_TABLE_POSTFIX : "";
+
+                        fingerprint = computeFingerprint();
+                }
 
-                        // Check database history table for existence if necessary.
-                        if (!"".equals(historyTable)) {
-                                try {
-                                        String countHistoryTableQuery = "SELECT "
-                                                + ("".equals(idEnumColumn) ? "" : "COUNT(et." + idEnumColumn + ")")
-                                                + ("".equals(codeEnumColumn) ? "" : (oneFieldMapping ? "" : ", ") + "COUNT(et." + codeEnumColumn + ")")
-                                                + " FROM " + historyTable + " et;";// select count(et.id), count(et.code) from enum_table as et
+                private String computeFingerprint() {
+                        StringBuilder data = new StringBuilder(enumeratedType.getName())
+                                .append('|').append(ordinal).append('|').append(enumPrecedence).append('|').append(doDeletes).append('|').append(doSoftDeletes)
+                                .append('|').append(doInserts).append('|').append(oneFieldMapping).append('|').append(idFieldName).append('|').append(codeFieldName)
+                                .append('|').append(idEnumColumn).append('|').append(codeEnumColumn).append('|').append(enumTable).append('|').append(deletedColumn)
+                                .append('|').append(historyTable);
+                        Field secondaryEnumField = secondaryEnumFieldOptional.orElse(null);
 
-                                        entityManager.createNativeQuery(countHistoryTableQuery).getSingleResult();
-                                        existsHistoryTable = true;
-                                } catch (Exception ex) {
-                                        // History table doesn't exist.
-                                        existsHistoryTable = false;
+                        for (Enum<?> enumConstant : enumeratedType.getEnumConstants()) {
+                                if (enumConstant != null) {
+                                        Object secondaryValue = secondaryEnumField == null ? "" : accessField(enumConstant, secondaryEnumField);
+                                        data.append('|').append(enumConstant.ordinal()).append(',').append(enumConstant.name()).append(',').append(secondaryValue);
                                 }
                         }
 
-                        // Create database tables if necessary.
-                        boolean createdTable = false;
-                        boolean createdHistoryTable = false;
-                        if (!existsTable) {
-                                if (!enumPrecedence) {
-                                        logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CONNECTION_ERROR, enumTable, enumTable,
-                                                 oneFieldMapping ? "" : "s",
-                                                 oneFieldMapping ? ordinal ? idEnumColumn : codeEnumColumn : idEnumColumn + ", " + codeEnumColumn,
-                                                 oneFieldMapping ? "is" : "are"));
-                                        return false;
-                                }
-
-                                String createTableQuery = "CREATE TABLE " + enumTable + " ("
-                                        + ("".equals(idEnumColumn) ? "" : idEnumColumn + " INT NOT NULL, ")
-                                        + ("".equals(codeEnumColumn) ? "" : codeEnumColumn + " VARCHAR(32) NOT NULL, ")
-                                        + ("PRIMARY KEY (" + (ordinal ? idEnumColumn : codeEnumColumn) + ")")
-                                        + (oneFieldMapping ? "" : (", CONSTRAINT " + enumTable + "_" + (ordinal ? codeEnumColumn : idEnumColumn) + "_UNIQUE UNIQUE (" + (ordinal ? codeEnumColumn : idEnumColumn) + ")"))
-                                        + ");";// create table enum_table (id int not null, code varchar(32) not null, primary key(id), CONSTRAINT enum_table_code_UNIQUE UNIQUE (code));
-
-                                try {
-                                        ut.begin();
-                                        entityManager.createNativeQuery(createTableQuery).executeUpdate();
-                                        ut.commit();
-                                        createdTable = true;
-                                } catch (Exception ex) {
-                                        try {
-                                                ut.rollback();
-                                        } catch (Exception ignore) {
-                                        }
-                                        createdTable = false;
-                                }
-
-                                if (!createdTable) {
-                                        logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR, enumTable));
-                                        return false;
-                                }
+                        try {
+                                return format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(data.toString().getBytes(UTF_8))));
+                        } catch (NoSuchAlgorithmException e) {
+                                throw new IllegalStateException(e);
                         }
+                }
 
-                        if (!existsHistoryTable && !"".equals(historyTable)) {
-                                String createHistoryTableQuery = "CREATE TABLE " + historyTable + " ("
-                                        + ("".equals(idEnumColumn) ? "" : idEnumColumn + " INT NOT NULL, ")
-                                        + ("".equals(codeEnumColumn) ? "" : codeEnumColumn + " VARCHAR(32) NOT NULL, ")
-                                        + ("PRIMARY KEY (" + (oneFieldMapping ? (ordinal ? idEnumColumn : codeEnumColumn) : idEnumColumn + ", " + codeEnumColumn) + ")")
-                                        + ");";// create table enum_history_table (id int not null, code varchar(32) not null, primary key(id, code));
-
-                                try {
-                                        ut.begin();
-                                        entityManager.createNativeQuery(createHistoryTableQuery).executeUpdate();
-                                        ut.commit();
-                                        createdHistoryTable = true;
-                                } catch (Exception ex) {
-                                        try {
-                                                ut.rollback();
-                                        } catch (Exception ignore) {
-                                        }
-                                        createdHistoryTable = false;
-                                }
+        }
 
-                                if (!createdHistoryTable) {
-                                        logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR, historyTable));
-                                        return false;
-                                }
+        private static boolean readEnumMappingTable(EnumMappingTableData table, EntityManager entityManager, Map<String, Set<String>> databaseColumns) {
+                Class<? extends Enum<?>> enumeratedType = table.enumeratedType;
+                boolean ordinal = table.ordinal;
+                boolean enumPrecedence = table.enumPrecedence;
+                boolean oneFieldMapping = table.oneFieldMapping;
+                String idEnumColumn = table.idEnumColumn;
+                String codeEnumColumn = table.codeEnumColumn;
+                String enumTable = table.enumTable;
+                String deletedColumn = table.deletedColumn;
+                String historyTable = table.historyTable;
+
+                // Check database tables for existence.
+                boolean existsTable = existsTable(databaseColumns, enumTable, idEnumColumn, codeEnumColumn, deletedColumn);
+
+                // Check database history table for existence if necessary.
+                boolean existsHistoryTable = !"".equals(historyTable) && existsTable(databaseColumns, historyTable, idEnumColumn, codeEnumColumn);
+
+                // Create database tables if necessary.
+                if (!existsTable) {
+                        if (!enumPrecedence) {
+                                logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CONNECTION_ERROR, enumTable, enumTable,
+                                         oneFieldMapping ? "" : "s",
+                                         oneFieldMapping ? ordinal ? idEnumColumn : codeEnumColumn : idEnumColumn + ", " + codeEnumColumn,
+                                         oneFieldMapping ? "is" : "are"));
+                                return false;
                         }
 
-                        // Read table data.
-                        EnumData databaseData = new EnumData(ordinal, oneFieldMapping, enumeratedType);
-                        if (existsTable && !createdTable) {
-                                try {
-                                        String getDatabaseDataQuery = "SELECT " + (ordinal ? "et." + idEnumColumn : "et." + codeEnumColumn)
-                                                + (oneFieldMapping ? "" : (ordinal ? ", et." + codeEnumColumn : ", et." + idEnumColumn))
-                                                + " FROM " + enumTable + " et"
-                                                + ("".equals(deletedColumn) ? ";" : " WHERE et." + deletedColumn + " = 0;");// select et.id, et.code from enum_table et where et.deleted = 0;
-                                        List<Object> databaseValues = entityManager.createNativeQuery(getDatabaseDataQuery).getResultList();
-
-                                        for (Object object : databaseValues) {
-                                                if (oneFieldMapping) {
-                                                        if (ordinal) {
-                                                                databaseData.addDataElement((Integer) object);
-                                                        } else {
-                                                                databaseData.addDataElement((String) object);
-                                                        }
-                                                } else {
-                                                        Object[] array = (Object[]) object;
-                                                        Integer integer = (Integer) (ordinal ? array[0] : array[1]);
-                                                        String string = (String) (ordinal ? array[1] : array[0]);
-                                                        databaseData.addDataElement(integer, string);
-                                                }
-                                        }
-                                } catch (Exception ex) {
-                                        logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_READ_ERROR, enumTable,
-                                                 oneFieldMapping ? "" : "s",
-                                                 oneFieldMapping ? ordinal ? "Integer" : "String" : "Integer, String",
-                                                 oneFieldMapping ? "" : "s",
-                                                 oneFieldMapping ? ordinal ? idEnumColumn : codeEnumColumn : idEnumColumn + ", " + codeEnumColumn));
-                                        return false;
-                                }
+                        String createTableQuery = "CREATE TABLE " + enumTable + " ("
+                                + ("".equals(idEnumColumn) ? "" : idEnumColumn + " INT NOT NULL, ")
+                                + ("".equals(codeEnumColumn) ? "" : codeEnumColumn + " VARCHAR(32) NOT NULL, ")
+                                + ("PRIMARY KEY (" + (ordinal ? idEnumColumn : codeEnumColumn) + ")")
+                                + (oneFieldMapping ? "" : (", CONSTRAINT " + enumTable + "_" + (ordinal ? codeEnumColumn : idEnumColumn) + "_UNIQUE UNIQUE (" + (ordinal ? codeEnumColumn : idEnumColumn) + ")"))
+                                + ");";// create table enum_table (id int not null, code varchar(32) not null, primary key(id), CONSTRAINT enum_table_code_UNIQUE UNIQUE (code));
+
+                        try {
+                                entityManager.createNativeQuery(createTableQuery).executeUpdate();
+                                table.createdTable = true;
+                        } catch (Exception ex) {
+                                logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR, enumTable));
+                                return false;
                         }
+                }
 
-                        // Read enum data.
-                        EnumData enumData = new EnumData(ordinal, oneFieldMapping, enumeratedType);
-                        Field secondaryEnumField = secondaryEnumFieldOptional.orElse(null);
-                        if (!oneFieldMapping) {
-                                if (!secondaryEnumFieldOptional.isPresent()) {
-                                        logger.log(WARNING, () -> format(LOG_WARNING_INVALID_ENUM_FIELD_NAME, ordinal ? codeFieldName : idFieldName, enumeratedType));
-                                        return false;
-                                }
+                if (!existsHistoryTable && !"".equals(historyTable)) {
+                        String createHistoryTableQuery = "CREATE TABLE " + historyTable + " ("
+                                + ("".equals(idEnumColumn) ? "" : idEnumColumn + " INT NOT NULL, ")
+                                + ("".equals(codeEnumColumn) ? "" : codeEnumColumn + " VARCHAR(32) NOT NULL, ")
+                                + ("PRIMARY KEY (" + (oneFieldMapping ? (ordinal ? idEnumColumn : codeEnumColumn) : idEnumColumn + ", " + codeEnumColumn) + ")")
+                                + ");";// create table enum_history_table (id int not null, code varchar(32) not null, primary key(id, code));
 
-                                boolean validSecondaryFieldType = (ordinal ? secondaryEnumField.getType() == String.class : (secondaryEnumField.getType() == Integer.class || secondaryEnumField.getType() == int.class));
-                                if (!validSecondaryFieldType) {
-                                        logger.log(WARNING, () -> format(LOG_WARNING_INVALID_ENUM_FIELD_TYPE, enumeratedType, secondaryEnumField.getName(), ordinal ? "String" : "Integer", secondaryEnumField.getType()));
-                                        return false;
-                                }
+                        try {
+                                entityManager.createNativeQuery(createHistoryTableQuery).executeUpdate();
+                        } catch (Exception ex) {
+                                logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_CREATION_ERROR, historyTable));
+                                return false;
                         }
+                }
+
+                // Read table data.
+                EnumData databaseData = new EnumData(ordinal, oneFieldMapping, enumeratedType);
+                if (!table.createdTable) {
+                        try {
+                                String getDatabaseDataQuery = "SELECT " + (ordinal ? "et." + idEnumColumn : "et." + codeEnumColumn)
+                                        + (oneFieldMapping ? "" : (ordinal ? ", et." + codeEnumColumn : ", et." + idEnumColumn))
+                                        + " FROM " + enumTable + " et"
+                                        + ("".equals(deletedColumn) ? ";" : " WHERE et." + deletedColumn + " = 0;");// select et.id, et.code from enum_table et where et.deleted = 0;
+                                List<Object> databaseValues = entityManager.createNativeQuery(getDatabaseDataQuery).getResultList();
 
-                        Arrays.asList(enumeratedType.getEnumConstants()).stream()
-                                .filter(Objects::nonNull)
-                                .forEach(enumConstant -> {
-                                        int id = enumConstant.ordinal();
-                                        String code = enumConstant.name();
+                                for (Object object : databaseValues) {
                                         if (oneFieldMapping) {
-                                                // Internal enum values are already modified, so we don't need to use fields.
                                                 if (ordinal) {
-                                                        enumData.addDataElement(id);
+                                                        databaseData.addDataElement((Integer) object);
                                                 } else {
-                                                        enumData.addDataElement(code);
+                                                        databaseData.addDataElement((String) object);
                                                 }
                                         } else {
-                                                // We need to read the other field in case of two-field mapping.
-                                                Field field = secondaryEnumField;
-                                                Object value = accessField(enumConstant, field);
-                                                if (ordinal) {
-                                                        code = (String) value;
-                                                } else {
-                                                        id = (int) value;
-                                                }
-                                                enumData.addDataElement(id, code);
+                                                Object[] array = (Object[]) object;
+                                                Integer integer = (Integer) (ordinal ? array[0] : array[1]);
+                                                String string = (String) (ordinal ? array[1] : array[0]);
+                                                databaseData.addDataElement(integer, string);
                                         }
-                                });
+                                }
+                        } catch (Exception ex) {
+                                logger.log(Level.WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_READ_ERROR, enumTable,
+                                         oneFieldMapping ? "" : "s",
+                                         oneFieldMapping ? ordinal ? "Integer" : "String" : "Integer, String",
+                                         oneFieldMapping ? "" : "s",
+                                         oneFieldMapping ? ordinal ? idEnumColumn : codeEnumColumn : idEnumColumn + ", " + codeEnumColumn));
+                                return false;
+                        }
+                }
 
-                        // Compare two datasets.
-                        Set<EnumData.EnumDataEntry> common = new LinkedHashSet<>();
-                        Set<EnumData.EnumDataEntry> absentInBase = new LinkedHashSet<>();
-                        Set<EnumData.EnumDataEntry> absentInTarget = new LinkedHashSet<>();
-                        Map<EnumData.EnumDataEntry, EnumData.EnumDataEntry> different = new LinkedHashMap<>();
-                        EnumData.compareEnumData(enumData, databaseData, common, absentInBase, absentInTarget, different);
+                table.databaseData = databaseData;
+                return true;
+        }
 
-                        // Issue warnings in case differences between enum and table are detected.
-                        if (!absentInBase.isEmpty()) {
-                                logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, absentInBase, "absent", "enum", ""));
+        private static boolean compareEnumMappingTable(EnumMappingTableData table) {
+                Class<? extends Enum<?>> enumeratedType = table.enumeratedType;
+                boolean ordinal = table.ordinal;
+                boolean oneFieldMapping = table.oneFieldMapping;
+                Optional<Field> secondaryEnumFieldOptional = table.secondaryEnumFieldOptional;
+                Set<EnumData.EnumDataEntry> absentInBase = table.absentInBase;
+                Set<EnumData.EnumDataEntry> absentInTarget = table.absentInTarget;
+                Map<EnumData.EnumDataEntry, EnumData.EnumDataEntry> different = table.different;
+
+                // Read enum data.
+                EnumData enumData = new EnumData(ordinal, oneFieldMapping, enumeratedType);
+                Field secondaryEnumField = secondaryEnumFieldOptional.orElse(null);
+                if (!oneFieldMapping) {
+                        if (!secondaryEnumFieldOptional.isPresent()) {
+                                logger.log(WARNING, () -> format(LOG_WARNING_INVALID_ENUM_FIELD_NAME, ordinal ? table.codeFieldName : table.idFieldName, enumeratedType));
+                                return false;
                         }
-                        if (!absentInTarget.isEmpty()) {
-                                logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, absentInTarget, "absent", "table", ""));
+
+                        boolean validSecondaryFieldType = (ordinal ? secondaryEnumField.getType() == String.class : (secondaryEnumField.getType() == Integer.class || secondaryEnumField.getType() == int.class));
+                        if (!validSecondaryFieldType) {
+                                logger.log(WARNING, () -> format(LOG_WARNING_INVALID_ENUM_FIELD_TYPE, enumeratedType, secondaryEnumField.getName(), ordinal ? "String" : "Integer", secondaryEnumField.getType()));
+                                return false;
                         }
-                        if (!different.isEmpty()) {
-                                logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, different.keySet(), "different", "enum, values in table are ", different.values()));
-                        }
-
-                        // Act according to the collected data.
-                        boolean mustUpdateSecondaryField = false; // If the other internal field must be updated as well.
-                        List<Enum<?>> newValuesField = null; // List of new enum constants in case table takes precedence.
-                        int numDeletes = 0, numInserts = 0; // Placeholder for enum modifications.
-
-                        if (enumPrecedence) {
-                                // Update table rows.
-                                if (doDeletes && !absentInBase.isEmpty()) {
-                                        // Delete database table rows.
-                                        StringBuilder deleteQuery = new StringBuilder();
-                                        for (Iterator<EnumData.EnumDataEntry> iter = absentInBase.iterator(); iter.hasNext();) {
-                                                EnumData.EnumDataEntry ede = iter.next();
-                                                deleteQuery.append("DELETE FROM " + enumTable + " WHERE "
-                                                        + (ordinal ? idEnumColumn : codeEnumColumn) + " = "
-                                                        + (ordinal ? ede.getId() : "'" + ede.getCode() + "'")
-                                                        + (iter.hasNext() ? "; " : ";"));// delete from enum_table where id = 1;
-                                        }
+                }
 
-                                        try {
-                                                ut.begin();
-                                                int deletes = numDeletes = entityManager.createNativeQuery(deleteQuery.toString()).executeUpdate();
-                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), deletes, "deletes"));
-                                                ut.commit();
-                                        } catch (Exception ex) {
-                                                try {
-                                                        ut.rollback();
-                                                } catch (Exception ignore) {
-                                                }
-                                                logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "delete", absentInBase.size(), "delete", ""));
-                                                return false;
+                Arrays.asList(enumeratedType.getEnumConstants()).stream()
+                        .filter(Objects::nonNull)
+                        .forEach(enumConstant -> {
+                                int id = enumConstant.ordinal();
+                                String code = enumConstant.name();
+                                if (oneFieldMapping) {
+                                        // Internal enum values are already modified, so we don't need to use fields.
+                                        if (ordinal) {
+                                                enumData.addDataElement(id);
+                                        } else {
+                                                enumData.addDataElement(code);
                                         }
+                                } else {
+                                        // We need to read the other field in case of two-field mapping.
+                                        Field field = secondaryEnumField;
+                                        Object value = accessField(enumConstant, field);
+                                        if (ordinal) {
+                                                code = (String) value;
+                                        } else {
+                                                id = (int) value;
+                                        }
+                                        enumData.addDataElement(id, code);
+                                }
+                        });
 
-                                        if (doSoftDeletes) {
-                                                // Insert new data into history table.
-                                                String insertHistoryQueryBase = "INSERT INTO " + historyTable + " ("
-                                                        + (ordinal ? idEnumColumn : codeEnumColumn)
-                                                        + (oneFieldMapping ? "" : (ordinal ? ", " + codeEnumColumn : ", " + idEnumColumn)) + ")"
-                                                        + " VALUES ";// insert into enum_table_history (id, code) values (1, 'code');
-                                                int inserts = 0;
-                                                for (Iterator<EnumData.EnumDataEntry> iter = absentInBase.iterator(); iter.hasNext();) {
-                                                        EnumData.EnumDataEntry ede = iter.next();
-                                                        String insertHistoryQuery = insertHistoryQueryBase + "("
-                                                                + (ordinal ? ede.getId() : "'" + ede.getCode() + "'")
-                                                                + (oneFieldMapping ? "" : (ordinal ? ", " + "'" + ede.getCode() + "'" : ", " + ede.getId())) + ");";
+                // Compare two datasets.
+                EnumData.compareEnumData(enumData, table.databaseData, table.common, absentInBase, absentInTarget, different);
 
-                                                        try {
-                                                                ut.begin();
-                                                                inserts += entityManager.createNativeQuery(insertHistoryQuery).executeUpdate();
-                                                                ut.commit();
-                                                        } catch (Exception ex) {
-                                                                try {
-                                                                        ut.rollback();
-                                                                } catch (Exception ignore) {
-                                                                }
-                                                                logger.log(INFO, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, historyTable, "insert", 1, "insert", ", possible duplicate entry with key "
-                                                                        + (ordinal ? ede.getId() : "'" + ede.getCode() + "'")));
-                                                        }
-                                                }
+                // Issue warnings in case differences between enum and table are detected.
+                if (!absentInBase.isEmpty()) {
+                        logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, absentInBase, "absent", "enum", ""));
+                }
+                if (!absentInTarget.isEmpty()) {
+                        logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, absentInTarget, "absent", "table", ""));
+                }
+                if (!different.isEmpty()) {
+                        logger.log(WARNING, () -> format(LOG_WARNING_DIFFERENCE_IN_ENUM_AND_TABLE_DATA, enumeratedType, different.keySet(), "different", "enum, values in table are ", different.values()));
+                }
 
-                                                int number = inserts;
-                                                if (inserts > 0) {
-                                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, historyTable, enumeratedType.getSimpleName(), number, "inserts in history table"));
-                                                }
-                                                if (inserts != absentInBase.size()) {
-                                                        logger.log(INFO, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, historyTable, "insert", absentInBase.size(), "insert", ", but only " + number + " of inserts was successful"));
-                                                }
-                                        }
+                return true;
+        }
+
+        private static boolean writeEnumMappingTable(EnumMappingTableData table, EntityManager entityManager, Connection connection) {
+                Class<? extends Enum<?>> enumeratedType = table.enumeratedType;
+                boolean ordinal = table.ordinal;
+                boolean oneFieldMapping = table.oneFieldMapping;
+                String idEnumColumn = table.idEnumColumn;
+                String codeEnumColumn = table.codeEnumColumn;
+                String enumTable = table.enumTable;
+                String deletedColumn = table.deletedColumn;
+                String historyTable = table.historyTable;
+                Set<EnumData.EnumDataEntry> absentInBase = table.absentInBase;
+                Set<EnumData.EnumDataEntry> absentInTarget = table.absentInTarget;
+                Map<EnumData.EnumDataEntry, EnumData.EnumDataEntry> different = table.different;
+                String primaryColumn = ordinal ? idEnumColumn : codeEnumColumn;
+                String secondaryColumn = ordinal ? codeEnumColumn : idEnumColumn;
+                String keyColumns = primaryColumn + (oneFieldMapping ? "" : ", " + secondaryColumn);
+                String keyParameters = oneFieldMapping ? "?" : "?, ?";
+
+                if (table.enumPrecedence) {
+                        // Update table rows.
+                        if (table.doDeletes && !absentInBase.isEmpty()) {
+                                // Delete database table rows.
+                                String deleteQuery = "DELETE FROM " + enumTable + " WHERE " + primaryColumn + " = ?";// delete from enum_table where id = ?
+
+                                try {
+                                        int deletes = table.numDeletes = executeBatch(connection, deleteQuery, absentInBase.stream()
+                                                .map(ede -> Arrays.<Object> asList(ordinal ? ede.getId() : ede.getCode())).collect(toList()));
+                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), deletes, "deletes"));
+                                } catch (Exception ex) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "delete", absentInBase.size(), "delete", ""));
+                                        return false;
                                 }
 
-                                if (doInserts && !absentInTarget.isEmpty()) {
-                                        // Insert new data into table.
-                                        StringBuilder insertQuery = new StringBuilder("INSERT INTO " + enumTable + " ("
-                                                + (ordinal ? idEnumColumn : codeEnumColumn)
-                                                + (oneFieldMapping ? "" : (ordinal ? ", " + codeEnumColumn : ", " + idEnumColumn)) + ")"
-                                                + " VALUES ");// insert into enum_table (id, code) values (1, 'code');
-                                        for (Iterator<EnumData.EnumDataEntry> iter = absentInTarget.iterator(); iter.hasNext();) {
-                                                EnumData.EnumDataEntry ede = iter.next();
-                                                insertQuery.append("("
-                                                        + (ordinal ? ede.getId() : "'" + ede.getCode() + "'")
-                                                        + (oneFieldMapping ? "" : (ordinal ? ", " + "'" + ede.getCode() + "'" : ", " + ede.getId()))
-                                                        + (iter.hasNext() ? "), " : ");"));
-                                        }
+                                if (table.doSoftDeletes) {
+                                        // Insert new data into history table, skipping rows which are already there, as a failing insert would abort the whole transaction.
+                                        String insertHistoryQuery = "INSERT INTO " + historyTable + " (" + keyColumns + ") VALUES (" + keyParameters + ")";// insert into enum_table_history (id, code) values (?, ?)
+                                        int inserts;
 
                                         try {
-                                                ut.begin();
-                                                int inserts = numInserts = entityManager.createNativeQuery(insertQuery.toString()).executeUpdate();
-                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), inserts, "inserts"));
-                                                ut.commit();
+                                                String getHistoryDataQuery = "SELECT " + (ordinal ? "et." + idEnumColumn : "et." + codeEnumColumn)
+                                                        + (oneFieldMapping ? "" : (ordinal ? ", et." + codeEnumColumn : ", et." + idEnumColumn))
+                                                        + " FROM " + historyTable + " et;";// select et.id, et.code from enum_table_history et;
+                                                Set<List<Object>> historyData = readKeys(entityManager, getHistoryDataQuery);
+                                                inserts = executeBatch(connection, insertHistoryQuery, absentInBase.stream()
+                                                        .map(ede -> getKey(ede, ordinal, oneFieldMapping)).filter(key -> !historyData.contains(key)).collect(toList()));
                                         } catch (Exception ex) {
-                                                try {
-                                                        ut.rollback();
-                                                } catch (Exception ignore) {
-                                                }
-                                                logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "insert", absentInTarget.size(), "insert", ""));
+                                                logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, historyTable, "insert", absentInBase.size(), "insert", ""));
                                                 return false;
                                         }
-                                }
 
-                                if (!different.isEmpty()) {
-                                        // Update database table with respect to the alternate key.
-                                        StringBuilder updateQuery = new StringBuilder();
-                                        for (Iterator<EnumData.EnumDataEntry> iter = different.keySet().iterator(); iter.hasNext();) {
-                                                EnumData.EnumDataEntry ede = iter.next();
-                                                updateQuery.append("UPDATE " + enumTable + " SET "
-                                                        + (ordinal ? codeEnumColumn : idEnumColumn) + " = "
-                                                        + (ordinal ? "'" + ede.getCode() + "'" : ede.getId())
-                                                        + " WHERE " + (ordinal ? idEnumColumn : codeEnumColumn) + " = "
-                                                        + (ordinal ? ede.getId() : "'" + ede.getCode() + "'")
-                                                        + (iter.hasNext() ? "; " : ";"));// update enum_table set code = 'code' where id = 1;
+                                        int number = inserts;
+                                        if (inserts > 0) {
+                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, historyTable, enumeratedType.getSimpleName(), number, "inserts in history table"));
                                         }
+                                }
+                        }
 
-                                        try {
-                                                ut.begin();
-                                                int updates = entityManager.createNativeQuery(updateQuery.toString()).executeUpdate();
-                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), updates, "updates"));
-                                                ut.commit();
-                                        } catch (Exception ex) {
-                                                try {
-                                                        ut.rollback();
-                                                } catch (Exception ignore) {
-                                                }
-                                                logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "update", different.size(), "update", ""));
-                                                return false;
-                                        }
+                        if (table.doInserts && !absentInTarget.isEmpty()) {
+                                // Insert new data into table.
+                                String insertQuery = "INSERT INTO " + enumTable + " (" + keyColumns + ") VALUES (" + keyParameters + ")";// insert into enum_table (id, code) values (?, ?)
+
+                                try {
+                                        int inserts = table.numInserts = executeBatch(connection, insertQuery, absentInTarget.stream()
+                                                .map(ede -> getKey(ede, ordinal, oneFieldMapping)).collect(toList()));
+                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), inserts, "inserts"));
+                                } catch (Exception ex) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "insert", absentInTarget.size(), "insert", ""));
+                                        return false;
                                 }
+                        }
 
-                                // Mark enum class for update of the secondary field.
-                                mustUpdateSecondaryField = !oneFieldMapping;
-                        } else {
-                                // Update enum values.
-                                List<Enum<?>> newValues = Arrays.asList(enumeratedType.getEnumConstants())
-                                        .stream().filter(Objects::nonNull).collect(toList());
-
-                                if (doDeletes && !absentInTarget.isEmpty()) {
-                                        // Remove values from enum.
-                                        numDeletes = absentInTarget.stream()
-                                                .mapToInt(del -> {
-                                                        Optional<Enum<?>> enumToDeleteOptional = newValues.stream()
-                                                                .filter(enumConstant -> Objects.equals(ordinal ? del.id : del.code, ordinal ? enumConstant.ordinal() : enumConstant.name()))
-                                                                .findFirst();
-                                                        if (enumToDeleteOptional.isPresent()) {
-                                                                Enum<?> enumToDelete = enumToDeleteOptional.get();
-                                                                newValues.remove(enumToDelete);
-                                                                Optional<Field> staticEnumConstantOptional = Arrays.asList(enumeratedType.getDeclaredFields()).stream()
-                                                                        .filter(field -> {
-                                                                                try {
-                                                                                        return field.isEnumConstant() && field.get(null) == enumToDelete;
-                                                                                } catch (Exception ex) {
-                                                                                        return false;
-                                                                                }
-                                                                        }).findFirst();
-                                                                if (staticEnumConstantOptional.isPresent()) {
-                                                                        try {
-                                                                                modifyField(null, staticEnumConstantOptional.get(), null);
-                                                                        } catch (Exception ex) {
-                                                                                logger.log(INFO, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, staticEnumConstantOptional.get().getName(), enumeratedType));
-                                                                        }
-                                                                }
-                                                                return 1;
-                                                        }
-                                                        return 0;
-                                                }).sum();
-
-                                        // Try to add a deleted row to the database table.
-                                        if (doSoftDeletes) {
-                                                // Update history data into enum table.
-                                                StringBuilder insertHistoryQueryBase = new StringBuilder("INSERT INTO " + enumTable + " ("
-                                                        + ("".equals(idEnumColumn) ? "" : idEnumColumn)
-                                                        + ("".equals(codeEnumColumn) ? "" : (oneFieldMapping ? "" : ", ") + codeEnumColumn)
-                                                        + (", " + deletedColumn + ")")
-                                                        + " VALUES ");// insert into enum_table (id, code, deleted) values (1, 'code', 1);
-                                                int inserts = 0;
-
-                                                for (Iterator<EnumData.EnumDataEntry> iter = absentInTarget.iterator(); iter.hasNext();) {
-                                                        EnumData.EnumDataEntry ede = iter.next();
-                                                        String insertHistoryQuery = insertHistoryQueryBase + "("
-                                                                + ("".equals(idEnumColumn) ? "" : ede.getId())
-                                                                + ("".equals(codeEnumColumn) ? "" : (oneFieldMapping ? "" : ", ") + "'" + ede.getCode() + "'")
-                                                                + ", 1);";
+                        if (!different.isEmpty()) {
+                                // Update database table with respect to the alternate key.
+                                String updateQuery = "UPDATE " + enumTable + " SET " + secondaryColumn + " = ? WHERE " + primaryColumn + " = ?";// update enum_table set code = ? where id = ?
 
-                                                        try {
-                                                                ut.begin();
-                                                                inserts += entityManager.createNativeQuery(insertHistoryQuery).executeUpdate();
-                                                                ut.commit();
-                                                        } catch (Exception ex) {
-                                                                try {
-                                                                        ut.rollback();
-                                                                } catch (Exception ignore) {
-                                                                }
-                                                                logger.log(INFO, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "insert", 1, "insert", ", possible duplicate entry with key "
-                                                                        + (ordinal ? ede.getId() : ede.getCode())));
-                                                        }
-                                                }
+                                try {
+                                        int updates = executeBatch(connection, updateQuery, different.keySet().stream()
+                                                .map(ede -> Arrays.<Object> asList(ordinal ? ede.getCode() : ede.getId(), ordinal ? ede.getId() : ede.getCode())).collect(toList()));
+                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), updates, "updates"));
+                                } catch (Exception ex) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "update", different.size(), "update", ""));
+                                        return false;
+                                }
+                        }
+                } else if (table.doDeletes && table.doSoftDeletes && !absentInTarget.isEmpty()) {
+                        // Insert deleted rows into the enum table, skipping rows which are already there, as a failing insert would abort the whole transaction.
+                        String insertHistoryQuery = "INSERT INTO " + enumTable + " ("
+                                + ("".equals(idEnumColumn) ? "" : idEnumColumn)
+                                + ("".equals(codeEnumColumn) ? "" : (oneFieldMapping ? "" : ", ") + codeEnumColumn)
+                                + (", " + deletedColumn + ")")
+                                + " VALUES (" + keyParameters + ", ?)";// insert into enum_table (id, code, deleted) values (?, ?, ?)
+                        int inserts;
 
-                                                int number = inserts;
-                                                if (inserts > 0) {
-                                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), number, "number of inserts in history table"));
+                        try {
+                                String getDeletedDataQuery = "SELECT " + (ordinal ? "et." + idEnumColumn : "et." + codeEnumColumn)
+                                        + (oneFieldMapping ? "" : (ordinal ? ", et." + codeEnumColumn : ", et." + idEnumColumn))
+                                        + " FROM " + enumTable + " et WHERE et." + deletedColumn + " <> 0;";// select et.id, et.code from enum_table et where et.deleted <> 0;
+                                Set<List<Object>> deletedData = readKeys(entityManager, getDeletedDataQuery);
+                                List<List<Object>> parameters = absentInTarget.stream()
+                                        .filter(ede -> !deletedData.contains(getKey(ede, ordinal, oneFieldMapping)))
+                                        .map(ede -> {
+                                                List<Object> values = new ArrayList<>();
+                                                if (!"".equals(idEnumColumn)) {
+                                                        values.add(ede.getId());
                                                 }
-                                                if (inserts != absentInTarget.size()) {
-                                                        logger.log(INFO, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "insert", absentInBase.size(), "number of inserts in history table", ", but only " + number + " number of inserts was successful"));
+                                                if (!"".equals(codeEnumColumn)) {
+                                                        values.add(ede.getCode());
                                                 }
-                                        }
+                                                values.add(1);
+                                                return values;
+                                        }).collect(toList());
+                                inserts = executeBatch(connection, insertHistoryQuery, parameters);
+                        } catch (Exception ex) {
+                                logger.log(WARNING, () -> format(LOG_WARNING_ENUM_MAPPING_TABLE_MODIFICATION_ERROR, enumTable, "insert", absentInTarget.size(), "number of inserts in history table", ""));
+                                return false;
+                        }
 
-                                        if (numDeletes != absentInTarget.size()) {
-                                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "removal of enum values"));
-                                                return false;
-                                        }
+                        int number = inserts;
+                        if (inserts > 0) {
+                                logger.log(INFO, () -> format(LOG_INFO_ENUM_MAPPING_TABLE_MODIFIED, enumTable, enumeratedType.getSimpleName(), number, "number of inserts in history table"));
+                        }
+                }
+
+                return true;
+        }
+
+        private static int executeBatch(Connection connection, String query, List<List<Object>> parameters) throws SQLException {
+                if (parameters.isEmpty()) {
+                        return 0;
+                }
 
-                                        newValuesField = newValues;
+                try (PreparedStatement statement = connection.prepareStatement(query)) {
+                        for (List<Object> values : parameters) {
+                                for (int i = 0; i < values.size(); i++) {
+                                        statement.setObject(i + 1, values.get(i));
                                 }
 
-                                if (doInserts && !absentInBase.isEmpty()) {
-                                        // Add new values to enum.
-                                        Optional<Object> constructorAccessorOptional = getEnumConstructorAccessor(enumeratedType);
-                                        if (!constructorAccessorOptional.isPresent()) {
-                                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_ACCESS_ENUM_CONSTRUCTOR, enumeratedType));
-                                                return false;
-                                        }
-                                        Object constructorAccessor = constructorAccessorOptional.get();
+                                statement.addBatch();
+                        }
 
-                                        Optional<Method> newInstanceMethodOptional = getEnumNewInstanceMethod(enumeratedType, constructorAccessor);
-                                        if (!newInstanceMethodOptional.isPresent()) {
-                                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_ACCESS_ENUM_CONSTRUCTOR, enumeratedType));
-                                                return false;
-                                        }
-                                        Method newInstanceMethod = newInstanceMethodOptional.get();
+                        // A driver may report SUCCESS_NO_INFO instead of the actual update count.
+                        return Arrays.stream(statement.executeBatch()).map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0)).sum();
+                }
+        }
 
-                                        boolean hasErrorsWhileCreatingEnums = (numInserts = absentInBase.stream()
-                                                .mapToInt(insert -> {
-                                                        int id = insert.id == null ? newValues.isEmpty() ? 0 : newValues.stream()
-                                                                .map(enumConstant -> enumConstant.ordinal())
-                                                                .mapToInt(Integer::intValue).max().getAsInt() + 1 : insert.id;
-                                                        String code = insert.code == null ? "DEFAULT_" + id : insert.code;
+        private static Set<List<Object>> readKeys(EntityManager entityManager, String query) {
+                Set<List<Object>> keys = new HashSet<>();
 
-                                                        try {
-                                                                Enum<?> newEnum = enumeratedType.cast(newInstanceMethod.invoke(constructorAccessor, new Object[]{new Object[]{code, id}}));
-                                                                newValues.add(newEnum);
+                for (Object object : entityManager.createNativeQuery(query).getResultList()) {
+                        List<Object> key = new ArrayList<>();
 
-                                                                // Modify enum fields as well to keep everything consistent.
-                                                                if (idEnumFieldOptional.isPresent()) {
-                                                                        modifyField(newEnum, idEnumFieldOptional.get(), id);
-                                                                }
-                                                                if (codeEnumFieldOptional.isPresent()) {
-                                                                        modifyField(newEnum, codeEnumFieldOptional.get(), code);
-                                                                }
-                                                        } catch (Exception ex) {
-                                                                return 0;
-                                                        }
-                                                        return 1;
-                                                }).sum()) != absentInBase.size();
+                        for (Object value : (object instanceof Object[]) ? (Object[]) object : new Object[] { object }) {
+                                key.add(value instanceof Number ? ((Number) value).intValue() : value);
+                        }
 
-                                        if (hasErrorsWhileCreatingEnums) {
-                                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_INSTANTIATE_NEW_ENUM, enumeratedType));
-                                                return false;
-                                        }
+                        keys.add(key);
+                }
 
-                                        newValuesField = newValues;
-                                }
+                return keys;
+        }
 
-                                if (!different.isEmpty()) {
-                                        // Update secondary enum field.
-                                        boolean hasErrorsWhileModifyingEnums = different.entrySet().stream()
-                                                .map(entry -> {
-                                                        EnumData.EnumDataEntry target = entry.getValue();
-                                                        Object primaryValue = ordinal ? target.id : target.code;
-                                                        Object secondaryValue = ordinal ? target.code : target.id;
-                                                        Optional<Enum<?>> enumToModifyOptional = newValues.stream()
-                                                                .filter(enumConstant -> {
-                                                                        return Objects.equals(primaryValue, ordinal ? enumConstant.ordinal() : enumConstant.name());
+        private static List<Object> getKey(EnumData.EnumDataEntry ede, boolean ordinal, boolean oneFieldMapping) {
+                Object primaryValue = ordinal ? ede.getId() : ede.getCode();
+                Object secondaryValue = ordinal ? ede.getCode() : ede.getId();
+                return oneFieldMapping ? asList(primaryValue) : asList(primaryValue, secondaryValue);
+        }
+
+        private boolean modifyEnum(EnumMappingTableData table) {
+                Class<? extends Enum<?>> enumeratedType = table.enumeratedType;
+                boolean ordinal = table.ordinal;
+                boolean enumPrecedence = table.enumPrecedence;
+                boolean oneFieldMapping = table.oneFieldMapping;
+                Optional<Field> idEnumFieldOptional = table.idEnumFieldOptional;
+                Optional<Field> codeEnumFieldOptional = table.codeEnumFieldOptional;
+                Field secondaryEnumField = table.secondaryEnumFieldOptional.orElse(null);
+                Set<EnumData.EnumDataEntry> absentInBase = table.absentInBase;
+                Set<EnumData.EnumDataEntry> absentInTarget = table.absentInTarget;
+                Map<EnumData.EnumDataEntry, EnumData.EnumDataEntry> different = table.different;
+
+                // Act according to the collected data.
+                boolean mustUpdateSecondaryField = false; // If the other internal field must be updated as well.
+                List<Enum<?>> newValuesField = null; // List of new enum constants in case table takes precedence.
+                int numDeletes = table.numDeletes, numInserts = table.numInserts; // Placeholder for enum modifications.
+
+                if (enumPrecedence) {
+                        // Table rows are already updated, mark enum class for update of the secondary field.
+                        mustUpdateSecondaryField = !oneFieldMapping;
+                } else {
+                        // Update enum values.
+                        List<Enum<?>> newValues = Arrays.asList(enumeratedType.getEnumConstants())
+                                .stream().filter(Objects::nonNull).collect(toList());
+
+                        if (table.doDeletes && !absentInTarget.isEmpty()) {
+                                // Remove values from enum.
+                                numDeletes = absentInTarget.stream()
+                                        .mapToInt(del -> {
+                                                Optional<Enum<?>> enumToDeleteOptional = newValues.stream()
+                                                        .filter(enumConstant -> Objects.equals(ordinal ? del.id : del.code, ordinal ? enumConstant.ordinal() : enumConstant.name()))
+                                                        .findFirst();
+                                                if (enumToDeleteOptional.isPresent()) {
+                                                        Enum<?> enumToDelete = enumToDeleteOptional.get();
+                                                        newValues.remove(enumToDelete);
+                                                        Optional<Field> staticEnumConstantOptional = Arrays.asList(enumeratedType.getDeclaredFields()).stream()
+                                                                .filter(field -> {
+                                                                        try {
+                                                                                return field.isEnumConstant() && field.get(null) == enumToDelete;
+                                                                        } catch (Exception ex) {
+                                                                                return false;
+                                                                        }
                                                                 }).findFirst();
-                                                        if (enumToModifyOptional.isPresent()) {
+                                                        if (staticEnumConstantOptional.isPresent()) {
                                                                 try {
-                                                                        modifyField(enumToModifyOptional.get(), secondaryEnumField, secondaryValue);
+                                                                        modifyField(null, staticEnumConstantOptional.get(), null);
                                                                 } catch (Exception ex) {
-                                                                        logger.log(WARNING, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, secondaryEnumField.getName(), enumeratedType));
-                                                                        return true;
+                                                                        logger.log(INFO, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, staticEnumConstantOptional.get().getName(), enumeratedType));
                                                                 }
                                                         }
-                                                        return false;
-                                                }).anyMatch(e -> e);
+                                                        return 1;
+                                                }
+                                                return 0;
+                                        }).sum();
 
-                                        if (hasErrorsWhileModifyingEnums) {
-                                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "modification of secondary values"));
-                                                return false;
-                                        }
+                                if (numDeletes != absentInTarget.size()) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "removal of enum values"));
+                                        return false;
                                 }
 
-                                if (!different.isEmpty() || (!oneFieldMapping && !common.isEmpty())) {
-                                        // Mark enum class for update of the secondary field.
-                                        mustUpdateSecondaryField = true;
-                                }
+                                newValuesField = newValues;
                         }
 
-                        // Update enum superclass internal fields.
-                        List<Enum<?>> valuesToUpdate = newValuesField == null ? Arrays.asList(enumeratedType.getEnumConstants())
-                                .stream().filter(Objects::nonNull).collect(toList()) : newValuesField;
-                        if (mustUpdateSecondaryField) {
-                                Field targetSecondaryField = findField(enumeratedType.getSuperclass(), ordinal ? "name" : "ordinal").get();
-                                boolean hasErrorsWhileModifyingEnums = valuesToUpdate.stream()
-                                        .map(constant -> {
+                        if (table.doInserts && !absentInBase.isEmpty()) {
+                                // Add new values to enum.
+                                Optional<Object> constructorAccessorOptional = getEnumConstructorAccessor(enumeratedType);
+                                if (!constructorAccessorOptional.isPresent()) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_ACCESS_ENUM_CONSTRUCTOR, enumeratedType));
+                                        return false;
+                                }
+                                Object constructorAccessor = constructorAccessorOptional.get();
+
+                                Optional<Method> newInstanceMethodOptional = getEnumNewInstanceMethod(enumeratedType, constructorAccessor);
+                                if (!newInstanceMethodOptional.isPresent()) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_ACCESS_ENUM_CONSTRUCTOR, enumeratedType));
+                                        return false;
+                                }
+                                Method newInstanceMethod = newInstanceMethodOptional.get();
+
+                                boolean hasErrorsWhileCreatingEnums = (numInserts = absentInBase.stream()
+                                        .mapToInt(insert -> {
+                                                int id = insert.id == null ? newValues.isEmpty() ? 0 : newValues.stream()
+                                                        .map(enumConstant -> enumConstant.ordinal())
+                                                        .mapToInt(Integer::intValue).max().getAsInt() + 1 : insert.id;
+                                                String code = insert.code == null ? "DEFAULT_" + id : insert.code;
+
                                                 try {
-                                                        Object value = accessField(constant, secondaryEnumField);
-                                                        modifyField(constant, targetSecondaryField, value);
+                                                        Enum<?> newEnum = enumeratedType.cast(newInstanceMethod.invoke(constructorAccessor, new Object[]{new Object[]{code, id}}));
+                                                        newValues.add(newEnum);
+
+                                                        // Modify enum fields as well to keep everything consistent.
+                                                        if (idEnumFieldOptional.isPresent()) {
+                                                                modifyField(newEnum, idEnumFieldOptional.get(), id);
+                                                        }
+                                                        if (codeEnumFieldOptional.isPresent()) {
+                                                                modifyField(newEnum, codeEnumFieldOptional.get(), code);
+                                                        }
                                                 } catch (Exception ex) {
-                                                        logger.log(WARNING, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, targetSecondaryField.getName(), enumeratedType));
-                                                        return true;
+                                                        return 0;
+                                                }
+                                                return 1;
+                                        }).sum()) != absentInBase.size();
+
+                                if (hasErrorsWhileCreatingEnums) {
+                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_INSTANTIATE_NEW_ENUM, enumeratedType));
+                                        return false;
+                                }
+
+                                newValuesField = newValues;
+                        }
+
+                        if (!different.isEmpty()) {
+                                // Update secondary enum field.
+                                boolean hasErrorsWhileModifyingEnums = different.entrySet().stream()
+                                        .map(entry -> {
+                                                EnumData.EnumDataEntry target = entry.getValue();
+                                                Object primaryValue = ordinal ? target.id : target.code;
+                                                Object secondaryValue = ordinal ? target.code : target.id;
+                                                Optional<Enum<?>> enumToModifyOptional = newValues.stream()
+                                                        .filter(enumConstant -> {
+                                                                return Objects.equals(primaryValue, ordinal ? enumConstant.ordinal() : enumConstant.name());
+                                                        }).findFirst();
+                                                if (enumToModifyOptional.isPresent()) {
+                                                        try {
+                                                                modifyField(enumToModifyOptional.get(), secondaryEnumField, secondaryValue);
+                                                        } catch (Exception ex) {
+                                                                logger.log(WARNING, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, secondaryEnumField.getName(), enumeratedType));
+                                                                return true;
+                                                        }
                                                 }
                                                 return false;
                                         }).anyMatch(e -> e);
 
                                 if (hasErrorsWhileModifyingEnums) {
-                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "modification of " + (ordinal ? "name values" : "ordinal values")));
+                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "modification of secondary values"));
                                         return false;
-                                } else {
-                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, valuesToUpdate.size(), "modification of " + (ordinal ? "name values" : "ordinal values")));
                                 }
                         }
 
-                        // Update enum values.
-                        if (newValuesField != null || (mustUpdateSecondaryField && !ordinal)) {
-                                try {
-                                        // Get maximum new ordinal value.
-                                        int maxOrdinal = valuesToUpdate.stream().mapToInt(Enum::ordinal).max().orElse(0);
-
-                                        // Create arrays of new Enum mappings.
-                                        Object values = Array.newInstance(enumeratedType, maxOrdinal + 1);
-                                        valuesToUpdate.forEach(constant -> Array.set(values, constant.ordinal(), constant));
-                                        Object nonBlankValues = Array.newInstance(enumeratedType, valuesToUpdate.size());
-                                        int i = 0;
-                                        for (Enum<?> e : valuesToUpdate) {
-                                                Array.set(nonBlankValues, i++, e);
+                        if (!different.isEmpty() || (!oneFieldMapping && !table.common.isEmpty())) {
+                                // Mark enum class for update of the secondary field.
+                                mustUpdateSecondaryField = true;
+                        }
+                }
+
+                // Update enum superclass internal fields.
+                List<Enum<?>> valuesToUpdate = newValuesField == null ? Arrays.asList(enumeratedType.getEnumConstants())
+                        .stream().filter(Objects::nonNull).collect(toList()) : newValuesField;
+                if (mustUpdateSecondaryField) {
+                        Field targetSecondaryField = findField(enumeratedType.getSuperclass(), ordinal ? "name" : "ordinal").get();
+                        boolean hasErrorsWhileModifyingEnums = valuesToUpdate.stream()
+                                .map(constant -> {
+                                        try {
+                                                Object value = accessField(constant, secondaryEnumField);
+                                                modifyField(constant, targetSecondaryField, value);
+                                        } catch (Exception ex) {
+                                                logger.log(WARNING, () -> format(LOG_WARNING_UNMODIFIABLE_ENUM_FIELD, targetSecondaryField.getName(), enumeratedType));
+                                                return true;
                                         }
+                                        return false;
+                                }).anyMatch(e -> e);
+
+                        if (hasErrorsWhileModifyingEnums) {
+                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "modification of " + (ordinal ? "name values" : "ordinal values")));
+                                return false;
+                        } else {
+                                logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, valuesToUpdate.size(), "modification of " + (ordinal ? "name values" : "ordinal values")));
+                        }
+                }
 
-                                        // Replace internal Enum values representation.
-                                        Field enumValues = enumeratedType.getDeclaredField("$VALUES");
-                                        modifyField(null, enumValues, values);
+                // Update enum values.
+                if (newValuesField != null || (mustUpdateSecondaryField && !ordinal)) {
+                        try {
+                                // Get maximum new ordinal value.
+                                int maxOrdinal = valuesToUpdate.stream().mapToInt(Enum::ordinal).max().orElse(0);
+
+                                // Create arrays of new Enum mappings.
+                                Object values = Array.newInstance(enumeratedType, maxOrdinal + 1);
+                                valuesToUpdate.forEach(constant -> Array.set(values, constant.ordinal(), constant));
+                                Object nonBlankValues = Array.newInstance(enumeratedType, valuesToUpdate.size());
+                                int i = 0;
+                                for (Enum<?> e : valuesToUpdate) {
+                                        Array.set(nonBlankValues, i++, e);
+                                }
 
-                                        // Rebuild internal cache that persistence providers are using under the covers.
-                                        Field enumConstants = findField(Class.class, "enumConstants").get();
-                                        modifyField(enumeratedType, enumConstants, null);
-                                        Enum<?>[] constants = enumeratedType.getEnumConstants();
+                                // Replace internal Enum values representation.
+                                Field enumValues = enumeratedType.getDeclaredField("$VALUES");
+                                modifyField(null, enumValues, values);
 
-                                        Field enumConstantDirectory = findField(Class.class, "enumConstantDirectory").get();
-                                        modifyField(enumeratedType, enumConstantDirectory, Arrays.asList(constants).stream().filter(Objects::nonNull).collect(Collectors.toMap(Enum::name, Function.identity())));
+                                // Rebuild internal cache that persistence providers are using under the covers.
+                                Field enumConstants = findField(Class.class, "enumConstants").get();
+                                modifyField(enumeratedType, enumConstants, null);
+                                Enum<?>[] constants = enumeratedType.getEnumConstants();
 
-                                        // Return back the values array so that direct usage in code yields predictable behaviour.
-                                        modifyField(null, enumValues, nonBlankValues);
+                                Field enumConstantDirectory = findField(Class.class, "enumConstantDirectory").get();
+                                modifyField(enumeratedType, enumConstantDirectory, Arrays.asList(constants).stream().filter(Objects::nonNull).collect(Collectors.toMap(Enum::name, Function.identity())));
 
-                                        if (!enumPrecedence && numInserts > 0) {
-                                                int number = numInserts;
-                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, number, "inserts"));
-                                        }
-                                        if (!enumPrecedence && numDeletes > 0) {
-                                                int number = numDeletes;
-                                                logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, number, "deletes"));
-                                        }
-                                } catch (Exception ex) {
-                                        logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "replacement of enum values"));
-                                        return false;
+                                // Return back the values array so that direct usage in code yields predictable behaviour.
+                                modifyField(null, enumValues, nonBlankValues);
+
+                                if (!enumPrecedence && numInserts > 0) {
+                                        int number = numInserts;
+                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, number, "inserts"));
+                                }
+                                if (!enumPrecedence && numDeletes > 0) {
+                                        int number = numDeletes;
+                                        logger.log(INFO, () -> format(LOG_INFO_ENUM_DATA_MODIFIED, enumeratedType, number, "deletes"));
                                 }
+                        } catch (Exception ex) {
+                                logger.log(WARNING, () -> format(LOG_WARNING_CANNOT_MODIFY_ENUM_DATA, enumeratedType, "replacement of enum values"));
+                                return false;
                         }
-
-                } finally {
-                        entityManager.close();
                 }
 
                 return true;
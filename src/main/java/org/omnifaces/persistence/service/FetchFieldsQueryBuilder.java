@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.Root;
+
+import org.omnifaces.persistence.service.BaseEntityService.MappedQueryBuilder;
+import org.omnifaces.utils.reflect.Getter;
+
+/**
+ * Helper class of {@link BaseEntityService}. This is the query builder behind the getPage methods which only take fetch fields.
+ * As it doesn't hold any further state, it's known that the query built by it can be reused for other pages of the same shape.
+ */
+class FetchFieldsQueryBuilder<T> implements MappedQueryBuilder<T> {
+
+	private final List<String> fetchFields;
+
+	public FetchFieldsQueryBuilder(String... fetchFields) {
+		this.fetchFields = unmodifiableList(asList(fetchFields.clone()));
+	}
+
+	@Override
+	public LinkedHashMap<Getter<T>, Expression<?>> build(CriteriaBuilder criteriaBuilder, AbstractQuery<T> query, Root<? super T> root) {
+		for (String fetchField : fetchFields) {
+			FetchParent<?, ?> fetchParent = root;
+
+			for (String attribute : fetchField.split("\\.")) {
+				fetchParent = fetchParent.fetch(attribute);
+			}
+		}
+
+		return null;
+	}
+
+	public List<String> getFetchFields() {
+		return fetchFields;
+	}
+
+}
@@ -12,6 +12,13 @@
  */
 package org.omnifaces.persistence.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.omnifaces.persistence.model.dto.CountStrategy;
 import org.omnifaces.persistence.model.dto.Page;
 import org.omnifaces.persistence.service.BaseEntityService.MappedQueryBuilder;
 
@@ -24,16 +31,24 @@ class PageBuilder<T> {
 	private final boolean cacheable;
 	private final Class<T> resultType;
 	private final MappedQueryBuilder<T> queryBuilder;
+	private final CountStrategy countStrategy;
+	private final Map<String, Entry<String, Class<?>>> valueBasedPagingParameters;
+	private final List<Entry<Class<?>, List<String>>> criteriaParameterNames;
 
 	private boolean shouldBuildCountSubquery;
 	private boolean canBuildValueBasedPagingPredicate;
+	private PageQueryTemplate<T> template;
+	private Map<String, Object> criteriaParameters;
 
-	public PageBuilder(Page page, boolean cacheable, Class<T> resultType, MappedQueryBuilder<T> queryBuilder) {
+	public PageBuilder(Page page, boolean cacheable, Class<T> resultType, MappedQueryBuilder<T> queryBuilder, CountStrategy countStrategy) {
 		this.page = page;
 		this.cacheable = cacheable;
 		this.resultType = resultType;
 		this.queryBuilder = queryBuilder;
-		this.canBuildValueBasedPagingPredicate = page.getLast() != null && page.getOffset() > 0;
+		this.countStrategy = countStrategy;
+		this.valueBasedPagingParameters = new HashMap<>(page.getOrdering().size());
+		this.criteriaParameterNames = new ArrayList<>(page.getRequiredCriteria().size() + page.getOptionalCriteria().size());
+		this.canBuildValueBasedPagingPredicate = (page.getLast() != null && page.getOffset() > 0) || page.getCursor() != null;
 	}
 
 	public void shouldBuildCountSubquery(boolean yes) {
@@ -52,6 +67,38 @@ class PageBuilder<T> {
 		return canBuildValueBasedPagingPredicate;
 	}
 
+	public Map<String, Entry<String, Class<?>>> getValueBasedPagingParameters() {
+		return valueBasedPagingParameters;
+	}
+
+	/**
+	 * Returns the type of the field and the names of the parameters of each criterion of the entity query, first of the required and
+	 * then of the optional criteria. The entry is <code>null</code> when the criterion was skipped because of an illegal value.
+	 */
+	public List<Entry<Class<?>, List<String>>> getCriteriaParameterNames() {
+		return criteriaParameterNames;
+	}
+
+	public PageQueryTemplate<T> getTemplate() {
+		return template;
+	}
+
+	public void setTemplate(PageQueryTemplate<T> template) {
+		this.template = template;
+	}
+
+	public Map<String, Object> getCriteriaParameters() {
+		return criteriaParameters;
+	}
+
+	public void restore(PageQueryTemplate<T> template, Map<String, Object> criteriaParameters) {
+		this.template = template;
+		this.criteriaParameters = criteriaParameters;
+		shouldBuildCountSubquery = template.shouldBuildCountSubquery();
+		canBuildValueBasedPagingPredicate = template.canBuildValueBasedPagingPredicate();
+		valueBasedPagingParameters.putAll(template.getValueBasedPagingParameters());
+	}
+
 	public Page getPage() {
 		return page;
 	}
@@ -68,4 +115,8 @@ class PageBuilder<T> {
 		return queryBuilder;
 	}
 
+	public CountStrategy getCountStrategy() {
+		return countStrategy;
+	}
+
 }
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.lang.Character.toUpperCase;
+import static java.lang.String.format;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.reverse;
+import static java.util.Collections.singletonList;
+import static java.util.Comparator.nullsFirst;
+import static java.util.logging.Level.WARNING;
+import static java.util.stream.Collectors.toList;
+import static org.omnifaces.persistence.model.Identifiable.ID;
+import static org.omnifaces.utils.stream.Streams.stream;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.omnifaces.persistence.criteria.Bool;
+import org.omnifaces.persistence.criteria.Criteria;
+import org.omnifaces.persistence.criteria.Enumerated;
+import org.omnifaces.persistence.criteria.IgnoreCase;
+import org.omnifaces.persistence.criteria.Not;
+import org.omnifaces.persistence.criteria.Numeric;
+import org.omnifaces.persistence.model.BaseEntity;
+import org.omnifaces.persistence.model.dto.Page;
+
+/**
+ * Helper class of {@link BaseEntityService}. This evaluates a {@link Page} against an in-memory collection of entities
+ * with the same semantics as the criteria query built by {@link BaseEntityService#getPage(Page, boolean)}. The criteria
+ * are parsed only once per page and the property accessors are compiled only once per entity class into method handles.
+ */
+class PageEvaluator {
+
+	private static final Logger logger = Logger.getLogger(PageEvaluator.class.getName());
+
+	private static final String LOG_WARNING_ILLEGAL_CRITERIA_VALUE = "Cannot parse predicate for %s(%s) = %s(%s), skipping!";
+
+	private static final String ERROR_UNSUPPORTED_CRITERIA =
+		"Predicate for %s(%s) = %s(%s) is not supported. Consider wrapping in a Criteria instance or creating a custom one if you want to deal with it.";
+	private static final String ERROR_UNKNOWN_PROPERTY =
+		"Property %s cannot be found in %s. There should be a getter or a field with this name.";
+
+	private static final Map<Class<?>, Map<String, Accessor>> ACCESSORS = new ConcurrentHashMap<>();
+
+	private final Page page;
+	private final boolean valueBasedPaging;
+	private final boolean reversed;
+	private final List<Criterion> requiredCriteria;
+	private final List<Criterion> optionalCriteria;
+	private final List<Ordering> orderings;
+
+	/**
+	 * Compile the given page for the given entity type.
+	 * @param page The page to be evaluated.
+	 * @param entityType The entity type.
+	 * @param identifierType The identifier type, as it cannot be determined from the generic ID getter.
+	 * @throws IllegalArgumentException When a property of the page cannot be found in the entity type.
+	 * @throws UnsupportedOperationException When a criteria value is not supported.
+	 */
+	PageEvaluator(Page page, Class<?> entityType, Class<?> identifierType) {
+		this.page = page;
+		this.valueBasedPaging = (page.getLast() != null && page.getOffset() > 0) || page.getCursor() != null;
+		this.reversed = valueBasedPaging && page.isReversed();
+		this.requiredCriteria = compileCriteria(page.getRequiredCriteria(), entityType, identifierType);
+		this.optionalCriteria = compileCriteria(page.getOptionalCriteria(), entityType, identifierType);
+		this.orderings = stream(page.getOrdering())
+			.map(order -> new Ordering(order.getKey(), new Path(entityType, identifierType, order.getKey()), order.getValue() ^ reversed))
+			.collect(toList());
+
+		if (valueBasedPaging) {
+			orderings.forEach(ordering -> ordering.value = (page.getCursor() != null)
+				? page.getCursor().getValue(ordering.field, ordering.path.type)
+				: new Path(page.getLast().getClass(), identifierType, ordering.field).getValue(page.getLast()));
+		}
+	}
+
+	/**
+	 * Evaluate the compiled page against the given entities.
+	 * @param <E> The generic entity type.
+	 * @param entities The entities to be evaluated. This won't be modified.
+	 * @return The entities of the page and the total number of entities matching the criteria.
+	 */
+	<E> Entry<List<E>, Integer> evaluate(Collection<E> entities) {
+		List<E> matches = entities.stream().filter(this::matchesCriteria).collect(toList());
+		int count = matches.size();
+		matches.sort(orderings.stream().map(Ordering::comparator).reduce(Comparator::thenComparing).orElse((l, r) -> 0));
+
+		Stream<E> results = valueBasedPaging ? matches.stream().filter(this::matchesValueBasedPaging) : matches.stream().skip(page.getOffset());
+		List<E> list = results.limit(page.getLimit()).collect(toList());
+
+		if (reversed) {
+			reverse(list);
+		}
+
+		return new SimpleEntry<>(list, count);
+	}
+
+	private boolean matchesCriteria(Object entity) {
+		if (!requiredCriteria.stream().allMatch(criterion -> criterion.matches(entity))) {
+			return false;
+		}
+
+		return optionalCriteria.isEmpty() || optionalCriteria.stream().anyMatch(criterion -> criterion.matches(entity));
+	}
+
+	private boolean matchesValueBasedPaging(Object entity) {
+		// (orderByField1 > ?1) OR (orderByField1 = ?1 AND orderByField2 > ?2) OR (orderByField1 = ?1 AND orderByField2 = ?2 AND orderByField3 > ?3) [...]
+		for (Ordering ordering : orderings) {
+			Object value = ordering.path.getValue(entity);
+
+			if (value != null && ordering.value != null) {
+				int comparison = compare(value, ordering.value);
+
+				if (ordering.ascending ? comparison > 0 : comparison < 0) {
+					return true;
+				}
+				else if (comparison != 0) {
+					return false;
+				}
+			}
+			else if (value != null || ordering.value != null) {
+				return false; // SQL comparison with NULL is never true, and IS NULL only applies when both are NULL.
+			}
+		}
+
+		return false;
+	}
+
+	private static List<Criterion> compileCriteria(Map<String, Object> criteria, Class<?> entityType, Class<?> identifierType) {
+		List<Criterion> compiledCriteria = new ArrayList<>(criteria.size());
+
+		for (Entry<String, Object> criterion : criteria.entrySet()) {
+			Path path = new Path(entityType, identifierType, criterion.getKey());
+
+			try {
+				compiledCriteria.add(new Criterion(path, criterion.getValue()));
+			}
+			catch (IllegalArgumentException e) {
+				Object value = criterion.getValue();
+				logger.log(WARNING, e, () -> format(LOG_WARNING_ILLEGAL_CRITERIA_VALUE, path.field, path.type, value, value != null ? value.getClass() : null));
+			}
+		}
+
+		return compiledCriteria;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Predicate<Object> compilePredicate(Path path, Object value) {
+		Class<?> type = path.type;
+
+		if (value == null || (value instanceof Criteria && ((Criteria<?>) value).getValue() == null)) {
+			return Objects::isNull;
+		}
+		else if (value instanceof Criteria) {
+			return ((Criteria<?>) value)::applies;
+		}
+		else if (value instanceof BaseEntity) {
+			return modelValue -> Objects.equals(modelValue, value);
+		}
+		else if (type.isEnum()) {
+			return Enumerated.parse(value, (Class<Enum<?>>) type)::applies;
+		}
+		else if (Number.class.isAssignableFrom(type)) {
+			return Numeric.parse(value, (Class<Number>) type)::applies;
+		}
+		else if (Boolean.class.isAssignableFrom(type)) {
+			return Bool.parse(value)::applies;
+		}
+		else if (String.class.isAssignableFrom(type) || value instanceof String) {
+			return IgnoreCase.value(value.toString())::applies;
+		}
+		else {
+			throw new UnsupportedOperationException(format(ERROR_UNSUPPORTED_CRITERIA, path.field, type, value, value.getClass()));
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(Object left, Object right) {
+		return (left instanceof Comparable) ? ((Comparable) left).compareTo(right) : left.toString().compareTo(right.toString());
+	}
+
+	private static Accessor getAccessor(Class<?> type, String property) {
+		return ACCESSORS.computeIfAbsent(type, k -> new ConcurrentHashMap<>()).computeIfAbsent(property, k -> Accessor.of(type, property));
+	}
+
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * A compiled criterion. When the path represents a to-many relationship or an element collection, then a single
+	 * criteria value applies when any element matches, and an iterable or array criteria value applies when all of its
+	 * items are matched by any element, like the count subquery of {@link BaseEntityService#getPage(Page, boolean)}.
+	 */
+	private static final class Criterion {
+
+		private final Path path;
+		private final boolean negated;
+		private final List<Predicate<Object>> predicates;
+		private final boolean array;
+
+		Criterion(Path path, Object criteria) {
+			Object value = (criteria instanceof Not) ? ((Not) criteria).getValue() : criteria;
+			this.path = path;
+			this.negated = criteria instanceof Not;
+			this.array = value != null && !(value instanceof Criteria) && (value instanceof Iterable || value.getClass().isArray());
+			this.predicates = array ? stream(value).map(item -> compilePredicate(path, item)).collect(toList()) : singletonList(compilePredicate(path, value));
+
+			if (predicates.isEmpty()) {
+				throw new IllegalArgumentException(value.toString());
+			}
+		}
+
+		boolean matches(Object entity) {
+			List<Object> values = path.getValues(entity);
+			boolean matches;
+
+			if (array && path.toMany) {
+				matches = predicates.stream().allMatch(predicate -> values.stream().anyMatch(predicate));
+			}
+			else {
+				matches = predicates.stream().anyMatch(predicate -> values.stream().anyMatch(predicate));
+			}
+
+			return matches ^ negated;
+		}
+	}
+
+	/**
+	 * A compiled ordering, along with the value based paging value, if any.
+	 */
+	private static final class Ordering {
+
+		private final String field;
+		private final Path path;
+		private final boolean ascending;
+		private Object value;
+
+		Ordering(String field, Path path, boolean ascending) {
+			this.field = field;
+			this.path = path;
+			this.ascending = ascending;
+		}
+
+		Comparator<Object> comparator() {
+			Comparator<Object> comparator = Comparator.comparing(path::getValue, nullsFirst(PageEvaluator::compare));
+			return ascending ? comparator : comparator.reversed();
+		}
+	}
+
+	/**
+	 * A compiled property path, such as <code>foo.bar.baz</code>.
+	 */
+	private static final class Path {
+
+		private final String field;
+		private final List<String> properties;
+		private final Class<?> type;
+		private final boolean toMany;
+
+		Path(Class<?> entityType, Class<?> identifierType, String field) {
+			Class<?> type = entityType;
+			boolean toMany = false;
+			this.field = field;
+			this.properties = new ArrayList<>();
+
+			for (String property : field.split("\\.")) {
+				Accessor accessor = getAccessor(type, property);
+				properties.add(property);
+				type = accessor.elementType;
+				toMany |= accessor.collection;
+			}
+
+			this.type = ID.equals(field) ? identifierType : type;
+			this.toMany = toMany;
+		}
+
+		Object getValue(Object entity) {
+			List<Object> values = getValues(entity);
+			return values.isEmpty() ? null : values.get(0);
+		}
+
+		List<Object> getValues(Object entity) {
+			List<Object> values = singletonList(entity);
+
+			for (String property : properties) {
+				List<Object> nextValues = new ArrayList<>(values.size());
+
+				for (Object value : values) {
+					if (value != null) {
+						Object nextValue = getAccessor(value.getClass(), property).get(value);
+
+						if (nextValue instanceof Collection) {
+							nextValues.addAll((Collection<?>) nextValue);
+						}
+						else {
+							nextValues.add(nextValue);
+						}
+					}
+				}
+
+				values = nextValues;
+			}
+
+			return (toMany || !values.isEmpty()) ? values : singletonList(null);
+		}
+	}
+
+	/**
+	 * A compiled property getter.
+	 */
+	private static final class Accessor {
+
+		private final MethodHandle getter;
+		private final Class<?> elementType;
+		private final boolean collection;
+
+		private Accessor(MethodHandle getter, Type type) {
+			Class<?> rawType = getRawType(type);
+			this.getter = getter.asType(methodType(Object.class, Object.class));
+			this.collection = Collection.class.isAssignableFrom(rawType);
+			this.elementType = collection && type instanceof ParameterizedType ? getRawType(((ParameterizedType) type).getActualTypeArguments()[0]) : methodType(rawType).wrap().returnType();
+		}
+
+		static Accessor of(Class<?> type, String property) {
+			String capitalized = toUpperCase(property.charAt(0)) + property.substring(1);
+
+			try {
+				for (String getterName : new String[] { "get" + capitalized, "is" + capitalized }) {
+					for (Method method : type.getMethods()) {
+						if (method.getName().equals(getterName) && method.getParameterCount() == 0) {
+							return new Accessor(MethodHandles.lookup().unreflect(method), method.getGenericReturnType());
+						}
+					}
+				}
+
+				for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+					for (Field field : current.getDeclaredFields()) {
+						if (field.getName().equals(property)) {
+							field.setAccessible(true);
+							return new Accessor(MethodHandles.lookup().unreflectGetter(field), field.getGenericType());
+						}
+					}
+				}
+			}
+			catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+
+			throw new IllegalArgumentException(format(ERROR_UNKNOWN_PROPERTY, property, type));
+		}
+
+		Object get(Object instance) {
+			try {
+				return getter.invokeExact(instance);
+			}
+			catch (RuntimeException e) {
+				throw e;
+			}
+			catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private static Class<?> getRawType(Type type) {
+			if (type instanceof Class) {
+				return (Class<?>) type;
+			}
+			else if (type instanceof ParameterizedType) {
+				return (Class<?>) ((ParameterizedType) type).getRawType();
+			}
+			else {
+				return Object.class;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.service;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+/**
+ * Helper class of {@link BaseEntityService}. This holds the criteria queries built for a certain page shape, so that subsequent
+ * pages of the same shape only need to bind the parameters. The parameter values are deliberately not held, only their names per
+ * criterion and their types.
+ */
+class PageQueryTemplate<T> {
+
+	private final CriteriaQuery<T> entityQuery;
+	private final Root<?> entityQueryRoot;
+	private final List<Entry<Class<?>, List<String>>> criteriaParameterNames;
+	private final Map<String, Class<?>> criteriaParameterTypes;
+	private final Map<String, Entry<String, Class<?>>> valueBasedPagingParameters;
+	private final boolean shouldBuildCountSubquery;
+	private final boolean canBuildValueBasedPagingPredicate;
+
+	private volatile Entry<CriteriaQuery<Long>, Set<String>> countQuery;
+
+	public PageQueryTemplate(PageBuilder<T> pageBuilder, CriteriaQuery<T> entityQuery, Root<?> entityQueryRoot, Map<String, Object> entityQueryParameters) {
+		this.entityQuery = entityQuery;
+		this.entityQueryRoot = entityQueryRoot;
+		this.valueBasedPagingParameters = unmodifiableMap(new HashMap<>(pageBuilder.getValueBasedPagingParameters()));
+		this.criteriaParameterNames = unmodifiableList(new ArrayList<>(pageBuilder.getCriteriaParameterNames()));
+		Map<String, Class<?>> criteriaParameterTypes = new HashMap<>(entityQueryParameters.size());
+		entityQueryParameters.forEach((name, value) -> criteriaParameterTypes.put(name, (value != null) ? value.getClass() : null));
+		criteriaParameterTypes.keySet().removeAll(valueBasedPagingParameters.keySet());
+		this.criteriaParameterTypes = unmodifiableMap(criteriaParameterTypes);
+		this.shouldBuildCountSubquery = pageBuilder.shouldBuildCountSubquery();
+		this.canBuildValueBasedPagingPredicate = pageBuilder.canBuildValueBasedPagingPredicate();
+	}
+
+	public CriteriaQuery<T> getEntityQuery() {
+		return entityQuery;
+	}
+
+	public Root<?> getEntityQueryRoot() {
+		return entityQueryRoot;
+	}
+
+	/**
+	 * Returns the type of the field and the names of the parameters of each criterion this template was built with, first of the
+	 * required and then of the optional criteria.
+	 */
+	public List<Entry<Class<?>, List<String>>> getCriteriaParameterNames() {
+		return criteriaParameterNames;
+	}
+
+	/**
+	 * Returns whether the given criteria parameters, as bound from the criteria of the current page, can be bound to this template.
+	 * This is the case when they have exactly the same names and value types as those this template was built with.
+	 */
+	public boolean accepts(Map<String, Object> criteriaParameters) {
+		if (!criteriaParameters.keySet().equals(criteriaParameterTypes.keySet())) {
+			return false;
+		}
+
+		for (Entry<String, Object> parameter : criteriaParameters.entrySet()) {
+			Object value = parameter.getValue();
+
+			if (!Objects.equals(criteriaParameterTypes.get(parameter.getKey()), (value != null) ? value.getClass() : null)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the names of the parameters of the value based paging predicate, mapped to the ordering field whose value they represent
+	 * and its type.
+	 */
+	public Map<String, Entry<String, Class<?>>> getValueBasedPagingParameters() {
+		return valueBasedPagingParameters;
+	}
+
+	public boolean shouldBuildCountSubquery() {
+		return shouldBuildCountSubquery;
+	}
+
+	public boolean canBuildValueBasedPagingPredicate() {
+		return canBuildValueBasedPagingPredicate;
+	}
+
+	/**
+	 * Returns the count query, mapped to the names of its parameters. Their values are those of the criteria parameters of the same name.
+	 */
+	public Entry<CriteriaQuery<Long>, Set<String>> getCountQuery() {
+		return countQuery;
+	}
+
+	public void setCountQuery(CriteriaQuery<Long> countQuery, Set<String> countQueryParameterNames) {
+		this.countQuery = new SimpleEntry<>(countQuery, unmodifiableSet(new HashSet<>(countQueryParameterNames)));
+	}
+
+}
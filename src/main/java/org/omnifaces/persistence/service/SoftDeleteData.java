@@ -14,11 +14,13 @@ package org.omnifaces.persistence.service;
 
 import static java.lang.Character.toUpperCase;
 import static java.lang.String.format;
-import static org.omnifaces.utils.reflect.Reflections.accessField;
-import static org.omnifaces.utils.reflect.Reflections.invokeMethod;
+import static java.lang.invoke.MethodType.methodType;
 import static org.omnifaces.utils.reflect.Reflections.listAnnotatedFields;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.List;
 
 import org.omnifaces.persistence.exception.NonSoftDeletableEntityException;
@@ -26,7 +28,9 @@ import org.omnifaces.persistence.model.BaseEntity;
 import org.omnifaces.persistence.model.SoftDeletable;
 
 /**
- * Helper class of {@link BaseEntityService}.
+ * Helper class of {@link BaseEntityService}. This holds precomputed method handles for the getter and setter of the
+ * {@link SoftDeletable} field and precomputed JPQL fragments, so that soft delete checks do not involve reflection nor
+ * string concatenation.
  */
 class SoftDeleteData {
 
@@ -34,12 +38,20 @@ class SoftDeleteData {
 		"Entity %s cannot be soft deleted. You need to add a @SoftDeletable field first.";
 	private static final String ERROR_ILLEGAL_SOFT_DELETABLE =
 		"Entity %s cannot be soft deleted. There should be only one @SoftDeletable field.";
+	private static final String ERROR_MISSING_SETTER =
+		"Entity %s cannot be soft deleted. There should be a %s(boolean) method.";
 
 	private Class<?> entityType;
 	private final boolean softDeletable;
 	private final String fieldName;
 	private final String setterName;
 	private final boolean typeActive;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+	private final String whereClauseIncludingSoftDeleted;
+	private final String whereClauseExcludingSoftDeleted;
+	private final String setClauseDeleted;
+	private final String setClauseUndeleted;
 
 	public SoftDeleteData(Class<?> entityType) {
 		this.entityType = entityType;
@@ -50,6 +62,12 @@ class SoftDeleteData {
 			this.fieldName = null;
 			this.setterName = null;
 			this.typeActive = false;
+			this.getter = null;
+			this.setter = null;
+			this.whereClauseIncludingSoftDeleted = "";
+			this.whereClauseExcludingSoftDeleted = "";
+			this.setClauseDeleted = null;
+			this.setClauseUndeleted = null;
 		}
 		else if (softDeletableFields.size() == 1) {
 			Field softDeletableField = softDeletableFields.get(0);
@@ -57,12 +75,48 @@ class SoftDeleteData {
 			this.fieldName = softDeletableField.getName();
 			this.setterName = ("set" + toUpperCase(fieldName.charAt(0)) + fieldName.substring(1));
 			this.typeActive = softDeletableField.getAnnotation(SoftDeletable.class).type() == SoftDeletable.Type.ACTIVE;
+			this.getter = createGetter(softDeletableField);
+			this.setter = createSetter(entityType, setterName);
+			this.whereClauseIncludingSoftDeleted = " WHERE " + fieldName + "=" + (typeActive ? "false" : "true");
+			this.whereClauseExcludingSoftDeleted = " WHERE " + fieldName + "!=" + (typeActive ? "false" : "true");
+			this.setClauseDeleted = "e." + fieldName + "=" + !typeActive;
+			this.setClauseUndeleted = "e." + fieldName + "=" + typeActive;
 		}
 		else {
 			throw new IllegalStateException(format(ERROR_ILLEGAL_SOFT_DELETABLE, entityType));
 		}
 	}
 
+	private static MethodHandle createGetter(Field field) {
+		try {
+			field.setAccessible(true);
+			return MethodHandles.lookup().unreflectGetter(field).asType(methodType(boolean.class, Object.class));
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle createSetter(Class<?> entityType, String setterName) {
+		for (Class<?> type = entityType; type != null; type = type.getSuperclass()) {
+			for (Method method : type.getDeclaredMethods()) {
+				Class<?>[] parameterTypes = method.getParameterTypes();
+
+				if (method.getName().equals(setterName) && parameterTypes.length == 1 && (parameterTypes[0] == boolean.class || parameterTypes[0] == Boolean.class)) {
+					try {
+						method.setAccessible(true);
+						return MethodHandles.lookup().unreflect(method).asType(methodType(void.class, Object.class, boolean.class));
+					}
+					catch (IllegalAccessException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			}
+		}
+
+		return null; // Fail only when actually soft deleting, consistent with reflective invocation by name.
+	}
+
 	public void checkSoftDeletable() {
 		if (!softDeletable) {
 			throw new NonSoftDeletableEntityException(null, format(ERROR_NOT_SOFT_DELETABLE, entityType));
@@ -74,20 +128,43 @@ class SoftDeleteData {
 			return false;
 		}
 
-		boolean value = accessField(entity, fieldName);
+		boolean value;
+
+		try {
+			value = (boolean) getter.invokeExact((Object) entity);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+
 		return typeActive ? !value : value;
 	}
 
 	public void setSoftDeleted(BaseEntity<?> entity, boolean deleted) {
-		invokeMethod(entity, setterName, typeActive ? !deleted : deleted);
+		if (setter == null) {
+			throw new IllegalStateException(format(ERROR_MISSING_SETTER, entityType, setterName));
+		}
+
+		try {
+			setter.invokeExact((Object) entity, typeActive ? !deleted : deleted);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	public String getWhereClause(boolean includeSoftDeleted) {
-		if (!softDeletable) {
-			return "";
-		}
+		return includeSoftDeleted ? whereClauseIncludingSoftDeleted : whereClauseExcludingSoftDeleted;
+	}
 
-		return (" WHERE " + fieldName + (includeSoftDeleted ? "=" : "!=") + (typeActive ? "false": "true"));
+	public String getSetClause(boolean deleted) {
+		return deleted ? setClauseDeleted : setClauseUndeleted;
 	}
 
 	@Override
@@ -95,4 +172,3 @@ class SoftDeleteData {
 		return format("SoftDeleteData[softDeletable=%s, fieldName=%s, setterName=%s, typeActive=%s]", softDeletable, fieldName, setterName, typeActive);
 	}
 }
-
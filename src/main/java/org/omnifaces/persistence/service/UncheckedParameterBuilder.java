@@ -12,11 +12,15 @@
  */
 package org.omnifaces.persistence.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.ParameterExpression;
 
+import org.omnifaces.persistence.Database;
+import org.omnifaces.persistence.Provider;
 import org.omnifaces.persistence.criteria.Criteria.ParameterBuilder;
 
 /**
@@ -27,11 +31,17 @@ class UncheckedParameterBuilder implements ParameterBuilder {
 	private final String field;
 	private final CriteriaBuilder criteriaBuilder;
 	private final Map<String, Object> parameters;
+	private final Provider provider;
+	private final Database database;
+	private final List<String> names;
 
-	public UncheckedParameterBuilder(String field, CriteriaBuilder criteriaBuilder, Map<String, Object> parameters) {
+	public UncheckedParameterBuilder(String field, CriteriaBuilder criteriaBuilder, Map<String, Object> parameters, Provider provider, Database database) {
 		this.field = field.replace('.', '$') + "_";
 		this.criteriaBuilder = criteriaBuilder;
 		this.parameters = parameters;
+		this.provider = provider;
+		this.database = database;
+		this.names = new ArrayList<>();
 	}
 
 	@Override
@@ -39,9 +49,27 @@ class UncheckedParameterBuilder implements ParameterBuilder {
 	public <T> ParameterExpression<T> create(Object value) {
 		String name = field + parameters.size();
 		parameters.put(name, value);
+		names.add(name);
 		Class<? extends Object> type = (value == null) ? Object.class : value.getClass();
 		return (ParameterExpression<T>) criteriaBuilder.parameter(type, name);
 	}
 
+	/**
+	 * Returns the names of the parameters created so far, in the order of creation.
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	@Override
+	public Provider getProvider() {
+		return provider;
+	}
+
+	@Override
+	public Database getDatabase() {
+		return database;
+	}
+
 }
 
@@ -14,18 +14,25 @@ package org.omnifaces.persistence.test;
 
 import static java.lang.System.getProperty;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.shrinkwrap.api.ShrinkWrap.create;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.omnifaces.persistence.test.service.StartupService.TOTAL_RECORDS;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import javax.ejb.EJB;
+import javax.inject.Inject;
+import javax.enterprise.inject.spi.Extension;
 
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
@@ -37,9 +44,26 @@ import org.jboss.shrinkwrap.resolver.api.maven.MavenResolverSystem;
 import org.jboss.shrinkwrap.resolver.api.maven.archive.importer.MavenImporter;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.omnifaces.persistence.audit.AuditedChange;
+import org.omnifaces.persistence.audit.BatchedAuditListener;
+import org.omnifaces.persistence.criteria.Like;
+import org.omnifaces.persistence.criteria.Order;
 import org.omnifaces.persistence.exception.IllegalEntityStateException;
 import org.omnifaces.persistence.exception.NonSoftDeletableEntityException;
+import org.omnifaces.persistence.model.dto.CountStrategy;
+import org.omnifaces.persistence.model.dto.Cursor;
+import org.omnifaces.persistence.model.dto.CursoredResultList;
 import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.outbox.OutboxRecord;
+import org.omnifaces.persistence.outbox.OutboxRecord.Operation;
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.service.EnumMappingTableService;
+import org.omnifaces.persistence.event.EntityBatch;
+import org.omnifaces.persistence.test.event.AsyncEntityBatchObserverExtension;
+import org.omnifaces.persistence.test.event.EntityBatchObserver;
+import org.omnifaces.persistence.test.model.AuditedText;
+import org.omnifaces.persistence.test.model.AuditedTextListener;
+import org.omnifaces.persistence.test.model.BatchedText;
 import org.omnifaces.persistence.test.model.Comment;
 import org.omnifaces.persistence.test.model.EnumEntity;
 import org.omnifaces.persistence.test.model.Gender;
@@ -48,6 +72,7 @@ import org.omnifaces.persistence.test.model.Person;
 import org.omnifaces.persistence.test.model.Product;
 import org.omnifaces.persistence.test.model.ProductStatus;
 import org.omnifaces.persistence.test.model.Text;
+import org.omnifaces.persistence.test.outbox.TextOutboxRelay;
 import org.omnifaces.persistence.test.model.UserRole;
 import org.omnifaces.persistence.test.model.enums.HardDeleteCodeEnum;
 import org.omnifaces.persistence.test.model.enums.HardDeleteCodeTable;
@@ -67,11 +92,20 @@ import org.omnifaces.persistence.test.model.enums.SoftDeleteOnlyCodeEnum;
 import org.omnifaces.persistence.test.model.enums.SoftDeleteOnlyCodeTable;
 import org.omnifaces.persistence.test.model.enums.SoftDeleteOnlyIdEnum;
 import org.omnifaces.persistence.test.model.enums.SoftDeleteOnlyIdTable;
+import org.omnifaces.persistence.test.service.AuditedTextService;
+import org.omnifaces.persistence.test.service.BatchedTextService;
+import org.omnifaces.persistence.test.service.CachedPageTextService;
 import org.omnifaces.persistence.test.service.CommentService;
 import org.omnifaces.persistence.test.service.EnumEntityService;
 import org.omnifaces.persistence.test.service.LookupService;
+import org.omnifaces.persistence.test.service.MeasuredTextService;
+import org.omnifaces.persistence.test.service.OptimisticLookupService;
+import org.omnifaces.persistence.test.service.OutboxTextService;
+import org.omnifaces.persistence.test.service.ParallelCountPersonService;
 import org.omnifaces.persistence.test.service.PersonService;
 import org.omnifaces.persistence.test.service.ProductService;
+import org.omnifaces.persistence.test.service.SnapshotTextService;
+import org.omnifaces.persistence.test.service.TemplatedPersonService;
 import org.omnifaces.persistence.test.service.TextService;
 import org.omnifaces.utils.collection.PartialResultList;
 
@@ -84,6 +118,7 @@ public class OmniPersistenceTest {
 		return create(WebArchive.class)
 			.addPackages(true, OmniPersistenceTest.class.getPackage())
 			.addAsWebInfResource(EmptyAsset.INSTANCE, "beans.xml")
+			.addAsServiceProvider(Extension.class, AsyncEntityBatchObserverExtension.class)
 			.addAsWebInfResource("web.xml")
 			.addAsResource("META-INF/persistence.xml")
                         .addAsResource("META-INF/sql/create-test.sql")
@@ -106,12 +141,45 @@ public class OmniPersistenceTest {
 	@EJB
 	private LookupService lookupService;
 
+	@EJB
+	private OptimisticLookupService optimisticLookupService;
+
+	@EJB
+	private ParallelCountPersonService parallelCountPersonService;
+
 	@EJB
 	private ProductService productService;
 
 	@EJB
 	private EnumEntityService enumEntityService;
 
+	@EJB
+	private EnumMappingTableService enumMappingTableService;
+
+	@EJB
+	private SnapshotTextService snapshotTextService;
+
+	@EJB
+	private CachedPageTextService cachedPageTextService;
+
+	@EJB
+	private MeasuredTextService measuredTextService;
+
+	@EJB
+	private TemplatedPersonService templatedPersonService;
+
+	@EJB
+	private AuditedTextService auditedTextService;
+
+	@EJB
+	private BatchedTextService batchedTextService;
+
+	@EJB
+	private OutboxTextService outboxTextService;
+
+	@Inject
+	private TextOutboxRelay textOutboxRelay;
+
 	// Basic ----------------------------------------------------------------------------------------------------------
 
 	@Test
@@ -208,6 +276,29 @@ public class OmniPersistenceTest {
 		assertTrue("There are less than 200 records", males.size() < TOTAL_RECORDS);
 	}
 
+	@Test
+	public void testPageIdentity() {
+		Page page = Page.with().range(0, 10).orderBy("email", true).orderBy("id", false).allMatch(Collections.singletonMap("gender", Gender.MALE)).build();
+		Page equalPage = Page.with().range(0, 10).orderBy("email", true).orderBy("id", false).allMatch(Collections.singletonMap("gender", Gender.MALE)).build();
+		Page reorderedPage = Page.with().range(0, 10).orderBy("id", false).orderBy("email", true).allMatch(Collections.singletonMap("gender", Gender.MALE)).build();
+
+		assertEquals("Equal pages", page, equalPage);
+		assertEquals("Equal hash codes", page.hashCode(), equalPage.hashCode());
+		assertEquals("Equal cache keys", page.toCacheKey(), equalPage.toCacheKey());
+		assertTrue("Ordering is significant", !page.equals(reorderedPage));
+		assertTrue("Ordering is significant in cache key", !page.toCacheKey().equals(reorderedPage.toCacheKey()));
+		assertTrue("Interned page", Page.intern(page) == Page.intern(equalPage));
+		assertTrue("Interned reordered page", Page.intern(page) != Page.intern(reorderedPage));
+
+		Page stringPage = Page.with().allMatch(Collections.singletonMap("email", "[a, b]")).build();
+		Page listPage = Page.with().allMatch(Collections.singletonMap("email", asList("a", "b"))).build();
+		Page arrayPage = Page.with().allMatch(Collections.singletonMap("email", new String[] { "a", "b" })).build();
+		Page equalArrayPage = Page.with().allMatch(Collections.singletonMap("email", new String[] { "a", "b" })).build();
+
+		assertTrue("Value type is significant in cache key", !stringPage.toCacheKey().equals(listPage.toCacheKey()) && !listPage.toCacheKey().equals(arrayPage.toCacheKey()));
+		assertEquals("Array contents are used in cache key", arrayPage.toCacheKey(), equalArrayPage.toCacheKey());
+	}
+
 	// @SoftDeletable -------------------------------------------------------------------------------------------------
 
 	@Test
@@ -330,6 +421,248 @@ public class OmniPersistenceTest {
 		lookupService.update(lookup);
 	}
 
+	@Test
+	public void testGetPageWithCursor() {
+		CursoredResultList<Person> firstPage = (CursoredResultList<Person>) personService.getPage(Page.with().orderBy("id", true).range(0, 10).build(), false);
+		assertTrue("First page has no previous cursor", firstPage.getPreviousCursor() == null);
+
+		Cursor nextCursor = Cursor.valueOf(firstPage.getNextCursor().toString());
+		CursoredResultList<Person> secondPage = (CursoredResultList<Person>) personService.getPage(Page.with().orderBy("id", true).range(0, 10).cursor(nextCursor).build(), false);
+		List<Person> secondPageByOffset = personService.getPage(Page.with().orderBy("id", true).range(10, 10).build(), false);
+		assertEquals("Next cursor gives same page as offset", new ArrayList<>(secondPageByOffset), new ArrayList<>(secondPage));
+
+		Cursor previousCursor = Cursor.valueOf(secondPage.getPreviousCursor().toString());
+		List<Person> previousPage = personService.getPage(Page.with().orderBy("id", true).range(0, 10).cursor(previousCursor).build(), false);
+		assertEquals("Previous cursor gives first page back", new ArrayList<>(firstPage), new ArrayList<>(previousPage));
+
+		Timestamp timestamp = Timestamp.valueOf("2020-02-20 20:20:20.123456789");
+		Cursor timestampCursor = Cursor.valueOf(Cursor.of(Collections.singletonMap("timestamp", timestamp), false).toString());
+		assertEquals("Cursor keeps timestamp nanos", timestamp, timestampCursor.getValue("timestamp", Timestamp.class));
+	}
+
+	@Test
+	public void testGetPageInMemory() {
+		List<Person> persons = personService.list();
+		Page page = Page.with().allMatch(Collections.singletonMap("gender", Gender.MALE)).orderBy("id", true).range(5, 10).build();
+		PartialResultList<Person> fromDatabase = personService.getPage(page, true);
+		PartialResultList<Person> fromMemory = personService.getPage(page, true, persons);
+		assertEquals("In memory page gives same page as database", new ArrayList<>(fromDatabase), new ArrayList<>(fromMemory));
+		assertEquals("In memory page gives same count as database", fromDatabase.getEstimatedTotalNumberOfResults(), fromMemory.getEstimatedTotalNumberOfResults());
+
+		Cursor nextCursor = ((CursoredResultList<Person>) fromMemory).getNextCursor();
+		Page nextPage = Page.with().allMatch(Collections.singletonMap("gender", Gender.MALE)).orderBy("id", true).range(0, 10).cursor(nextCursor).build();
+		assertEquals("In memory cursor gives same page as database", new ArrayList<>(personService.getPage(nextPage, false)), new ArrayList<>(personService.getPage(nextPage, false, persons)));
+	}
+
+	@Test
+	public void testGetPageWithCountStrategy() {
+		Page page = Page.with().orderBy("id", true).range(0, 10).build();
+		CursoredResultList<Person> exact = (CursoredResultList<Person>) personService.getPage(page, CountStrategy.EXACT);
+		assertEquals("Exact count", TOTAL_RECORDS, exact.getEstimatedTotalNumberOfResults());
+		assertTrue("Exact count is exact", exact.isExactCount());
+
+		CursoredResultList<Person> cached = (CursoredResultList<Person>) personService.getPage(page, CountStrategy.CACHED);
+		CursoredResultList<Person> cachedAgain = (CursoredResultList<Person>) personService.getPage(page, CountStrategy.CACHED);
+		assertEquals("Cached count", exact.getEstimatedTotalNumberOfResults(), cachedAgain.getEstimatedTotalNumberOfResults());
+		assertTrue("Cached count is not exact once cached", !cachedAgain.isExactCount() && cachedAgain.getCountStrategy() == CountStrategy.CACHED);
+		assertEquals("Cached count gives same page", new ArrayList<>(cached), new ArrayList<>(cachedAgain));
+
+		CursoredResultList<Person> estimated = (CursoredResultList<Person>) personService.getPage(page, CountStrategy.ESTIMATED);
+		assertEquals("Estimated count falls back to exact count on H2", TOTAL_RECORDS, estimated.getEstimatedTotalNumberOfResults());
+		assertTrue("Estimated count is exact when falling back", estimated.isExactCount());
+
+		CursoredResultList<Person> hasMore = (CursoredResultList<Person>) personService.getPage(page, CountStrategy.HAS_MORE);
+		assertEquals("Has more does not return more than limit", new ArrayList<>(exact), new ArrayList<>(hasMore));
+		assertEquals("Has more count is one beyond page", 11, hasMore.getEstimatedTotalNumberOfResults());
+		assertTrue("Has more count is not exact", !hasMore.isExactCount());
+
+		CursoredResultList<Person> lastPage = (CursoredResultList<Person>) personService.getPage(Page.with().orderBy("id", true).range(TOTAL_RECORDS - 5, 10).build(), CountStrategy.HAS_MORE);
+		assertEquals("Has more count on last page", TOTAL_RECORDS, lastPage.getEstimatedTotalNumberOfResults());
+		assertTrue("Has more count on last page is exact", lastPage.isExactCount());
+	}
+
+	@Test
+	public void testGetPageWithParallelCount() {
+		Page page = Page.with().anyMatch(Collections.singletonMap("gender", Gender.MALE)).orderBy("id", true).range(0, 10).build();
+		PartialResultList<Person> sequential = personService.getPage(page, true);
+		ParallelCountPersonService.BEFORE_PAGE_THREADS.clear();
+		PartialResultList<Person> parallel = parallelCountPersonService.getPageWithoutTransaction(page);
+		assertEquals("Count query is prepared in another entity manager", 2, ParallelCountPersonService.BEFORE_PAGE_THREADS.size());
+		assertTrue("Count query runs on executor thread", ParallelCountPersonService.BEFORE_PAGE_THREADS.get(0) != ParallelCountPersonService.BEFORE_PAGE_THREADS.get(1));
+		assertEquals("Parallel count equals sequential count", sequential.getEstimatedTotalNumberOfResults(), parallel.getEstimatedTotalNumberOfResults());
+		assertEquals("Parallel count gives same page", new ArrayList<>(sequential), new ArrayList<>(parallel));
+	}
+
+	@Test
+	public void testListAsStream() {
+		assertEquals("Streamed persons equal listed persons in same order", personService.list(), personService.listAllViaStream());
+		assertEquals("Streamed page equals page", new ArrayList<>(personService.getAllWithAddress()), personService.getAllWithAddressViaStream());
+	}
+
+	@Test
+	public void testGetPageWithQueryTemplateCache() {
+		Page page = Page.with().orderBy("id", true).range(0, 5).allMatch(Collections.singletonMap("gender", Gender.MALE)).build();
+		List<Person> males = templatedPersonService.getPage(page, true);
+		long hits = BaseEntityService.getPageQueryTemplateCacheHits();
+		List<Person> cachedMales = templatedPersonService.getPage(page, true);
+		assertEquals("Cached query template was reused", hits + 1, BaseEntityService.getPageQueryTemplateCacheHits());
+		assertEquals("Cached query template gives same results", males, cachedMales);
+
+		List<Person> nextMales = templatedPersonService.getPage(Page.with().orderBy("id", true).range(5, 5).allMatch(Collections.singletonMap("gender", Gender.MALE)).build(), true);
+		assertEquals("Cached query template binds new range", males.size(), nextMales.size());
+		assertTrue("Cached query template gives next results", nextMales.stream().noneMatch(males::contains));
+
+		PartialResultList<Person> females = templatedPersonService.getPage(Page.with().orderBy("id", true).range(0, 5).allMatch(Collections.singletonMap("gender", Gender.FEMALE)).build(), true);
+		assertEquals("Cached query template was reused for other criteria value", hits + 3, BaseEntityService.getPageQueryTemplateCacheHits());
+		assertTrue("Cached query template binds new criteria value", !females.isEmpty() && females.stream().allMatch(female -> female.getGender() == Gender.FEMALE));
+		assertEquals("Cached count query binds new criteria value", personService.getPage(Page.with().allMatch(Collections.singletonMap("gender", Gender.FEMALE)).build(), true).getEstimatedTotalNumberOfResults(), females.getEstimatedTotalNumberOfResults());
+
+		templatedPersonService.getPage(Page.with().orderBy("id", true).range(0, 5).allMatch(Collections.singletonMap("email", Like.contains("NAME1"))).build(), true);
+		Page likePage = Page.with().orderBy("id", true).range(0, 5).allMatch(Collections.singletonMap("email", Like.contains("NAME2"))).build();
+		List<Person> likes = templatedPersonService.getPage(likePage, true);
+		assertEquals("Cached query template was reused for other like value", hits + 4, BaseEntityService.getPageQueryTemplateCacheHits());
+		assertEquals("Cached query template binds coerced like value", personService.getPage(likePage, true), likes);
+	}
+
+	@Test
+	public void testSnapshotCache() {
+		textService.persist(new Text()); // There should be at least one active text, regardless of test order.
+		List<Text> texts = snapshotTextService.list();
+		assertEquals("Snapshot lists same entities as database", textService.list(), texts);
+
+		long loads = BaseEntityService.getEntitySnapshotLoads();
+		List<Long> ids = texts.stream().map(Text::getId).limit(3).collect(toList());
+		assertEquals("Snapshot finds entity by ID", texts.get(0), snapshotTextService.getById(ids.get(0)));
+		assertEquals("Snapshot gets entities by IDs", textService.getByIds(ids), snapshotTextService.getByIds(ids));
+
+		Page page = Page.with().orderBy("id", true).range(0, 5).build();
+		assertEquals("Snapshot gives same page as database", new ArrayList<>(textService.getPage(page, true)), new ArrayList<>(snapshotTextService.getPage(page, true)));
+		assertEquals("Snapshot is not reloaded", loads, BaseEntityService.getEntitySnapshotLoads());
+		assertTrue("Snapshot is bypassed in transaction", snapshotTextService.isManagedById(ids.get(0)));
+
+		Text text = new Text();
+		textService.persist(text);
+		assertTrue("Snapshot is invalidated after commit", snapshotTextService.findById(text.getId()).isPresent());
+		assertEquals("Snapshot is reloaded once", loads + 1, BaseEntityService.getEntitySnapshotLoads());
+	}
+
+	@Test
+	public void testSnapshotCacheAfterBulkUpdate() {
+		Text text = new Text();
+		textService.persist(text);
+		snapshotTextService.list();
+
+		long loads = BaseEntityService.getEntitySnapshotLoads();
+		snapshotTextService.activateAndList(text.getId());
+		assertEquals("Snapshot is not reloaded before commit of bulk update", loads, BaseEntityService.getEntitySnapshotLoads());
+
+		snapshotTextService.list();
+		assertEquals("Snapshot is invalidated after commit of bulk update", loads + 1, BaseEntityService.getEntitySnapshotLoads());
+	}
+
+	@Test
+	public void testPageResultCache() {
+		Page page = Page.with().orderBy("id", true).range(0, 5).build();
+		PartialResultList<Text> texts = cachedPageTextService.getPage(page, true);
+		long hits = BaseEntityService.getPageResultCacheHits();
+		PartialResultList<Text> cachedTexts = cachedPageTextService.getPage(page, true);
+		assertEquals("Cached page result was reused", hits + 1, BaseEntityService.getPageResultCacheHits());
+		assertEquals("Cached page result gives same results", new ArrayList<>(texts), new ArrayList<>(cachedTexts));
+
+		textService.persist(new Text());
+		long evictions = BaseEntityService.getPageResultCacheEvictions();
+		PartialResultList<Text> invalidatedTexts = cachedPageTextService.getPage(page, true);
+		assertEquals("Cached page result is invalidated after commit", evictions + 1, BaseEntityService.getPageResultCacheEvictions());
+		assertEquals("Invalidated page result is queried again", texts.getEstimatedTotalNumberOfResults() + 1, invalidatedTexts.getEstimatedTotalNumberOfResults());
+	}
+
+	@Test
+	public void testPageResultCacheAfterBulkUpdate() {
+		Text text = new Text();
+		textService.persist(text);
+		assertTrue("Cached page result is detached", !cachedPageTextService.isAnyManagedAfterGetPage(Page.with().orderBy("id", false).range(0, 3).build()));
+
+		long hits = BaseEntityService.getPageResultCacheHits();
+		cachedPageTextService.activateAndGetPage(text.getId(), Page.with().orderBy("id", true).range(0, 3).build());
+		assertEquals("Page result is not cached after bulk update in same transaction", hits, BaseEntityService.getPageResultCacheHits());
+	}
+
+	@Test
+	public void testMetrics() {
+		MeasuredTextService.METRICS.reset();
+		measuredTextService.getById(1L);
+		PartialResultList<Text> texts = measuredTextService.getPage(Page.with().range(0, 5).allMatch(Collections.singletonMap("id", Order.greaterThan(0L))).build(), true);
+
+		assertEquals("getById was measured", 1, MeasuredTextService.METRICS.getHistogram(MeasuredTextService.class, "getById.time").getCount());
+		assertEquals("getPage was measured", 1, MeasuredTextService.METRICS.getHistogram(MeasuredTextService.class, "getPage.time").getCount());
+		assertEquals("getPage rows were measured", texts.size(), MeasuredTextService.METRICS.getHistogram(MeasuredTextService.class, "getPage.rows").getMax());
+		assertEquals("getPage count query was measured", 1, MeasuredTextService.METRICS.getHistogram(MeasuredTextService.class, "getPage.countQuery.time").getCount());
+		assertTrue("getPage restrictions were measured", MeasuredTextService.METRICS.getHistogram(MeasuredTextService.class, "buildRestrictions.time").getCount() >= 1);
+		assertEquals("Other services are not measured", 0, MeasuredTextService.METRICS.getHistograms(TextService.class).size());
+	}
+
+	@Test
+	public void testPrecomputedEntityMappings() {
+		assertTrue("Entity mappings are precomputed during startup", BaseEntityService.getEntityMappingsBuildTime() >= 0);
+	}
+
+	@Test
+	public void testOptimisticSave() {
+		Lookup lookup = new Lookup("h1");
+		optimisticLookupService.save(lookup);
+		Lookup persistedLookup = optimisticLookupService.getById("h1");
+		assertTrue("New entity was persisted with save method", persistedLookup != null);
+
+		persistedLookup.setActive(false);
+		optimisticLookupService.save(persistedLookup);
+		persistedLookup = optimisticLookupService.getSoftDeletedById("h1");
+		assertTrue("Entity was merged with save method", persistedLookup != null && !persistedLookup.isActive());
+
+		persistedLookup.setActive(true);
+		optimisticLookupService.update(persistedLookup);
+		persistedLookup = optimisticLookupService.getById("h1");
+		assertTrue("Entity was merged with update method", persistedLookup != null && persistedLookup.isActive());
+	}
+
+	@Test(expected = IllegalEntityStateException.class)
+	public void testOptimisticUpdateNewLookup() {
+		Lookup lookup = new Lookup("h2");
+		optimisticLookupService.update(lookup);
+	}
+
+	@Test
+	public void testPersistAllLookups() {
+		List<Lookup> lookups = asList(new Lookup("f1"), new Lookup("f2"), new Lookup("f3"), new Lookup("f4"), new Lookup("f5"));
+		List<String> ids = lookupService.persistAll(lookups, 2);
+		assertEquals("All entities were persisted in iteration order", asList("f1", "f2", "f3", "f4", "f5"), ids);
+		assertEquals("All persisted entities can be found", lookups.size(), lookupService.getByIds(ids).size());
+	}
+
+	@Test
+	public void testGetLookupsByIds() {
+		lookupService.persistAll(asList(new Lookup("i1"), new Lookup("i2"), new Lookup("i3")), 3);
+		List<Lookup> lookups = lookupService.getByIds(asList("i2", "i3", null, "i1", "i2", "zz"));
+		assertEquals("Duplicate, null and unknown IDs are ignored and ordering is by ID descending",
+			asList("i3", "i2", "i1"), lookups.stream().map(Lookup::getId).collect(toList()));
+	}
+
+	@Test
+	public void testDeleteAllLookups() {
+		List<String> ids = lookupService.persistAll(asList(new Lookup("g1"), new Lookup("g2"), new Lookup("g3")), 10);
+		List<Lookup> lookups = lookupService.getByIds(ids);
+
+		lookupService.softDelete(lookups);
+		assertTrue("Soft deleted entities are not found", lookupService.getByIds(ids).isEmpty());
+		assertTrue("Soft deleted state is reflected in given entities", lookups.stream().noneMatch(Lookup::isActive));
+
+		lookupService.softUndelete(lookups);
+		assertEquals("Soft undeleted entities are found", ids.size(), lookupService.getByIds(ids).size());
+
+		lookupService.delete(lookups);
+		assertTrue("Deleted entities are not found", lookupService.getByIds(ids).isEmpty());
+		assertTrue("Deleted entities have no ID anymore", lookups.stream().allMatch(lookup -> lookup.getId() == null));
+	}
+
 
 	// @EnumMapping ---------------------------------------------------------------------------------------------------
 
@@ -545,6 +878,149 @@ public class OmniPersistenceTest {
 		assertTrue("Enum entity from the database equals persisted one", equality);
 	}
 
+	@Test
+	public void testEnumMappingTableFingerprint() {
+		assertTrue("Fingerprint of synchronized table is saved", enumEntityService.getEnumMappingFingerprintTables().contains("hard_delete_id_enum_info"));
+		enumEntityService.insertHardDeleteIdEnumRow(99, "99th");
+
+		try {
+			Map<Class<? extends Enum<?>>, Boolean> modified = enumMappingTableService.computeModifiedEnumMappingTable(asList(HardDeleteIdEnum.class));
+			assertTrue("Unchanged enum mapping table is valid", modified.get(HardDeleteIdEnum.class));
+			assertEquals("Unchanged enum mapping table is not compared again", 4, enumEntityService.getHardDeleteIdEnumTable().size());
+		}
+		finally {
+			enumEntityService.deleteHardDeleteIdEnumRow(99);
+		}
+	}
+
+
+	// Events ---------------------------------------------------------------------------------------------------------
+
+	@Test
+	public void testBatchEvents() throws InterruptedException {
+		int batches = EntityBatchObserver.OBSERVED_BATCHES.size();
+		int asyncBatches = EntityBatchObserver.ASYNC_OBSERVED_BATCHES.size();
+		batchedTextService.persistTexts(3);
+		assertEquals("One batch is fired after commit", batches + 1, EntityBatchObserver.OBSERVED_BATCHES.size());
+		EntityBatch batch = EntityBatchObserver.OBSERVED_BATCHES.get(batches);
+		assertEquals("Batch has entity type", BatchedText.class, batch.getEntityType());
+		assertEquals("Batch has all entities of transaction", 3, batch.getEntities().size());
+
+		for (int i = 0; i < 50 && EntityBatchObserver.ASYNC_OBSERVED_BATCHES.size() == asyncBatches; i++) {
+			Thread.sleep(100); // They're fired asynchronously.
+		}
+
+		assertEquals("One batch is fired asynchronously after commit", asyncBatches + 1, EntityBatchObserver.ASYNC_OBSERVED_BATCHES.size());
+		assertEquals("Asynchronous batch has all entities of transaction", 3, EntityBatchObserver.ASYNC_OBSERVED_BATCHES.get(asyncBatches).getEntities().size());
+
+		batchedTextService.persistTextsAndRollback(2);
+		assertEquals("No batch is fired after rollback", batches + 1, EntityBatchObserver.OBSERVED_BATCHES.size());
+	}
+
+	@Test
+	public void testBatchEventsPageResultCacheAfterRollback() {
+		batchedTextService.persistTexts(1); // There should be at least one batched text, regardless of test order.
+		Page page = Page.with().orderBy("id", false).range(0, 1000).build();
+		int size = batchedTextService.getPage(page, true).size();
+		long hits = BaseEntityService.getPageResultCacheHits();
+		assertEquals("Page result includes uncommitted entities of same transaction", size + 2, batchedTextService.persistTextsAndGetPageSizeAndRollback(2, page));
+		assertEquals("Cached page result is not served to transaction which modified entities", hits, BaseEntityService.getPageResultCacheHits());
+
+		long evictions = BaseEntityService.getPageResultCacheEvictions();
+		assertEquals("Page result excludes rolled back entities", size, batchedTextService.getPage(page, true).size());
+		assertEquals("Cached page result is invalidated after rollback", evictions + 1, BaseEntityService.getPageResultCacheEvictions());
+	}
+
+
+	// Outbox ---------------------------------------------------------------------------------------------------------
+
+	@Test
+	public void testOutbox() {
+		textOutboxRelay.relay(); // Publish records of other tests first.
+		Text text = new Text();
+		textService.persist(text);
+		outboxTextService.activate(text.getId());
+		textService.delete(text);
+
+		textOutboxRelay.setFailing(true);
+		assertEquals("Failing sink publishes nothing", 0, textOutboxRelay.relay());
+		textOutboxRelay.setFailing(false);
+
+		int published = textOutboxRelay.getPublishedRecords().size();
+		assertTrue("Records are published again after failure", textOutboxRelay.relay() >= 3);
+		List<OutboxRecord> records = textOutboxRelay.getPublishedRecords().subList(published, textOutboxRelay.getPublishedRecords().size()).stream()
+			.filter(record -> record.getEntityType().equals(Text.class.getName()))
+			.filter(record -> record.getEntityId().equals(String.valueOf(text.getId())) || record.getEntityId().equals(OutboxRecord.ALL_ENTITY_IDS))
+			.collect(toList());
+		assertEquals("Created, bulk updated and deleted", asList(Operation.CREATED, Operation.UPDATED, Operation.DELETED), records.stream().map(OutboxRecord::getOperation).collect(toList()));
+		assertEquals("Bulk update is written for all entities", OutboxRecord.ALL_ENTITY_IDS, records.get(1).getEntityId());
+		assertEquals("Published records are deleted", 0, textOutboxRelay.relay());
+	}
+
+
+	// Audit ----------------------------------------------------------------------------------------------------------
+
+	@Test
+	public void testBatchedAuditAfterCommit() throws InterruptedException {
+		AuditedText text = createAuditedText("old");
+		auditedTextService.updateMessages(asList(text.getId()), "new");
+		List<AuditedChange> auditedChanges = awaitAuditedChanges(text.getId(), 1);
+		assertEquals("Committed change is audited", 1, auditedChanges.size());
+		assertEquals("Audited property", "message", auditedChanges.get(0).getPropertyName());
+		assertEquals("Audited old value", "old", auditedChanges.get(0).getOldValue());
+		assertEquals("Audited new value", "new", auditedChanges.get(0).getNewValue());
+
+		auditedTextService.updateMessages(asList(text.getId()), "newer");
+		auditedChanges = awaitAuditedChanges(text.getId(), 2);
+		assertEquals("Next committed change is audited", 2, auditedChanges.size());
+		assertEquals("Old value is snapshotted in own transaction", "new", auditedChanges.get(1).getOldValue());
+		assertEquals("Next audited new value", "newer", auditedChanges.get(1).getNewValue());
+	}
+
+	@Test
+	public void testBatchedAuditAfterRollback() throws InterruptedException {
+		AuditedText text = createAuditedText("old");
+		auditedTextService.updateMessageAndRollback(text.getId(), "rolled back");
+		auditedTextService.updateMessages(asList(text.getId()), "new");
+		List<AuditedChange> auditedChanges = awaitAuditedChanges(text.getId(), 1);
+		assertEquals("Rolled back change is not audited", 1, auditedChanges.size());
+		assertEquals("Audited old value is not rolled back value", "old", auditedChanges.get(0).getOldValue());
+		assertEquals("Audited new value is committed value", "new", auditedChanges.get(0).getNewValue());
+	}
+
+	@Test
+	public void testBatchedAuditOverflow() throws InterruptedException {
+		List<Long> ids = asList(createAuditedText("old").getId(), createAuditedText("old").getId(), createAuditedText("old").getId());
+		long overflows = BatchedAuditListener.getOverflowCount(AuditedTextListener.class);
+		auditedTextService.updateMessages(ids, "new");
+		assertEquals("Queue with capacity of 1 overflowed", overflows + 1, BatchedAuditListener.getOverflowCount(AuditedTextListener.class));
+
+		for (Long id : ids) {
+			assertEquals("Overflowing change is still audited", 1, awaitAuditedChanges(id, 1).size());
+		}
+	}
+
+	private AuditedText createAuditedText(String message) {
+		AuditedText text = new AuditedText();
+		text.setMessage(message);
+		auditedTextService.persist(text);
+		return text;
+	}
+
+	private static List<AuditedChange> awaitAuditedChanges(Long id, int expectedSize) throws InterruptedException {
+		List<AuditedChange> auditedChanges = emptyList();
+
+		for (int i = 0; i < 50 && auditedChanges.size() < expectedSize; i++) {
+			if (i > 0) {
+				Thread.sleep(100); // They're saved asynchronously after commit.
+			}
+
+			auditedChanges = AuditedTextListener.SAVED_AUDITED_CHANGES.stream().filter(auditedChange -> id.equals(auditedChange.getEntityId())).collect(toList());
+		}
+
+		return auditedChanges;
+	}
+
 	private void testEnumToTableCorrespondence(Class<? extends Enum<?>> enumClass, List<Object> tableResultList, boolean isOneValue, boolean isOrdinal, boolean isHistory) {
 		asList(enumClass.getEnumConstants()).stream().filter(Objects::nonNull).forEach(enumConstant -> {
 			int number = tableResultList.stream().mapToInt(object -> {
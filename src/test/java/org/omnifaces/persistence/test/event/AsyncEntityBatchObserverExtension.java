@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.event;
+
+import static java.util.Collections.singleton;
+import static org.omnifaces.utils.annotation.Annotations.createAnnotationInstance;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.omnifaces.persistence.event.Created;
+import org.omnifaces.persistence.event.EntityBatch;
+import org.omnifaces.persistence.test.model.BatchedText;
+
+/**
+ * Registers the equivalent of <code>&#64;ObservesAsync &#64;Created EntityBatch</code>, which can't be declared directly as
+ * the tests are compiled against CDI 1.x while running on CDI 2.0.
+ */
+public class AsyncEntityBatchObserverExtension implements Extension {
+
+	public void afterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+		event.addObserverMethod(new ObserverMethod<EntityBatch>() {
+
+			@Override
+			public Class<?> getBeanClass() {
+				return EntityBatchObserver.class;
+			}
+
+			@Override
+			public Type getObservedType() {
+				return EntityBatch.class;
+			}
+
+			@Override
+			public Set<Annotation> getObservedQualifiers() {
+				return singleton(createAnnotationInstance(Created.class));
+			}
+
+			@Override
+			public Reception getReception() {
+				return Reception.ALWAYS;
+			}
+
+			@Override
+			public TransactionPhase getTransactionPhase() {
+				return TransactionPhase.IN_PROGRESS;
+			}
+
+			@Override
+			public void notify(EntityBatch batch) {
+				if (batch.getEntityType() == BatchedText.class) {
+					EntityBatchObserver.ASYNC_OBSERVED_BATCHES.add(batch);
+				}
+			}
+
+			// Overrides ObserverMethod#isAsync() of CDI 2.0.
+			public boolean isAsync() {
+				return true;
+			}
+		});
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.omnifaces.persistence.event.Created;
+import org.omnifaces.persistence.event.EntityBatch;
+import org.omnifaces.persistence.test.model.BatchedText;
+
+@ApplicationScoped
+public class EntityBatchObserver {
+
+	public static final List<EntityBatch> OBSERVED_BATCHES = new CopyOnWriteArrayList<>();
+	public static final List<EntityBatch> ASYNC_OBSERVED_BATCHES = new CopyOnWriteArrayList<>();
+
+	public void onCreate(@Observes @Created EntityBatch batch) {
+		if (batch.getEntityType() == BatchedText.class) {
+			OBSERVED_BATCHES.add(batch);
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.omnifaces.persistence.audit.AuditedChange;
+import org.omnifaces.persistence.audit.BatchedAuditListener;
+
+public class AuditedTextListener extends BatchedAuditListener<Long> {
+
+	public static final List<AuditedChange> SAVED_AUDITED_CHANGES = new CopyOnWriteArrayList<>();
+
+	@Override
+	protected void saveAuditedChanges(List<AuditedChange> auditedChanges) {
+		SAVED_AUDITED_CHANGES.addAll(auditedChanges);
+	}
+
+	@Override
+	protected int getQueueCapacity() {
+		return 1; // So that a transaction with more than one audited change overflows.
+	}
+
+	@Override
+	protected int getBatchSize() {
+		return 1;
+	}
+
+}
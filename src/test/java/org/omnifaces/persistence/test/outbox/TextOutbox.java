@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.outbox;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.sql.DataSource;
+
+import org.omnifaces.persistence.outbox.Outbox;
+import org.omnifaces.persistence.test.model.Text;
+
+@ApplicationScoped
+public class TextOutbox extends Outbox {
+
+	@Resource(lookup = "java:app/OmniPersistenceTest")
+	private DataSource dataSource;
+
+	@Override
+	protected DataSource getDataSource() {
+		return dataSource;
+	}
+
+	@Override
+	protected boolean accepts(Class<?> entityType) {
+		return Text.class.isAssignableFrom(entityType);
+	}
+
+}
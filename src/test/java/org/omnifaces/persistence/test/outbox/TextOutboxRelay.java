@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.outbox;
+
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.sql.DataSource;
+
+import org.omnifaces.persistence.outbox.OutboxRecord;
+import org.omnifaces.persistence.outbox.OutboxRelay;
+import org.omnifaces.persistence.outbox.OutboxSink;
+
+@ApplicationScoped
+public class TextOutboxRelay extends OutboxRelay {
+
+	@Resource(lookup = "java:app/OmniPersistenceTest")
+	private DataSource dataSource;
+
+	private final List<OutboxRecord> publishedRecords = new CopyOnWriteArrayList<>();
+	private volatile boolean failing;
+
+	@Override
+	protected DataSource getDataSource() {
+		return dataSource;
+	}
+
+	@Override
+	protected List<OutboxSink> getSinks() {
+		return singletonList(records -> {
+			if (failing) {
+				throw new IllegalStateException("Failing on purpose.");
+			}
+
+			publishedRecords.addAll(records);
+		});
+	}
+
+	public List<OutboxRecord> getPublishedRecords() {
+		return publishedRecords;
+	}
+
+	public void setFailing(boolean failing) {
+		this.failing = failing;
+	}
+
+}
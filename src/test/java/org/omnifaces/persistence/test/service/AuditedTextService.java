@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.service;
+
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.ejb.SessionContext;
+import javax.ejb.Stateless;
+
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.test.model.AuditedText;
+
+@Stateless
+public class AuditedTextService extends BaseEntityService<Long, AuditedText> {
+
+	@Resource
+	private SessionContext sessionContext;
+
+	public void updateMessages(List<Long> ids, String message) {
+		for (Long id : ids) {
+			getById(id).setMessage(message);
+		}
+	}
+
+	public void updateMessageAndRollback(Long id, String message) {
+		getById(id).setMessage(message);
+		getEntityManager().flush();
+		sessionContext.setRollbackOnly();
+	}
+
+}
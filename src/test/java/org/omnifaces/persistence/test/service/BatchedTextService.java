@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.service;
+
+import javax.annotation.Resource;
+import javax.ejb.SessionContext;
+import javax.ejb.Stateless;
+
+import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.test.model.BatchedText;
+
+@Stateless
+public class BatchedTextService extends BaseEntityService<Long, BatchedText> {
+
+	@Resource
+	private SessionContext sessionContext;
+
+	@Override
+	protected boolean isPageResultCacheable() {
+		return true;
+	}
+
+	public void persistTexts(int count) {
+		for (int i = 0; i < count; i++) {
+			persist(new BatchedText());
+		}
+	}
+
+	public void persistTextsAndRollback(int count) {
+		persistTexts(count);
+		getEntityManager().flush();
+		sessionContext.setRollbackOnly();
+	}
+
+	public int persistTextsAndGetPageSizeAndRollback(int count, Page page) {
+		persistTextsAndRollback(count);
+		return getPage(page, true).size();
+	}
+
+}
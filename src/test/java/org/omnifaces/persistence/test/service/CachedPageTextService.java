@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.service;
+
+import javax.ejb.Stateless;
+
+import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.test.model.Text;
+import org.omnifaces.utils.collection.PartialResultList;
+
+@Stateless
+public class CachedPageTextService extends BaseEntityService<Long, Text> {
+
+	@Override
+	protected boolean isPageResultCacheable() {
+		return true;
+	}
+
+	public boolean isAnyManagedAfterGetPage(Page page) {
+		return getPage(page, true).stream().anyMatch(getEntityManager()::contains);
+	}
+
+	public PartialResultList<Text> activateAndGetPage(Long id, Page page) {
+		update("UPDATE Text t SET t.active = true WHERE t.id = ?1", id);
+		getPage(page, true);
+		return getPage(page, true);
+	}
+
+}
@@ -162,4 +162,20 @@ public class EnumEntityService extends BaseEntityService<Long, EnumEntity> {
                         .getResultList();
         }
 
+        @SuppressWarnings("unchecked")
+        public List<Object> getEnumMappingFingerprintTables() {
+                return getEntityManager().createNativeQuery("SELECT enum_table FROM enum_mapping_fingerprint")
+                        .getResultList();
+        }
+
+        public void insertHardDeleteIdEnumRow(int id, String code) {
+                getEntityManager().createNativeQuery("INSERT INTO hard_delete_id_enum_info (id, code) VALUES (?1, ?2)")
+                        .setParameter(1, id).setParameter(2, code).executeUpdate();
+        }
+
+        public void deleteHardDeleteIdEnumRow(int id) {
+                getEntityManager().createNativeQuery("DELETE FROM hard_delete_id_enum_info WHERE id = ?1")
+                        .setParameter(1, id).executeUpdate();
+        }
+
 }
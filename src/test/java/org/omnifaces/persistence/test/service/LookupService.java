@@ -20,4 +20,9 @@ import org.omnifaces.persistence.test.model.Lookup;
 @Stateless
 public class LookupService extends BaseEntityService<String, Lookup> {
 
+	@Override
+	protected boolean isBulkModifiable() {
+		return true;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.service;
+
+import static javax.ejb.TransactionAttributeType.NOT_SUPPORTED;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.persistence.EntityManager;
+
+import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.test.model.Person;
+import org.omnifaces.utils.collection.PartialResultList;
+
+@Stateless
+public class ParallelCountPersonService extends BaseEntityService<Long, Person> {
+
+	public static final List<Thread> BEFORE_PAGE_THREADS = new CopyOnWriteArrayList<>();
+
+	@Override
+	protected boolean isCountQueryParallelizable() {
+		return true;
+	}
+
+	@Override
+	protected Consumer<EntityManager> beforePage() {
+		return entityManager -> BEFORE_PAGE_THREADS.add(Thread.currentThread());
+	}
+
+	@TransactionAttribute(NOT_SUPPORTED)
+	public PartialResultList<Person> getPageWithoutTransaction(Page page) {
+		return getPage(page, true);
+	}
+
+}
@@ -12,9 +12,12 @@
  */
 package org.omnifaces.persistence.test.service;
 
+import static java.util.stream.Collectors.toList;
 import static org.omnifaces.persistence.JPA.concat;
 
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Stream;
 
 import javax.ejb.Stateless;
 import javax.persistence.criteria.Expression;
@@ -76,4 +79,16 @@ public class PersonService extends BaseEntityService<Long, Person> {
 		return getPageOfPersonCards(Page.ALL, false);
 	}
 
+	public List<Person> listAllViaStream() {
+		try (Stream<Person> persons = listAsStream()) {
+			return persons.collect(toList());
+		}
+	}
+
+	public List<Person> getAllWithAddressViaStream() {
+		try (Stream<Person> persons = getPageAsStream(Page.ALL, "address")) {
+			return persons.collect(toList());
+		}
+	}
+
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 OmniFaces
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.persistence.test.service;
+
+import static javax.ejb.TransactionAttributeType.SUPPORTS;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+
+import org.omnifaces.persistence.model.dto.Page;
+import org.omnifaces.persistence.service.BaseEntityService;
+import org.omnifaces.persistence.test.model.Text;
+import org.omnifaces.utils.collection.PartialResultList;
+
+@Stateless
+public class SnapshotTextService extends BaseEntityService<Long, Text> {
+
+	@Override
+	protected boolean isSnapshotCacheable() {
+		return true;
+	}
+
+	@Override
+	@TransactionAttribute(SUPPORTS)
+	public Text getById(Long id) {
+		return super.getById(id);
+	}
+
+	@Override
+	@TransactionAttribute(SUPPORTS)
+	public Optional<Text> findById(Long id) {
+		return super.findById(id);
+	}
+
+	@Override
+	@TransactionAttribute(SUPPORTS)
+	public List<Text> getByIds(Iterable<Long> ids) {
+		return super.getByIds(ids);
+	}
+
+	@Override
+	@TransactionAttribute(SUPPORTS)
+	public List<Text> list() {
+		return super.list();
+	}
+
+	@Override
+	@TransactionAttribute(SUPPORTS)
+	public PartialResultList<Text> getPage(Page page, boolean count) {
+		return super.getPage(page, count);
+	}
+
+	public boolean isManagedById(Long id) {
+		return getEntityManager().contains(getById(id));
+	}
+
+	public List<Text> activateAndList(Long id) {
+		update("UPDATE Text t SET t.active = true WHERE t.id = ?1", id);
+		return list();
+	}
+
+}
@@ -32,3 +32,5 @@ CREATE TABLE hard_delete_only_code_table_info (code VARCHAR(32) NOT NULL, PRIMAR
 CREATE TABLE soft_delete_only_code_table_info (code VARCHAR(32) NOT NULL, deleted INT DEFAULT 0 NOT NULL, PRIMARY KEY (code));
 
 CREATE TABLE yet_another_table_for_another_enum (enum_id INT NOT NULL, enum_code VARCHAR(32) NOT NULL, non_active INT DEFAULT 0 NOT NULL, PRIMARY KEY (enum_id), CONSTRAINT yet_another_table_for_another_enum_id_UNIQUE UNIQUE (enum_code, non_active));
+
+CREATE TABLE outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, created TIMESTAMP NOT NULL, entity_type VARCHAR(255) NOT NULL, entity_id VARCHAR(255) NOT NULL, operation VARCHAR(7) NOT NULL, entity_version BIGINT, changed_fields VARCHAR(4000));
@@ -38,3 +38,5 @@ DROP TABLE soft_delete_only_code_table_info IF EXISTS;
 DROP TABLE table_for_another_enum IF EXISTS;
 DROP TABLE table_for_another_enum_history IF EXISTS;
 DROP TABLE yet_another_table_for_another_enum IF EXISTS;
+
+DROP TABLE outbox IF EXISTS;